@@ -0,0 +1,277 @@
+/**
+ * AsyncTextWriter.java  v0.1  17 October 2026 9:10:55 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes plain text asynchronously. Lines from any number of producer threads
+ * are gathered into one of a ring of buffers. Full buffers are written out on
+ * a dedicated I/O thread while producers carry on filling the next one.
+ * Producers only wait, or are turned away by {@link #offer(String)}, when
+ * every buffer is waiting to be written.
+ * <p>
+ * Writers must be closed, or finished, to release the I/O thread.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class AsyncTextWriter implements Closeable {
+
+  private final BlockingQueue<List<String>> free;
+  private final BlockingQueue<List<String>> full;
+  private final int                         bufferSize;
+  private final Future<Long>                completion;
+
+  private List<String>                      current;
+  private boolean                           finished;
+
+  // default sizes
+  private static final int                  BUFFERS     = 2;
+  private static final int                  BUFFER_SIZE = 8192;
+
+  private static final long                 POLL        = 100;
+  private static final TimeUnit             POLL_UNIT   = TimeUnit.MILLISECONDS;
+
+  // marks the end of output
+  private static final List<String>         END         = new ArrayList<>(0);
+
+  private static final Logger               logger      = LoggerFactory.getLogger(AsyncTextWriter.class);
+
+  public AsyncTextWriter(final File destination) throws FileNotFoundException {
+    this(new FileOutputStream(destination));
+  }
+
+  public AsyncTextWriter(final OutputStream destination) {
+    this(destination, BUFFERS, BUFFER_SIZE);
+  }
+
+  /**
+   * @param destination the <code>OutputStream</code> to write to, closed when
+   *          writing finishes
+   * @param buffers the number of buffers in the ring, at least 2
+   * @param bufferSize the number of lines per buffer
+   */
+  public AsyncTextWriter(final OutputStream destination, final int buffers, final int bufferSize) {
+    this(destination, Charset.defaultCharset(), buffers, bufferSize);
+  }
+
+  /**
+   * @param destination the <code>OutputStream</code> to write to, closed when
+   *          writing finishes
+   * @param charset the <code>Charset</code> in which to encode text
+   * @param buffers the number of buffers in the ring, at least 2
+   * @param bufferSize the number of lines per buffer
+   */
+  public AsyncTextWriter(final OutputStream destination, final Charset charset, final int buffers, final int bufferSize) {
+    if (destination == null) {
+      throw new NullPointerException("Null destination");
+    }
+    if (charset == null) {
+      throw new NullPointerException("Null charset");
+    }
+    if (buffers < 2 || bufferSize < 1) {
+      throw new IllegalArgumentException("Too few buffers or non-positive buffer size");
+    }
+    free = new ArrayBlockingQueue<>(buffers);
+    full = new ArrayBlockingQueue<>(buffers + 1); // room for END
+    for (int b = 0; b < buffers; ++b) {
+      free.add(new ArrayList<String>(bufferSize));
+    }
+    this.bufferSize = bufferSize;
+    current = null;
+    finished = false;
+
+    // dedicated I/O thread, released once the flusher returns
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    completion = executor.submit(new Flusher(destination, charset));
+    executor.shutdown();
+  }
+
+  /**
+   * Writes a line, waiting for a buffer to become available if necessary.
+   *
+   * @param line
+   * @throws IOException if writing has failed on the I/O thread
+   * @throws InterruptedException if interrupted while waiting
+   * @throws IllegalStateException if writing has finished
+   */
+  public synchronized void write(final String line) throws IOException, InterruptedException {
+    checkNotFinished();
+    while (current == null) {
+      current = free.poll(POLL, POLL_UNIT);
+      checkNotFailed();
+    }
+    add(line);
+  }
+
+  /**
+   * Writes a series of lines, waiting for buffers to become available if
+   * necessary.
+   *
+   * @param lines
+   * @throws IOException if writing has failed on the I/O thread
+   * @throws InterruptedException if interrupted while waiting
+   * @throws IllegalStateException if writing has finished
+   */
+  public synchronized void write(final Collection<? extends String> lines) throws IOException, InterruptedException {
+    for (final String line : lines) {
+      write(line);
+    }
+  }
+
+  /**
+   * Writes a line if a buffer is available.
+   *
+   * @param line
+   * @return false if every buffer is waiting to be written, in which case the
+   *         line is not written
+   * @throws IOException if writing has failed on the I/O thread
+   * @throws IllegalStateException if writing has finished
+   */
+  public synchronized boolean offer(final String line) throws IOException {
+    checkNotFinished();
+    checkNotFailed();
+    if (current == null && (current = free.poll()) == null) {
+      logger.debug("All {} buffers full", full.size());
+      return false;
+    }
+    add(line);
+    return true;
+  }
+
+  private void add(final String line) {
+    current.add(line);
+    if (current.size() >= bufferSize) {
+      full.add(current); // never blocks: there are only as many buffers
+      current = null;
+    }
+  }
+
+  /**
+   * Hands over the lines written so far, stops accepting lines and lets the
+   * I/O thread finish writing.
+   *
+   * @return a <code>Future</code> that completes with the number of lines
+   *         written once all of them have been written and the destination
+   *         closed
+   */
+  public synchronized Future<Long> finish() {
+    if (!finished) {
+      finished = true;
+      if (current != null) {
+        full.add(current);
+        current = null;
+      }
+      full.add(END);
+      logger.debug("Finish requested");
+    }
+    return completion;
+  }
+
+  /**
+   * Finishes writing and waits for all lines to be written.
+   *
+   * @throws IOException if writing has failed or is interrupted
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      finish().get();
+    }
+    catch (final InterruptedException iE) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while finishing");
+    }
+    catch (final ExecutionException eE) {
+      throw toIOException(eE);
+    }
+  }
+
+  private void checkNotFinished() {
+    if (finished) {
+      throw new IllegalStateException("Writer finished");
+    }
+  }
+
+  private void checkNotFailed() throws IOException {
+    if (completion.isDone()) {
+      try {
+        completion.get();
+      }
+      catch (final InterruptedException iE) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+      catch (final ExecutionException eE) {
+        throw toIOException(eE);
+      }
+      throw new IOException("I/O thread stopped");
+    }
+  }
+
+  private static final IOException toIOException(final ExecutionException eE) {
+    final Throwable cause = eE.getCause();
+    return (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+  }
+
+  /**
+   * Writes out full buffers and returns them to the ring.
+   */
+  private final class Flusher implements Callable<Long> {
+
+    private final OutputStream destination;
+    private final Charset      charset;
+
+    Flusher(final OutputStream destination, final Charset charset) {
+      this.destination = destination;
+      this.charset = charset;
+    }
+
+    @Override
+    public Long call() throws IOException, InterruptedException {
+      long lines = 0;
+      try (final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(destination, charset))) {
+        for (List<String> buffer; (buffer = full.take()) != END;) {
+          for (final String line : buffer) {
+            writer.write(line);
+            writer.newLine();
+          }
+          lines += buffer.size();
+          buffer.clear();
+          free.add(buffer);
+        }
+      }
+      logger.debug("Lines written: {}", lines);
+      return lines;
+    }
+
+  }
+
+}
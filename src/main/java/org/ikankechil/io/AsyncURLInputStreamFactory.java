@@ -0,0 +1,376 @@
+/**
+ * AsyncURLInputStreamFactory.java  v0.1  18 October 2026 2:41:16 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An <code>InputStream</code> factory that fetches from <code>URL</code>s
+ * asynchronously, retrying failed fetches with exponential backoff and
+ * jitter.
+ * <p>
+ * No more than a fixed number of fetches are in progress at any one time,
+ * however many are requested; the rest wait in line without holding a thread.
+ * Neither do fetches waiting to be retried, as they are rescheduled rather
+ * than slept on. Fetches that fail with a <code>FileNotFoundException</code>,
+ * i.e. a 404 or 410 response, are not retried.
+ * <p>
+ * Threads are daemons and time out when idle, so factories need not be shut
+ * down.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class AsyncURLInputStreamFactory {
+
+  private final int                         maxConcurrency;
+  private final int                         retries;
+  private final long                        initialBackoff;
+  private final long                        maxBackoff;
+  private final ThreadPoolExecutor          fetchers;
+  private final ScheduledThreadPoolExecutor retriers;
+
+  // defaults
+  private static final int                  MAX_CONCURRENCY = 64;
+  private static final int                  RETRIES         = 3;
+  private static final long                 INITIAL_BACKOFF = 250;   // milliseconds
+  private static final long                 MAX_BACKOFF     = 10000; // milliseconds
+  private static final int                  CONNECT_TIMEOUT = 10000; // milliseconds
+  private static final int                  READ_TIMEOUT    = 30000; // milliseconds
+  private static final long                 KEEP_ALIVE      = 60;    // seconds
+
+  private static final Runnable             NOTHING         = new Runnable() {
+    @Override
+    public void run() { /* completed by attempts instead */ }
+  };
+
+  private static final Logger               logger          = LoggerFactory.getLogger(AsyncURLInputStreamFactory.class);
+
+  public AsyncURLInputStreamFactory() {
+    this(MAX_CONCURRENCY, RETRIES, INITIAL_BACKOFF, MAX_BACKOFF);
+  }
+
+  /**
+   * @param maxConcurrency the maximum number of fetches in progress at any
+   *          one time
+   * @param retries the number of times a failed fetch is retried
+   * @param initialBackoff the delay before the first retry in milliseconds,
+   *          doubled for each subsequent retry
+   * @param maxBackoff the maximum delay before a retry in milliseconds
+   */
+  public AsyncURLInputStreamFactory(final int maxConcurrency,
+                                    final int retries,
+                                    final long initialBackoff,
+                                    final long maxBackoff) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("Non-positive maximum concurrency: " + maxConcurrency);
+    }
+    if (retries < 0 || initialBackoff < 0 || maxBackoff < initialBackoff) {
+      throw new IllegalArgumentException("Negative retries or backoff, or maximum backoff less than initial backoff");
+    }
+    this.maxConcurrency = maxConcurrency;
+    this.retries = retries;
+    this.initialBackoff = initialBackoff;
+    this.maxBackoff = maxBackoff;
+
+    final ThreadFactory threadFactory = new DaemonThreadFactory();
+    fetchers = new ThreadPoolExecutor(maxConcurrency,
+                                      maxConcurrency,
+                                      KEEP_ALIVE,
+                                      TimeUnit.SECONDS,
+                                      new LinkedBlockingQueue<Runnable>(),
+                                      threadFactory);
+    fetchers.allowCoreThreadTimeOut(true);
+    retriers = new ScheduledThreadPoolExecutor(1, threadFactory);
+    retriers.setKeepAliveTime(KEEP_ALIVE, TimeUnit.SECONDS);
+    retriers.allowCoreThreadTimeOut(true);
+    retriers.setRemoveOnCancelPolicy(true);
+  }
+
+  public int getMaxConcurrency() {
+    return maxConcurrency;
+  }
+
+  public int getRetries() {
+    return retries;
+  }
+
+  /**
+   * Fetches from a <code>URL</code> asynchronously.
+   *
+   * @param source the source <code>URL</code>
+   * @return a <code>Future</code> of an input stream that reads from
+   *         <code>source</code>, which the caller must close
+   */
+  public Future<InputStream> fetch(final URL source) {
+    return fetch(source, (String) null);
+  }
+
+  public Future<InputStream> fetch(final URL source, final String cookie) {
+    return start(new StreamFetch(source, cookie));
+  }
+
+  /**
+   * Fetches from a <code>URL</code> asynchronously, handing its input stream
+   * over to <code>handler</code> on a fetching thread.
+   *
+   * @param source the source <code>URL</code>
+   * @param cookie the cookie to send, if any
+   * @param handler the <code>URLInputStreamHandler</code> to hand the input
+   *          stream over to
+   * @return a <code>Future</code> that completes once the input stream has
+   *         been handled
+   */
+  public Future<Void> fetch(final URL source, final String cookie, final URLInputStreamHandler handler) {
+    if (handler == null) {
+      throw new NullPointerException("Null handler");
+    }
+    return start(new HandledFetch(source, cookie, handler));
+  }
+
+  /**
+   * Opens an unconnected <code>URLConnection</code> to <code>source</code>.
+   *
+   * @param source the source <code>URL</code>
+   * @return an unconnected <code>URLConnection</code>
+   * @throws IOException if an I/O error occurs
+   */
+  protected URLConnection openConnection(final URL source) throws IOException {
+    final URLConnection connection = source.openConnection();
+    connection.setConnectTimeout(CONNECT_TIMEOUT);
+    connection.setReadTimeout(READ_TIMEOUT);
+    return connection;
+  }
+
+  /**
+   * @param ioE the I/O error a fetch failed with
+   * @return true if the fetch is worth retrying
+   */
+  protected boolean isRetryable(final IOException ioE) {
+    return !(ioE instanceof FileNotFoundException);
+  }
+
+  /**
+   * @param retry the retry, starting from 1
+   * @return a delay in milliseconds between half and all of the exponential
+   *         backoff for <code>retry</code>
+   */
+  long backoff(final int retry) {
+    final long backoff = Math.min(maxBackoff, initialBackoff << Math.min(retry - 1, Long.numberOfLeadingZeros(initialBackoff) - 1));
+    final long half = backoff >>> 1;
+    return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+  }
+
+  private <V> Fetch<V> start(final Fetch<V> fetch) {
+    if (fetch.source == null) {
+      throw new NullPointerException("Null source");
+    }
+    fetch.submit();
+    return fetch;
+  }
+
+  /**
+   * A fetch, attempted as many times as allowed, that completes once it has
+   * succeeded or failed for the last time.
+   */
+  private abstract class Fetch<V> extends FutureTask<V> {
+
+    final URL                 source;
+    final String              cookie;
+    private int               attempts; // one attempt at a time
+    private volatile Future<?> pending;
+
+    Fetch(final URL source, final String cookie) {
+      super(NOTHING, null);
+      this.source = source;
+      this.cookie = cookie;
+      attempts = 0;
+    }
+
+    /**
+     * @param is the input stream fetched
+     * @return the result of this fetch
+     * @throws IOException if an I/O error occurs
+     */
+    abstract V complete(final InputStream is) throws IOException;
+
+    void failed(final IOException ioE) {
+      setException(ioE);
+    }
+
+    final void submit() {
+      try {
+        pending = fetchers.submit(new Runnable() {
+          @Override
+          public void run() {
+            attempt();
+          }
+        });
+      }
+      catch (final RejectedExecutionException reE) {
+        setException(reE);
+      }
+    }
+
+    @SuppressWarnings("resource")
+    private void attempt() {
+      if (isDone()) { // cancelled
+        return;
+      }
+
+      ++attempts;
+      final InputStream is;
+      try {
+        is = URLInputStreamFactory.newInputStream(openConnection(source), cookie);
+      }
+      catch (final IOException ioE) {
+        if (attempts <= retries && isRetryable(ioE)) {
+          retry(ioE);
+        }
+        else {
+          logger.warn("Failed to fetch URL after {} attempt(s): {}", attempts, source);
+          failed(ioE);
+        }
+        return;
+      }
+      catch (final RuntimeException rE) {
+        setException(rE);
+        return;
+      }
+
+      try {
+        set(complete(is));
+      }
+      catch (final IOException | RuntimeException e) {
+        setException(e);
+      }
+    }
+
+    private void retry(final IOException ioE) {
+      final long backoff = backoff(attempts);
+      logger.warn("I/O error encountered, retrying URL in {}ms: {} ({})", backoff, source, ioE.toString());
+      try {
+        pending = retriers.schedule(new Runnable() {
+          @Override
+          public void run() {
+            submit();
+          }
+        }, backoff, TimeUnit.MILLISECONDS);
+      }
+      catch (final RejectedExecutionException reE) {
+        setException(reE);
+      }
+      if (isCancelled()) { // cancelled in the meantime
+        pending.cancel(false);
+      }
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+      final boolean isCancelled = super.cancel(mayInterruptIfRunning);
+      if (isCancelled) {
+        final Future<?> attempt = pending;
+        if (attempt != null) {
+          attempt.cancel(mayInterruptIfRunning);
+        }
+      }
+      return isCancelled;
+    }
+
+  }
+
+  /**
+   * A fetch that hands its input stream over to the caller.
+   */
+  private final class StreamFetch extends Fetch<InputStream> {
+
+    StreamFetch(final URL source, final String cookie) {
+      super(source, cookie);
+    }
+
+    @Override
+    InputStream complete(final InputStream is) throws IOException {
+      return is;
+    }
+
+    @Override
+    protected void set(final InputStream is) {
+      super.set(is);
+      if (isCancelled()) { // nobody to close it
+        try {
+          is.close();
+        }
+        catch (final IOException ioE) {
+          logger.debug("Error closing cancelled fetch: {}", source);
+        }
+      }
+    }
+
+  }
+
+  /**
+   * A fetch that hands its input stream over to a handler.
+   */
+  private final class HandledFetch extends Fetch<Void> {
+
+    private final URLInputStreamHandler handler;
+
+    HandledFetch(final URL source, final String cookie, final URLInputStreamHandler handler) {
+      super(source, cookie);
+      this.handler = handler;
+    }
+
+    @Override
+    Void complete(final InputStream is) throws IOException {
+      try (final InputStream stream = is) {
+        handler.handle(source, stream);
+      }
+      return null;
+    }
+
+    @Override
+    void failed(final IOException ioE) {
+      try {
+        handler.fail(source, ioE);
+      }
+      finally {
+        super.failed(ioE);
+      }
+    }
+
+  }
+
+  private static final class DaemonThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, AsyncURLInputStreamFactory.class.getSimpleName() + '-' + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
@@ -0,0 +1,466 @@
+/**
+ * CachingURLInputStreamFactory.java  v0.1  18 October 2026 12:26:51 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A <code>PooledURLInputStreamFactory</code> that caches HTTP responses on
+ * disk.
+ * <p>
+ * Responses that carry an <code>ETag</code> or a <code>Last-Modified</code>
+ * validator are stored, decoded, once read to the end. Subsequent requests for
+ * the same <code>URL</code> are made conditional with
+ * <code>If-None-Match</code> and <code>If-Modified-Since</code>. A
+ * <code>304 Not Modified</code> response is served from disk, so unchanged
+ * payloads are not downloaded again.
+ * <p>
+ * The cache is bounded in size. Least recently used entries are evicted
+ * first, with recency kept across runs as the last-modified time of the
+ * cached files. Requests with cookies and responses marked
+ * <code>no-store</code> are not cached.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class CachingURLInputStreamFactory extends PooledURLInputStreamFactory {
+
+  private final File                     directory;
+  private final long                     maxSize;
+  // least recently used first
+  private final Map<String, CachedEntry> entries;
+  private long                           size;
+
+  private static final String            BODY              = ".body";
+  private static final String            META              = ".meta";
+  private static final String            TEMP              = ".tmp";
+  private static final String            EMPTY             = "";
+  private static final Charset           ISO_8859_1        = Charset.forName("ISO-8859-1");
+  private static final String            SHA_1             = "SHA-1";
+  private static final char[]            HEX               = "0123456789abcdef".toCharArray();
+
+  // HTTP headers
+  private static final String            ETAG              = "ETag";
+  private static final String            LAST_MODIFIED     = "Last-Modified";
+  private static final String            IF_NONE_MATCH     = "If-None-Match";
+  private static final String            IF_MODIFIED_SINCE = "If-Modified-Since";
+  private static final String            CACHE_CONTROL     = "Cache-Control";
+  private static final String            NO_STORE          = "no-store";
+
+  private static final Logger            logger            = LoggerFactory.getLogger(CachingURLInputStreamFactory.class);
+
+  /**
+   * @param directory the directory in which responses are cached
+   * @param maxSize the maximum number of bytes cached
+   * @throws IOException if the directory cannot be created or read
+   */
+  public CachingURLInputStreamFactory(final File directory, final long maxSize) throws IOException {
+    super();
+    entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.directory = directory;
+    this.maxSize = maxSize;
+    load();
+  }
+
+  /**
+   * @param directory the directory in which responses are cached
+   * @param maxSize the maximum number of bytes cached
+   * @param maxConnectionsPerHost the maximum number of connections open to
+   *          each host at any one time
+   * @param connectTimeout connect timeout in milliseconds, 0 for none
+   * @param readTimeout read timeout in milliseconds, 0 for none
+   * @param drainSize the maximum number of unread bytes read to the end when
+   *          a stream is closed early so that its connection can be reused
+   * @throws IOException if the directory cannot be created or read
+   */
+  public CachingURLInputStreamFactory(final File directory,
+                                     final long maxSize,
+                                     final int maxConnectionsPerHost,
+                                     final int connectTimeout,
+                                     final int readTimeout,
+                                     final int drainSize)
+      throws IOException {
+    super(maxConnectionsPerHost, connectTimeout, readTimeout, drainSize);
+    entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.directory = directory;
+    this.maxSize = maxSize;
+    load();
+  }
+
+  private void load() throws IOException {
+    if (directory == null) {
+      throw new NullPointerException("Null directory");
+    }
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Non-positive maximum size: " + maxSize);
+    }
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("Cannot create cache directory: " + directory);
+    }
+
+    // discard incomplete responses left behind
+    for (final File temp : list(TEMP)) {
+      delete(temp);
+    }
+
+    // oldest first
+    final File[] metas = list(META);
+    final long[] accessed = new long[metas.length];
+    final Integer[] order = new Integer[metas.length];
+    for (int i = 0; i < metas.length; ++i) {
+      accessed[i] = file(key(metas[i]), BODY).lastModified();
+      order[i] = i;
+    }
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(final Integer i, final Integer j) {
+        return Long.compare(accessed[i], accessed[j]);
+      }
+    });
+
+    final TextReader reader = new TextReader(ISO_8859_1);
+    for (final int i : order) {
+      final String key = key(metas[i]);
+      final File body = file(key, BODY);
+      final List<String> lines = reader.read(metas[i]);
+      if (body.isFile() && lines.size() == 3) {
+        final CachedEntry entry = new CachedEntry(lines.get(0), lines.get(1), lines.get(2), body.length());
+        entries.put(key, entry);
+        size += entry.size;
+      }
+      else {
+        logger.warn("Discarding corrupt cache entry: {}", key);
+        delete(metas[i]);
+        delete(body);
+      }
+    }
+    evict();
+    logger.info("Cache loaded: {} entries, {} bytes", entries.size(), size);
+  }
+
+  /**
+   * @return the number of bytes cached
+   */
+  public synchronized long getSize() {
+    return size;
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  protected InputStream open(final URLConnection connection, final String cookie) throws IOException {
+    if (cookie != null || !(connection instanceof HttpURLConnection)) {
+      // personalised or not HTTP
+      return super.open(connection, cookie);
+    }
+
+    final String url = connection.getURL().toString();
+    final String key = key(url);
+    InputStream cached = null;
+    synchronized (this) {
+      final CachedEntry entry = entries.get(key);
+      if (entry != null && entry.url.equals(url)) {
+        try {
+          // opened up front in case it is evicted in the meantime
+          cached = new FileInputStream(file(key, BODY));
+          if (!entry.etag.isEmpty()) {
+            connection.setRequestProperty(IF_NONE_MATCH, entry.etag);
+          }
+          if (!entry.lastModified.isEmpty()) {
+            connection.setRequestProperty(IF_MODIFIED_SINCE, entry.lastModified);
+          }
+        }
+        catch (final FileNotFoundException fnfE) {
+          logger.warn("Cached response missing: {}", url);
+        }
+      }
+    }
+
+    final InputStream response;
+    try {
+      response = super.open(connection, null);
+    }
+    catch (final IOException | RuntimeException e) {
+      close(cached);
+      throw e;
+    }
+
+    final HttpURLConnection http = (HttpURLConnection) connection;
+    final int code = http.getResponseCode();
+    if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+      response.close();
+      hit(key);
+      logger.debug("Not modified, serving from cache: {}", url);
+      return cached;
+    }
+    close(cached);
+
+    final String etag = http.getHeaderField(ETAG);
+    final String lastModified = http.getHeaderField(LAST_MODIFIED);
+    final String cacheControl = http.getHeaderField(CACHE_CONTROL);
+    if (code == HttpURLConnection.HTTP_OK &&
+        (etag != null || lastModified != null) &&
+        (cacheControl == null || !cacheControl.contains(NO_STORE))) {
+      return new CachingInputStream(response,
+                                    key,
+                                    new CachedEntry(url,
+                                                    (etag == null) ? EMPTY : etag,
+                                                    (lastModified == null) ? EMPTY : lastModified,
+                                                    0));
+    }
+    return response;
+  }
+
+  private synchronized void hit(final String key) {
+    // refresh recency, in memory and on disk
+    entries.get(key);
+    if (!file(key, BODY).setLastModified(System.currentTimeMillis())) {
+      logger.debug("Cannot refresh last-modified time: {}", key);
+    }
+  }
+
+  private synchronized void store(final String key, final CachedEntry entry, final File body) throws IOException {
+    if (entry.size > maxSize) {
+      logger.debug("Too large to cache: {} ({} bytes)", entry.url, entry.size);
+      delete(body);
+      return;
+    }
+
+    final File meta = File.createTempFile(key, TEMP, directory);
+    new TextWriter(ISO_8859_1).write(Arrays.asList(entry.url, entry.etag, entry.lastModified), meta);
+    Files.move(body.toPath(), file(key, BODY).toPath(), StandardCopyOption.REPLACE_EXISTING);
+    Files.move(meta.toPath(), file(key, META).toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+    final CachedEntry previous = entries.put(key, entry);
+    if (previous != null) {
+      size -= previous.size;
+    }
+    size += entry.size;
+    logger.debug("Cached: {} ({} bytes)", entry.url, entry.size);
+    evict();
+  }
+
+  private void evict() {
+    for (final Iterator<Map.Entry<String, CachedEntry>> i = entries.entrySet().iterator(); size > maxSize && i.hasNext();) {
+      final Map.Entry<String, CachedEntry> eldest = i.next();
+      i.remove();
+      size -= eldest.getValue().size;
+      delete(file(eldest.getKey(), META));
+      delete(file(eldest.getKey(), BODY));
+      logger.debug("Evicted: {}", eldest.getValue().url);
+    }
+  }
+
+  private File[] list(final String suffix) throws IOException {
+    final File[] files = directory.listFiles(new FileFilter() {
+      @Override
+      public boolean accept(final File file) {
+        return file.getName().endsWith(suffix);
+      }
+    });
+    if (files == null) {
+      throw new IOException("Cannot read cache directory: " + directory);
+    }
+    return files;
+  }
+
+  private File file(final String key, final String suffix) {
+    return new File(directory, key + suffix);
+  }
+
+  private static final String key(final File meta) {
+    final String name = meta.getName();
+    return name.substring(0, name.length() - META.length());
+  }
+
+  private static final String key(final String url) {
+    try {
+      final byte[] digest = MessageDigest.getInstance(SHA_1).digest(url.getBytes(ISO_8859_1));
+      final char[] key = new char[digest.length << 1];
+      for (int i = 0; i < digest.length; ++i) {
+        key[i << 1] = HEX[(digest[i] >> 4) & 0xF];
+        key[(i << 1) + 1] = HEX[digest[i] & 0xF];
+      }
+      return new String(key);
+    }
+    catch (final NoSuchAlgorithmException nsaE) { // every JRE supports SHA-1
+      throw new IllegalStateException(nsaE);
+    }
+  }
+
+  private static final void close(final InputStream stream) {
+    if (stream != null) {
+      try {
+        stream.close();
+      }
+      catch (final IOException ioE) {
+        logger.debug("Cannot close cached response", ioE);
+      }
+    }
+  }
+
+  private static final void delete(final File file) {
+    if (file.exists() && !file.delete()) {
+      logger.warn("Cannot delete: {}", file);
+    }
+  }
+
+  /**
+   * A cached response's <code>URL</code>, validators and size.
+   */
+  private static final class CachedEntry {
+
+    final String url;
+    final String etag;
+    final String lastModified;
+    long         size;
+
+    CachedEntry(final String url, final String etag, final String lastModified, final long size) {
+      this.url = url;
+      this.etag = etag;
+      this.lastModified = lastModified;
+      this.size = size;
+    }
+
+  }
+
+  /**
+   * Copies a response to disk as it is read, and caches it once read to the
+   * end.
+   */
+  private final class CachingInputStream extends FilterInputStream {
+
+    private final String      key;
+    private final CachedEntry entry;
+    private final File        body;
+    private OutputStream      copy;
+    private boolean           isComplete;
+
+    CachingInputStream(final InputStream in, final String key, final CachedEntry entry) throws IOException {
+      super(in);
+      this.key = key;
+      this.entry = entry;
+      body = File.createTempFile(key, TEMP, directory);
+      copy = new BufferedOutputStream(new FileOutputStream(body));
+      isComplete = false;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = in.read();
+      if (b < 0) {
+        isComplete = true;
+      }
+      else if (copy != null) {
+        try {
+          copy.write(b);
+          ++entry.size;
+        }
+        catch (final IOException ioE) {
+          abandon(ioE);
+        }
+      }
+      return b;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+      final int read = in.read(b, off, len);
+      if (read < 0) {
+        isComplete = true;
+      }
+      else if (copy != null) {
+        try {
+          copy.write(b, off, read);
+          entry.size += read;
+        }
+        catch (final IOException ioE) {
+          abandon(ioE);
+        }
+      }
+      return read;
+    }
+
+    @Override
+    public long skip(final long n) throws IOException {
+      // skipped bytes must be copied too
+      final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+      long skipped = 0;
+      for (int read; skipped < n && (read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped))) > 0;) {
+        skipped += read;
+      }
+      return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+      return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      }
+      finally {
+        if (copy != null) {
+          try {
+            copy.close();
+            if (isComplete) {
+              store(key, entry, body);
+            }
+          }
+          catch (final IOException ioE) {
+            logger.warn("Cannot cache response: {}", entry.url, ioE);
+          }
+          finally {
+            copy = null;
+            delete(body);
+          }
+        }
+      }
+    }
+
+    private void abandon(final IOException ioE) {
+      logger.warn("Cannot cache response: {}", entry.url, ioE);
+      try {
+        copy.close();
+      }
+      catch (final IOException e) {
+        // already failed
+      }
+      copy = null;
+      delete(body);
+    }
+
+  }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * ChannelTextWriter.java  v0.1  17 October 2026 8:24:31 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes plain text through NIO channels. Many lines are gathered into a
+ * character buffer and encoded in bulk into a direct byte buffer, which is
+ * written out only when full, so that large outputs are bound by the disk
+ * rather than by per-line overheads. Buffers are no larger than the text
+ * written calls for, so that short writes do not pay for full buffers.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class ChannelTextWriter extends TextWriter {
+
+  private final int                    bufferSize;
+  private final Force                  force;
+
+  // default sizes
+  private static final int              BUFFER_SIZE    = 1 << 20; // 1 MB
+
+  private static final String           LINE_SEPARATOR = System.getProperty("line.separator");
+
+  private static final Logger           logger         = LoggerFactory.getLogger(ChannelTextWriter.class);
+
+  /**
+   * When to force written bytes to the storage device of a file.
+   */
+  public enum Force {
+    /** leave it to the operating system */
+    NEVER,
+    /** once, after all lines are written */
+    ON_CLOSE,
+    /** every time a full buffer is written */
+    ON_EVERY_BUFFER
+  }
+
+  public ChannelTextWriter() {
+    this(BUFFER_SIZE, Force.NEVER);
+  }
+
+  /**
+   * @param bufferSize the size of the character and byte buffers
+   * @param force when to force written bytes to the storage device; only
+   *          applies to files
+   */
+  public ChannelTextWriter(final int bufferSize, final Force force) {
+    this(Charset.defaultCharset(), bufferSize, force);
+  }
+
+  /**
+   * @param charset the <code>Charset</code> in which to encode text
+   * @param bufferSize the size of the character and byte buffers
+   * @param force when to force written bytes to the storage device; only
+   *          applies to files
+   */
+  public ChannelTextWriter(final Charset charset, final int bufferSize, final Force force) {
+    super(charset);
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("Non-positive buffer size: " + bufferSize);
+    }
+    if (force == null) {
+      throw new NullPointerException("Null force");
+    }
+    this.bufferSize = bufferSize;
+    this.force = force;
+  }
+
+  @Override
+  public void write(final Collection<? extends String> lines, final File destination)
+      throws IOException {
+    logger.info("Writing file: {}", destination);
+
+    try (final FileChannel channel = FileChannel.open(destination.toPath(),
+                                                      StandardOpenOption.CREATE,
+                                                      StandardOpenOption.TRUNCATE_EXISTING,
+                                                      StandardOpenOption.WRITE)) {
+      write(lines, channel);
+    }
+
+    logger.info("File written: {}", destination);
+  }
+
+  @Override
+  public void write(final Collection<? extends String> lines, final OutputStream destination)
+      throws IOException {
+    try (final WritableByteChannel channel = Channels.newChannel(destination)) {
+      write(lines, channel);
+    }
+  }
+
+  private void write(final Collection<? extends String> lines, final WritableByteChannel channel)
+      throws IOException {
+    // size buffers to the text, up to the buffer size
+    long length = 0;
+    for (final String line : lines) {
+      length += line.length() + LINE_SEPARATOR.length();
+    }
+    final Encoder encoder = new Encoder(channel, (int) Math.min(bufferSize, length));
+    for (final String line : lines) {
+      encoder.append(line);
+      encoder.append(LINE_SEPARATOR);
+    }
+    encoder.close();
+    logger.debug("Lines written: {}", lines.size());
+  }
+
+  /**
+   * Encodes characters in bulk and writes out full buffers.
+   */
+  private final class Encoder {
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder      encoder;
+    private final CharBuffer          chars;
+    private final ByteBuffer          bytes;
+
+    Encoder(final WritableByteChannel channel, final int size) {
+      this.channel = channel;
+      // same replacement behaviour as OutputStreamWriter
+      encoder = getCharset().newEncoder()
+                            .onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      // room for a surrogate pair at least
+      chars = CharBuffer.allocate(Math.max(size, 2));
+      bytes = ByteBuffer.allocateDirect((int) Math.min(Math.max(bufferSize, encoder.maxBytesPerChar()),
+                                                       Math.ceil(chars.capacity() * encoder.maxBytesPerChar())));
+    }
+
+    void append(final String text) throws IOException {
+      for (int from = 0; from < text.length();) {
+        final int to = from + Math.min(chars.remaining(), text.length() - from);
+        chars.append(text, from, to);
+        from = to;
+        if (!chars.hasRemaining()) {
+          encode(false);
+        }
+      }
+    }
+
+    void close() throws IOException {
+      encode(true);
+      while (encoder.flush(bytes).isOverflow()) {
+        drain();
+      }
+      drain();
+      if (force != Force.NEVER && channel instanceof FileChannel) {
+        ((FileChannel) channel).force(false);
+      }
+    }
+
+    private void encode(final boolean endOfInput) throws IOException {
+      chars.flip();
+      while (encoder.encode(chars, bytes, endOfInput).isOverflow()) {
+        drain();
+      }
+      // keep any incomplete surrogate pair for the next round
+      chars.compact();
+    }
+
+    private void drain() throws IOException {
+      bytes.flip();
+      while (bytes.hasRemaining()) {
+        channel.write(bytes);
+      }
+      bytes.clear();
+      if (force == Force.ON_EVERY_BUFFER && channel instanceof FileChannel) {
+        ((FileChannel) channel).force(false);
+      }
+    }
+
+  }
+
+}
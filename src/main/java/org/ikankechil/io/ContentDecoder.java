@@ -0,0 +1,29 @@
+/**
+ * ContentDecoder.java  v0.1  18 October 2026 1:34:15 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decodes content encoded as per an HTTP <code>Content-Encoding</code>, e.g.
+ * <code>gzip</code> or <code>br</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface ContentDecoder {
+
+  /**
+   * Wraps an encoded stream in one that decodes it.
+   *
+   * @param encoded the encoded <code>InputStream</code>
+   * @return an <code>InputStream</code> that reads decoded content
+   * @throws IOException if the stream cannot be decoded
+   */
+  public InputStream decode(final InputStream encoded) throws IOException;
+
+}
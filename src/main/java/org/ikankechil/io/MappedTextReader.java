@@ -0,0 +1,248 @@
+/**
+ * MappedTextReader.java  v0.1  17 October 2026 5:02:44 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads plain text from local files by memory-mapping them, splitting them
+ * into chunks at line boundaries and decoding the chunks in parallel on a
+ * <code>ForkJoinPool</code>. Lines are returned in their original order.
+ * Unless given one, readers share a pool created when first needed.
+ * <p>
+ * Chunks are split on the line feed byte, hence the charset must be
+ * ASCII-compatible (e.g. UTF-8 or ISO-8859-1). Other sources are read
+ * as per <code>TextReader</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class MappedTextReader extends TextReader {
+
+  private final ForkJoinPool  pool;
+  private final int           chunkSize;
+
+  // default sizes
+  private static final int    CHUNK_SIZE  = 1 << 24; // 16 MB
+  private static final int    SCAN_SIZE   = 8192;
+  private static final int    LINES       = 1024;
+
+  private static final byte   LF          = '\n';
+  private static final char   CR          = '\r';
+  private static final char   NEW_LINE    = '\n';
+
+  private static final Logger logger      = LoggerFactory.getLogger(MappedTextReader.class);
+
+  public MappedTextReader() {
+    this(DefaultPool.POOL, CHUNK_SIZE);
+  }
+
+  /**
+   * @param charset the ASCII-compatible <code>Charset</code> in which text is
+   *          encoded
+   */
+  public MappedTextReader(final Charset charset) {
+    this(charset, DefaultPool.POOL, CHUNK_SIZE);
+  }
+
+  /**
+   * @param pool the <code>ForkJoinPool</code> on which chunks are decoded
+   * @param chunkSize the approximate number of bytes decoded per task
+   */
+  public MappedTextReader(final ForkJoinPool pool, final int chunkSize) {
+    this(Charset.defaultCharset(), pool, chunkSize);
+  }
+
+  /**
+   * @param charset the ASCII-compatible <code>Charset</code> in which text is
+   *          encoded
+   * @param pool the <code>ForkJoinPool</code> on which chunks are decoded
+   * @param chunkSize the approximate number of bytes decoded per task
+   */
+  public MappedTextReader(final Charset charset, final ForkJoinPool pool, final int chunkSize) {
+    super(charset);
+    if (pool == null) {
+      throw new NullPointerException("Null pool");
+    }
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("Non-positive chunk size: " + chunkSize);
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Reads a series of lines from a file as <code>String</code>s, decoding
+   * chunks of the memory-mapped file in parallel.
+   *
+   * @param source the <code>File</code> to read from
+   * @return a <code>List</code> of <code>String</code>s read from the source
+   * @throws FileNotFoundException if the file does not exist, is a directory
+   *           rather than a regular file, or for some other reason cannot be
+   *           opened for reading
+   * @throws IOException if an I/O error occurs
+   */
+  @Override
+  public List<String> read(final File source) throws FileNotFoundException, IOException {
+    logger.info("Mapping file: {}", source);
+    if (!source.isFile()) {
+      throw new FileNotFoundException(source.toString());
+    }
+
+    final List<String> lines;
+    try (final FileChannel channel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+      final List<Long> boundaries = split(channel);
+      logger.debug("Chunks: {}", boundaries.size() - 1);
+      try {
+        lines = pool.invoke(new ChunkDecoder(getCharset(), channel, boundaries, 0, boundaries.size() - 1));
+      }
+      catch (final RuntimeException rE) {
+        // unwrap I/O errors raised while mapping chunks
+        for (Throwable cause = rE.getCause(); cause != null; cause = cause.getCause()) {
+          if (cause instanceof IOException) {
+            throw (IOException) cause;
+          }
+        }
+        throw rE;
+      }
+    }
+    logger.debug("Lines read: {}", lines.size());
+
+    logger.info("File read: {}", source);
+    return lines;
+  }
+
+  /**
+   * Splits <code>channel</code> into chunks of at least <code>chunkSize</code>
+   * bytes each, with every chunk but the last ending immediately after a line
+   * feed.
+   *
+   * @param channel
+   * @return chunk boundaries, starting with 0 and ending with the channel size
+   * @throws IOException
+   */
+  private List<Long> split(final FileChannel channel) throws IOException {
+    final long size = channel.size();
+    final List<Long> boundaries = new ArrayList<>();
+    boundaries.add(0L);
+
+    final ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+    long position = 0;
+    while (position < size) {
+      // look for the next line feed at or beyond the nominal chunk end
+      long end = Math.min(position + chunkSize, size);
+      search:
+      while (end < size) {
+        scan.clear();
+        final int read = channel.read(scan, end);
+        for (int i = 0; i < read; ++i) {
+          if (scan.get(i) == LF) {
+            end += i + 1;
+            break search;
+          }
+        }
+        end += Math.max(read, 0);
+      }
+      boundaries.add(end = Math.min(end, size));
+      position = end;
+    }
+
+    return boundaries;
+  }
+
+  /**
+   * Splits decoded text into lines, treating "\n", "\r" and "\r\n" as line
+   * terminators as per <code>BufferedReader.readLine()</code>.
+   *
+   * @param text
+   * @param lines
+   */
+  static final void splitLines(final CharBuffer text, final List<String> lines) {
+    final int length = text.length();
+    int start = 0;
+    for (int i = 0; i < length; ++i) {
+      final char c = text.charAt(i);
+      if (c == NEW_LINE || c == CR) {
+        lines.add(text.subSequence(start, i).toString());
+        if (c == CR && i + 1 < length && text.charAt(i + 1) == NEW_LINE) {
+          ++i;
+        }
+        start = i + 1;
+      }
+    }
+    if (start < length) { // last line without terminator
+      lines.add(text.subSequence(start, length).toString());
+    }
+  }
+
+  /**
+   * Decodes a range of chunks, forking in halves until a single chunk remains.
+   */
+  private static final class ChunkDecoder extends RecursiveTask<List<String>> {
+
+    private final Charset           charset;
+    private final FileChannel       channel;
+    private final List<Long>        boundaries;
+    private final int               from;
+    private final int               to;
+
+    private static final long       serialVersionUID = 1L;
+
+    ChunkDecoder(final Charset charset, final FileChannel channel, final List<Long> boundaries, final int from, final int to) {
+      this.charset = charset;
+      this.channel = channel;
+      this.boundaries = boundaries;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected List<String> compute() {
+      if (to - from > 1) {
+        final int middle = (from + to) >>> 1;
+        final ChunkDecoder right = new ChunkDecoder(charset, channel, boundaries, middle, to);
+        right.fork();
+        final List<String> lines = new ChunkDecoder(charset, channel, boundaries, from, middle).compute();
+        lines.addAll(right.join());
+        return lines;
+      }
+
+      final List<String> lines = new ArrayList<>(LINES);
+      if (to > from) {
+        final long start = boundaries.get(from);
+        try {
+          final ByteBuffer chunk = channel.map(MapMode.READ_ONLY, start, boundaries.get(to) - start);
+          splitLines(charset.decode(chunk), lines);
+        }
+        catch (final IOException ioE) {
+          throw new RuntimeException(ioE);
+        }
+      }
+      return lines;
+    }
+
+  }
+
+  private static final class DefaultPool {
+    static final ForkJoinPool POOL = new ForkJoinPool();
+  }
+
+}
@@ -0,0 +1,307 @@
+/**
+ * PooledURLInputStreamFactory.java  v0.1  17 October 2026 10:31:47 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An <code>InputStream</code> factory that reads from <code>URL</code>s over
+ * persistent connections, with a limit on the number of connections open to
+ * each host at any one time.
+ * <p>
+ * Streams must be closed to free their connection for the next request. On
+ * closing, what remains of a short response is read to the end so that the
+ * underlying connection is kept alive and reused for the next request to the
+ * same host, rather than a new connection being established and handshaken.
+ * Keep-alive may be turned off, in which case connections are closed after
+ * each request.
+ * <p>
+ * Streams are read through <code>URLConnection</code>s, as with
+ * <code>URLInputStreamFactory</code>, whose content decoding and cookies they
+ * share and whose <code>URLStreamHandler</code> they use. Idle connections
+ * are therefore pooled by that handler, i.e. OkHttp if registered by
+ * <code>URLInputStreamFactory</code>, else the JRE (sized by the
+ * <code>http.maxConnections</code> system property), rather than by a client
+ * of each factory's own: OkHttp 3 only offers <code>URLConnection</code>s
+ * through <code>okhttp-urlconnection</code>, which is not a dependency.
+ * <p>
+ * Optionally, encoded content is decoded on a separate thread ahead of the
+ * consumer, so that decompression overlaps with parsing.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class PooledURLInputStreamFactory {
+
+  private final int                             maxConnectionsPerHost;
+  private final int                             connectTimeout;
+  private final int                             readTimeout;
+  private final int                             drainSize;
+  private final int                             readAhead;
+  private final boolean                         keepAlive;
+  private final ConcurrentMap<String, Semaphore> hosts;
+
+  // defaults
+  private static final int                      MAX_CONNECTIONS_PER_HOST = 5;     // as per JRE keep-alive cache
+  private static final int                      CONNECT_TIMEOUT          = 10000; // milliseconds
+  private static final int                      READ_TIMEOUT             = 30000; // milliseconds
+  private static final int                      DRAIN_SIZE               = 65536;
+  private static final int                      READ_AHEAD_SIZE          = 65536;
+
+  // HTTP headers
+  private static final String                   CONNECTION               = "Connection";
+  private static final String                   KEEP_ALIVE               = "keep-alive";
+  private static final String                   CLOSE                    = "close";
+
+  private static final String                   SEPARATOR                = "://";
+  private static final char                     COLON                    = ':';
+
+  private static final Logger                   logger                   = LoggerFactory.getLogger(PooledURLInputStreamFactory.class);
+
+  public PooledURLInputStreamFactory() {
+    this(MAX_CONNECTIONS_PER_HOST, CONNECT_TIMEOUT, READ_TIMEOUT, DRAIN_SIZE);
+  }
+
+  /**
+   * @param maxConnectionsPerHost the maximum number of connections open to
+   *          each host at any one time
+   * @param connectTimeout connect timeout in milliseconds, 0 for none
+   * @param readTimeout read timeout in milliseconds, 0 for none
+   * @param drainSize the maximum number of unread bytes read to the end when
+   *          a stream is closed early so that its connection can be reused
+   */
+  public PooledURLInputStreamFactory(final int maxConnectionsPerHost,
+                                     final int connectTimeout,
+                                     final int readTimeout,
+                                     final int drainSize) {
+    this(maxConnectionsPerHost, connectTimeout, readTimeout, drainSize, 0);
+  }
+
+  /**
+   * @param maxConnectionsPerHost the maximum number of connections open to
+   *          each host at any one time
+   * @param connectTimeout connect timeout in milliseconds, 0 for none
+   * @param readTimeout read timeout in milliseconds, 0 for none
+   * @param drainSize the maximum number of unread bytes read to the end when
+   *          a stream is closed early so that its connection can be reused
+   * @param readAhead the number of buffers of encoded content decoded ahead
+   *          of the consumer on a separate thread, 0 to decode on the
+   *          consumer's thread
+   */
+  public PooledURLInputStreamFactory(final int maxConnectionsPerHost,
+                                     final int connectTimeout,
+                                     final int readTimeout,
+                                     final int drainSize,
+                                     final int readAhead) {
+    this(maxConnectionsPerHost, connectTimeout, readTimeout, drainSize, readAhead, true);
+  }
+
+  /**
+   * @param maxConnectionsPerHost the maximum number of connections open to
+   *          each host at any one time
+   * @param connectTimeout connect timeout in milliseconds, 0 for none
+   * @param readTimeout read timeout in milliseconds, 0 for none
+   * @param drainSize the maximum number of unread bytes read to the end when
+   *          a stream is closed early so that its connection can be reused
+   * @param readAhead the number of buffers of encoded content decoded ahead
+   *          of the consumer on a separate thread, 0 to decode on the
+   *          consumer's thread
+   * @param keepAlive if true, keep connections alive for the next request to
+   *          the same host, else close them after each request
+   */
+  public PooledURLInputStreamFactory(final int maxConnectionsPerHost,
+                                     final int connectTimeout,
+                                     final int readTimeout,
+                                     final int drainSize,
+                                     final int readAhead,
+                                     final boolean keepAlive) {
+    if (maxConnectionsPerHost < 1) {
+      throw new IllegalArgumentException("Non-positive maximum connections per host: " + maxConnectionsPerHost);
+    }
+    if (connectTimeout < 0 || readTimeout < 0 || drainSize < 0) {
+      throw new IllegalArgumentException("Negative timeout or drain size");
+    }
+    if (readAhead < 0 || readAhead == 1) {
+      throw new IllegalArgumentException("Read ahead must be 0 or at least 2 buffers: " + readAhead);
+    }
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.connectTimeout = connectTimeout;
+    this.readTimeout = readTimeout;
+    this.drainSize = drainSize;
+    this.readAhead = readAhead;
+    this.keepAlive = keepAlive;
+    hosts = new ConcurrentHashMap<>();
+  }
+
+  public int getMaxConnectionsPerHost() {
+    return maxConnectionsPerHost;
+  }
+
+  public boolean isKeepAlive() {
+    return keepAlive;
+  }
+
+  /**
+   * Creates an input stream that reads from a <code>URL</code>, waiting for
+   * a connection to its host to be freed if the limit has been reached.
+   *
+   * @param source the source <code>URL</code>
+   * @return an input stream that reads from a <code>URL</code>
+   * @throws IOException
+   *           if an I/O error occurs while creating the input stream
+   */
+  public InputStream newInputStream(final URL source) throws IOException {
+    return newInputStream(source, null);
+  }
+
+  @SuppressWarnings("resource")
+  public InputStream newInputStream(final URL source, final String cookie) throws IOException {
+    final Semaphore connections = connections(source);
+    try {
+      connections.acquire();
+    }
+    catch (final InterruptedException iE) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a connection to: " + source);
+    }
+
+    try {
+      InputStream is;
+      try {
+        is = createInputStream(source, cookie);
+      }
+      catch (final IOException ioE) { // retry once on failure
+        logger.warn("I/O error encountered, retrying URL: {}", source);
+        is = createInputStream(source, cookie);
+      }
+      return new PooledInputStream(is, connections);
+    }
+    catch (final IOException | RuntimeException e) {
+      connections.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Opens an unconnected <code>URLConnection</code> to <code>source</code>.
+   *
+   * @param source the source <code>URL</code>
+   * @return an unconnected <code>URLConnection</code>
+   * @throws IOException if an I/O error occurs
+   */
+  protected URLConnection openConnection(final URL source) throws IOException {
+    return source.openConnection();
+  }
+
+  /**
+   * Connects to and creates an input stream that reads from a configured
+   * <code>URLConnection</code>, decoding its content as necessary.
+   *
+   * @param connection the unconnected <code>URLConnection</code>
+   * @param cookie the cookie to send, if any
+   * @return an input stream that reads from <code>connection</code>
+   * @throws IOException if an I/O error occurs
+   */
+  protected InputStream open(final URLConnection connection, final String cookie) throws IOException {
+    final InputStream is = URLInputStreamFactory.newInputStream(connection, cookie);
+    return (readAhead > 0 && connection.getContentEncoding() != null) ? new ReadAheadInputStream(is, readAhead, READ_AHEAD_SIZE)
+                                                                       : is;
+  }
+
+  private InputStream createInputStream(final URL source, final String cookie) throws IOException {
+    final URLConnection connection = openConnection(source);
+    connection.setConnectTimeout(connectTimeout);
+    connection.setReadTimeout(readTimeout);
+    connection.setRequestProperty(CONNECTION, keepAlive ? KEEP_ALIVE : CLOSE);
+    try {
+      return open(connection, cookie);
+    }
+    catch (final IOException ioE) {
+      // read error responses to the end so that their connections are reused
+      if (keepAlive && connection instanceof HttpURLConnection) {
+        final InputStream error = ((HttpURLConnection) connection).getErrorStream();
+        if (error != null) {
+          drain(error, drainSize);
+        }
+      }
+      throw ioE;
+    }
+  }
+
+  private Semaphore connections(final URL source) {
+    final int port = source.getPort();
+    final String host = source.getProtocol() + SEPARATOR +
+                        source.getHost().toLowerCase(Locale.ROOT) + COLON +
+                        ((port < 0) ? source.getDefaultPort() : port);
+    Semaphore connections = hosts.get(host);
+    if (connections == null) {
+      final Semaphore created = new Semaphore(maxConnectionsPerHost, true);
+      connections = hosts.putIfAbsent(host, created);
+      if (connections == null) {
+        connections = created;
+        logger.debug("New host: {}", host);
+      }
+    }
+    return connections;
+  }
+
+  private static final void drain(final InputStream stream, final int drainSize) throws IOException {
+    try (final InputStream is = stream) {
+      final byte[] buffer = new byte[Math.min(drainSize, 8192) + 1];
+      for (int drained = 0, read; drained <= drainSize && (read = is.read(buffer)) >= 0; drained += read) {
+        // discard
+      }
+    }
+  }
+
+  /**
+   * Frees its connection for the next request once closed.
+   */
+  private final class PooledInputStream extends FilterInputStream {
+
+    private final Semaphore connections;
+    private boolean         isClosed;
+
+    PooledInputStream(final InputStream in, final Semaphore connections) {
+      super(in);
+      this.connections = connections;
+      isClosed = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (!isClosed) {
+        isClosed = true;
+        try {
+          if (keepAlive) {
+            drain(in, drainSize);
+          }
+          else {
+            in.close();
+          }
+        }
+        finally {
+          connections.release();
+        }
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,432 @@
+/**
+ * RangeDownloader.java  v0.1  17 October 2026 11:24:36 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Downloads large resources over HTTP by fetching byte ranges concurrently
+ * and writing them into place in the destination file.
+ * <p>
+ * The resource is first probed with a <code>HEAD</code> request. Resources
+ * that are small, of unknown length or served without
+ * <code>Accept-Ranges: bytes</code> are downloaded over a single stream.
+ * <p>
+ * A range that fails part-way is resumed from its last byte written. Ranges
+ * completed are recorded in a progress file alongside the destination, so
+ * that a download that ultimately fails can be resumed by downloading to the
+ * same destination again, provided the resource is unchanged. The progress
+ * file is deleted once the download completes.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class RangeDownloader {
+
+  private final int             threads;
+  private final long            rangeSize;
+  private final int             retries;
+
+  // defaults
+  private static final int      THREADS         = 4;
+  private static final long     RANGE_SIZE      = 1 << 23; // 8 MB
+  private static final int      RETRIES         = 3;
+  private static final int      CONNECT_TIMEOUT = 10000;   // milliseconds
+  private static final int      READ_TIMEOUT    = 30000;   // milliseconds
+  private static final int      BUFFER_SIZE     = 65536;
+
+  // HTTP
+  private static final String   HEAD            = "HEAD";
+  private static final String   ACCEPT_ENCODING = "Accept-Encoding";
+  private static final String   ACCEPT_RANGES   = "Accept-Ranges";
+  private static final String   CONTENT_RANGE   = "Content-Range";
+  private static final String   ETAG            = "ETag";
+  private static final String   LAST_MODIFIED   = "Last-Modified";
+  private static final String   RANGE           = "Range";
+  private static final String   IF_RANGE        = "If-Range";
+  private static final String   IDENTITY        = "identity";
+  private static final String   BYTES           = "bytes";
+  private static final String   WEAK            = "W/";
+
+  private static final String   PROGRESS        = ".progress";
+  private static final char     TAB             = '\t';
+  private static final Charset  ISO_8859_1      = Charset.forName("ISO-8859-1");
+
+  private static final Logger   logger          = LoggerFactory.getLogger(RangeDownloader.class);
+
+  public RangeDownloader() {
+    this(THREADS, RANGE_SIZE, RETRIES);
+  }
+
+  /**
+   * @param threads the maximum number of ranges fetched concurrently
+   * @param rangeSize the number of bytes per range
+   * @param retries the number of times a failed range is resumed
+   */
+  public RangeDownloader(final int threads, final long rangeSize, final int retries) {
+    if (threads < 1 || rangeSize < 1) {
+      throw new IllegalArgumentException("Non-positive threads or range size");
+    }
+    if (retries < 0) {
+      throw new IllegalArgumentException("Negative retries: " + retries);
+    }
+    this.threads = threads;
+    this.rangeSize = rangeSize;
+    this.retries = retries;
+  }
+
+  /**
+   * Downloads a resource to a file, resuming a previous download to the same
+   * file where possible.
+   *
+   * @param source the <code>URL</code> of the resource
+   * @param destination the destination <code>File</code>
+   * @return the number of bytes in the resource
+   * @throws IOException if the download fails
+   */
+  public long download(final URL source, final File destination) throws IOException {
+    logger.info("Downloading: {} to {}", source, destination);
+
+    final URLConnection head = source.openConnection();
+    if (!(head instanceof HttpURLConnection)) {
+      return copy(head, destination);
+    }
+
+    final HttpURLConnection http = (HttpURLConnection) head;
+    http.setRequestMethod(HEAD);
+    configure(http);
+    final int code = http.getResponseCode();
+    final long length = http.getContentLengthLong();
+    final boolean acceptsRanges = BYTES.equalsIgnoreCase(http.getHeaderField(ACCEPT_RANGES));
+    logger.debug("HEAD {}: {} bytes, ranges accepted: {}", code, length, acceptsRanges);
+
+    if (code != HttpURLConnection.HTTP_OK || !acceptsRanges || length <= rangeSize) {
+      return copy(configure(source.openConnection()), destination);
+    }
+
+    final long bytes = download(source, destination, length, validator(http));
+    logger.info("Downloaded: {} ({} bytes)", destination, bytes);
+    return bytes;
+  }
+
+  /**
+   * Downloads a resource to a temporary file and reads from it. The file is
+   * deleted when the stream is closed.
+   *
+   * @param source the <code>URL</code> of the resource
+   * @return an input stream that reads the downloaded resource
+   * @throws IOException if the download fails
+   */
+  public InputStream newInputStream(final URL source) throws IOException {
+    final File temp = File.createTempFile(RangeDownloader.class.getSimpleName(), null);
+    try {
+      download(source, temp);
+      return new FileInputStream(temp) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          }
+          finally {
+            delete(temp);
+          }
+        }
+      };
+    }
+    catch (final IOException | RuntimeException e) {
+      delete(temp);
+      delete(progressFile(temp));
+      throw e;
+    }
+  }
+
+  private long download(final URL source, final File destination, final long length, final String validator)
+      throws IOException {
+    final File progressFile = progressFile(destination);
+    final Set<Long> completed = resume(progressFile, destination, length, validator);
+
+    final List<Long> starts = new ArrayList<>();
+    for (long start = 0; start < length; start += rangeSize) {
+      if (!completed.contains(start)) {
+        starts.add(start);
+      }
+    }
+    logger.debug("Ranges: {} of {} to fetch", starts.size(), (length + rangeSize - 1) / rangeSize);
+
+    final ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, starts.size())));
+    final List<Future<Long>> futures = new ArrayList<>(starts.size());
+    try (final RandomAccessFile file = new RandomAccessFile(destination, "rw");
+         final Progress progress = new Progress(progressFile, completed.isEmpty(), length, validator)) {
+      if (completed.isEmpty()) {
+        file.setLength(0);
+      }
+      file.setLength(length);
+      final FileChannel channel = file.getChannel();
+
+      try {
+        for (final long start : starts) {
+          final long end = Math.min(start + rangeSize, length) - 1;
+          futures.add(executor.submit(new Range(source, channel, start, end, validator, progress)));
+        }
+        for (final Future<Long> future : futures) {
+          get(future);
+        }
+      }
+      finally {
+        // stop outstanding ranges before the file and progress are closed
+        for (final Future<Long> future : futures) {
+          future.cancel(true);
+        }
+        executor.shutdownNow();
+        awaitTermination(executor);
+      }
+    }
+
+    delete(progressFile);
+    return length;
+  }
+
+  private static final Set<Long> resume(final File progressFile,
+                                        final File destination,
+                                        final long length,
+                                        final String validator)
+      throws IOException {
+    final Set<Long> completed = new HashSet<>();
+    if (progressFile.isFile()) {
+      final List<String> lines = new TextReader(ISO_8859_1).read(progressFile);
+      // only resume downloads of the same, unchanged resource into the same,
+      // intact file
+      if (!lines.isEmpty() && validator != null && lines.get(0).equals(header(length, validator)) &&
+          destination.isFile() && destination.length() == length) {
+        for (final String line : lines.subList(1, lines.size())) {
+          completed.add(Long.valueOf(line));
+        }
+        logger.info("Resuming download with {} ranges completed", completed.size());
+      }
+      else {
+        logger.info("Discarding stale progress: {}", progressFile);
+      }
+    }
+    return completed;
+  }
+
+  private static final String header(final long length, final String validator) {
+    return String.valueOf(length) + TAB + validator;
+  }
+
+  private static final String validator(final URLConnection connection) {
+    // strong validators only, as per RFC 7233
+    final String etag = connection.getHeaderField(ETAG);
+    return (etag != null && !etag.startsWith(WEAK)) ? etag : connection.getHeaderField(LAST_MODIFIED);
+  }
+
+  private static final URLConnection configure(final URLConnection connection) {
+    connection.setConnectTimeout(CONNECT_TIMEOUT);
+    connection.setReadTimeout(READ_TIMEOUT);
+    // ranges are of the resource as stored, not as encoded in transit
+    connection.setRequestProperty(ACCEPT_ENCODING, IDENTITY);
+    return connection;
+  }
+
+  private static final long copy(final URLConnection connection, final File destination) throws IOException {
+    logger.debug("Downloading over a single stream");
+    try (final InputStream is = connection.getInputStream()) {
+      return Files.copy(is, destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static final File progressFile(final File destination) {
+    return new File(destination.getPath() + PROGRESS);
+  }
+
+  private static final void delete(final File file) {
+    if (file.exists() && !file.delete()) {
+      logger.warn("Cannot delete: {}", file);
+    }
+  }
+
+  private static final void awaitTermination(final ExecutorService executor) {
+    try {
+      // reads blocked on a socket ignore interrupts, but not the read timeout
+      if (!executor.awaitTermination(CONNECT_TIMEOUT + READ_TIMEOUT, TimeUnit.MILLISECONDS)) {
+        logger.warn("Ranges still outstanding");
+      }
+    }
+    catch (final InterruptedException iE) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final <V> V get(final Future<V> future) throws IOException {
+    try {
+      return future.get();
+    }
+    catch (final InterruptedException iE) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while downloading");
+    }
+    catch (final ExecutionException eE) {
+      final Throwable cause = eE.getCause();
+      logger.warn("Range failed.  Cause: {}", cause, eE);
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  /**
+   * Records completed ranges.
+   */
+  private static final class Progress implements AutoCloseable {
+
+    private final BufferedWriter writer;
+
+    Progress(final File progressFile, final boolean isNew, final long length, final String validator)
+        throws IOException {
+      writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(progressFile, !isNew), ISO_8859_1));
+      if (isNew && validator != null) {
+        writer.write(header(length, validator));
+        writer.newLine();
+        writer.flush();
+      }
+    }
+
+    synchronized void complete(final long start) throws IOException {
+      writer.write(String.valueOf(start));
+      writer.newLine();
+      writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      writer.close();
+    }
+
+  }
+
+  /**
+   * Fetches a range of bytes into place, resuming from the last byte written
+   * on failure.
+   */
+  private final class Range implements Callable<Long> {
+
+    private final URL         source;
+    private final FileChannel channel;
+    private final long        start;
+    private final long        end;      // inclusive
+    private final String      validator;
+    private final Progress    progress;
+    private long              position;
+
+    Range(final URL source,
+          final FileChannel channel,
+          final long start,
+          final long end,
+          final String validator,
+          final Progress progress) {
+      this.source = source;
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+      this.validator = validator;
+      this.progress = progress;
+      position = start;
+    }
+
+    @Override
+    public Long call() throws IOException {
+      for (int attempt = 0;; ++attempt) {
+        try {
+          fetch();
+          progress.complete(start);
+          return end - start + 1;
+        }
+        catch (final InterruptedIOException iioE) {
+          throw iioE;
+        }
+        catch (final IOException ioE) {
+          if (attempt >= retries || Thread.currentThread().isInterrupted()) {
+            throw ioE;
+          }
+          logger.warn("Range {}-{} failed at byte {}, resuming.  Cause: {}", start, end, position, ioE.toString());
+        }
+      }
+    }
+
+    private void fetch() throws IOException {
+      final HttpURLConnection connection = (HttpURLConnection) configure(source.openConnection());
+      connection.setRequestProperty(RANGE, BYTES + '=' + position + '-' + end);
+      if (validator != null) {
+        connection.setRequestProperty(IF_RANGE, validator);
+      }
+
+      final int code = connection.getResponseCode();
+      if (code != HttpURLConnection.HTTP_PARTIAL) {
+        // a full response means the resource has changed since the HEAD
+        connection.disconnect();
+        throw new IOException("Range " + position + '-' + end + " not served (HTTP " + code + "): " + source);
+      }
+      final String contentRange = connection.getHeaderField(CONTENT_RANGE);
+      if (contentRange == null || !contentRange.startsWith(BYTES + ' ' + position + '-')) {
+        connection.disconnect();
+        throw new IOException("Unexpected " + CONTENT_RANGE + ": " + contentRange);
+      }
+
+      try (final InputStream is = connection.getInputStream()) {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        while (position <= end) {
+          final int read = is.read(buffer, 0, (int) Math.min(buffer.length, end - position + 1));
+          if (read < 0) {
+            throw new EOFException("Range " + start + '-' + end + " ended at byte " + position);
+          }
+          final ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, read);
+          while (bytes.hasRemaining()) {
+            position += channel.write(bytes, position);
+          }
+        }
+      }
+    }
+
+  }
+
+}
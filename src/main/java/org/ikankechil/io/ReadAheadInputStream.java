@@ -0,0 +1,213 @@
+/**
+ * ReadAheadInputStream.java  v0.1  18 October 2026 1:52:40 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An <code>InputStream</code> that reads ahead of its consumer on a separate
+ * thread, so that reading from the underlying stream, e.g. decompressing it,
+ * overlaps with whatever the consumer does with the bytes read.
+ * <p>
+ * Bytes are handed over in chunks through a bounded number of buffers, so
+ * the reading thread never gets more than that far ahead. Streams must be
+ * closed to stop the reading thread and close the underlying stream.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class ReadAheadInputStream extends InputStream {
+
+  private final InputStream            source;
+  private final BlockingQueue<Chunk>   free;
+  private final BlockingQueue<Chunk>   filled;
+  private final Future<?>              reading;
+
+  private Chunk                        current;
+  private int                          position;
+  private volatile boolean             isClosed;
+
+  // default sizes
+  private static final int             BUFFERS     = 4;
+  private static final int             BUFFER_SIZE = 65536;
+
+  private static final ExecutorService READERS     = Executors.newCachedThreadPool(new ThreadFactory() {
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, ReadAheadInputStream.class.getSimpleName() + '-' + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  private static final Logger          logger      = LoggerFactory.getLogger(ReadAheadInputStream.class);
+
+  public ReadAheadInputStream(final InputStream source) {
+    this(source, BUFFERS, BUFFER_SIZE);
+  }
+
+  /**
+   * @param source the <code>InputStream</code> to read ahead of
+   * @param buffers the number of buffers, at least 2
+   * @param bufferSize the size of each buffer
+   */
+  public ReadAheadInputStream(final InputStream source, final int buffers, final int bufferSize) {
+    if (source == null) {
+      throw new NullPointerException("Null source");
+    }
+    if (buffers < 2 || bufferSize < 1) {
+      throw new IllegalArgumentException("Too few buffers or non-positive buffer size");
+    }
+    this.source = source;
+    free = new ArrayBlockingQueue<>(buffers);
+    filled = new ArrayBlockingQueue<>(buffers + 1); // room for the end
+    for (int b = 0; b < buffers; ++b) {
+      free.add(new Chunk(new byte[bufferSize]));
+    }
+    current = null;
+    position = 0;
+    isClosed = false;
+
+    reading = READERS.submit(new Reading());
+  }
+
+  @Override
+  public int read() throws IOException {
+    return next() ? current.bytes[position++] & 0xFF : -1;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (len == 0) {
+      return 0;
+    }
+    if (!next()) {
+      return -1;
+    }
+    final int read = Math.min(len, current.length - position);
+    System.arraycopy(current.bytes, position, b, off, read);
+    position += read;
+    return read;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return (current == null || current.length < 0) ? 0 : current.length - position;
+  }
+
+  /**
+   * @return true if there are bytes to read in the current chunk
+   */
+  private boolean next() throws IOException {
+    if (isClosed) {
+      throw new IOException("Stream closed");
+    }
+    if (current != null) {
+      if (position < current.length) {
+        return true;
+      }
+      if (current.length < 0) { // end of stream, or failure
+        return end();
+      }
+      free.add(current); // never blocks: there are only as many buffers
+    }
+
+    try {
+      current = filled.take();
+    }
+    catch (final InterruptedException iE) {
+      current = null;
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while reading ahead");
+    }
+    position = 0;
+    return (current.length < 0) ? end() : true;
+  }
+
+  private boolean end() throws IOException {
+    if (current.failure != null) {
+      throw current.failure;
+    }
+    return false;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!isClosed) {
+      isClosed = true;
+      reading.cancel(true);
+      source.close();
+    }
+  }
+
+  /**
+   * A buffer of bytes read, or the end of the stream.
+   */
+  private static final class Chunk {
+
+    final byte[] bytes;
+    int          length;
+    IOException  failure;
+
+    Chunk(final byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+  }
+
+  /**
+   * Fills free buffers from the underlying stream.
+   */
+  private final class Reading implements Runnable {
+
+    @Override
+    public void run() {
+      final Chunk end = new Chunk(null);
+      end.length = -1;
+      try {
+        while (!isClosed) {
+          final Chunk chunk = free.take();
+          final int read = source.read(chunk.bytes);
+          if (read < 0) {
+            break;
+          }
+          chunk.length = read;
+          filled.put(chunk);
+        }
+      }
+      catch (final InterruptedException iE) { // closed
+        return;
+      }
+      catch (final IOException | RuntimeException e) {
+        if (isClosed) { // underlying stream closed from under us
+          return;
+        }
+        logger.warn("Read ahead failed", e);
+        end.failure = (e instanceof IOException) ? (IOException) e : new IOException(e);
+      }
+      filled.add(end); // never blocks: there is room for the end
+    }
+
+  }
+
+}
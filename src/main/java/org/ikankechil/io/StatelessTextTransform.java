@@ -0,0 +1,19 @@
+/**
+ * StatelessTextTransform.java  v0.1  17 October 2026 6:48:26 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+/**
+ * A marker for <code>TextTransform</code>s whose output depends on nothing
+ * but the line being transformed, and which are safe to call from several
+ * threads at once. <code>TextTransformer</code> transforms lines in parallel
+ * with such transforms.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface StatelessTextTransform extends TextTransform {
+  // marker
+}
@@ -0,0 +1,26 @@
+/**
+ * TextHandler.java  v0.1  17 October 2026 4:31:07 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.IOException;
+
+/**
+ * Receives lines of plain text one at a time, as and when they are read.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface TextHandler {
+
+  /**
+   * Handles a line of text.
+   *
+   * @param line the <code>String</code> to be handled
+   * @throws IOException if an I/O error occurs
+   */
+  public void handle(final String line) throws IOException;
+
+}
@@ -0,0 +1,201 @@
+/**
+ * TextLine.java  v0.1  17 October 2026 5:48:12 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * A reusable line of text backed by bytes. A <code>TextLine</code> is either a
+ * view over a region of someone else's buffer (as handed out by
+ * <code>TextReader.readLines</code>) or a growable buffer of its own, to which
+ * characters and bytes can be appended. Appending to a view first copies the
+ * viewed bytes into its own buffer.
+ * <p>
+ * Each byte is exposed as a single <code>char</code> (ISO-8859-1), so
+ * <code>charAt</code> is exact for ASCII and Latin-1 text. Other encodings pass
+ * through unchanged as long as lines are not decoded.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public final class TextLine implements CharSequence, Appendable {
+
+  private byte[]               buffer;
+  private byte[]               bytes;
+  private int                  offset;
+  private int                  length;
+
+  private static final Charset ISO_8859_1  = Charset.forName("ISO-8859-1");
+  private static final int     LINE_LENGTH = 128;
+  private static final byte    UNMAPPABLE  = '?';
+
+  public TextLine() {
+    this(LINE_LENGTH);
+  }
+
+  /**
+   * @param capacity the initial capacity of this line's own buffer
+   */
+  public TextLine(final int capacity) {
+    bytes = buffer = new byte[capacity];
+    offset = length = 0;
+  }
+
+  /**
+   * Views <code>length</code> bytes of <code>bytes</code>, starting at
+   * <code>offset</code>. No bytes are copied.
+   */
+  final TextLine set(final byte[] bytes, final int offset, final int length) {
+    this.bytes = bytes;
+    this.offset = offset;
+    this.length = length;
+    return this;
+  }
+
+  /**
+   * Empties this line, which then uses its own buffer.
+   *
+   * @return this line
+   */
+  public TextLine clear() {
+    bytes = buffer;
+    offset = length = 0;
+    return this;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return (char) (byteAt(index) & 0xFF);
+  }
+
+  public byte byteAt(final int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+    }
+    return bytes[offset + index];
+  }
+
+  /**
+   * @return a view over part of this line, valid for as long as this line is
+   */
+  @Override
+  public TextLine subSequence(final int start, final int end) {
+    checkRange(start, end);
+    return new TextLine(0).set(bytes, offset + start, end - start);
+  }
+
+  /**
+   * Returns the index of the first occurrence of <code>c</code> at or after
+   * <code>fromIndex</code>.
+   *
+   * @param c
+   * @param fromIndex
+   * @return the index of <code>c</code> or -1 if it does not occur
+   */
+  public int indexOf(final char c, final int fromIndex) {
+    for (int i = Math.max(fromIndex, 0); i < length; ++i) {
+      if (bytes[offset + i] == (byte) c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public TextLine append(final char c) {
+    ensureCapacity(1);
+    buffer[length++] = encode(c);
+    return this;
+  }
+
+  @Override
+  public TextLine append(final CharSequence csq) {
+    return (csq == null) ? append("null") : append(csq, 0, csq.length());
+  }
+
+  @Override
+  public TextLine append(final CharSequence csq, final int start, final int end) {
+    if (csq instanceof TextLine) { // copy bytes directly
+      final TextLine line = (TextLine) csq;
+      line.checkRange(start, end);
+      return append(line.bytes, line.offset + start, end - start);
+    }
+    if (csq == null) {
+      return append("null", start, end);
+    }
+    ensureCapacity(end - start);
+    for (int i = start; i < end; ++i) {
+      buffer[length++] = encode(csq.charAt(i));
+    }
+    return this;
+  }
+
+  public TextLine append(final byte[] source, final int from, final int count) {
+    ensureCapacity(count);
+    System.arraycopy(source, from, buffer, length, count);
+    length += count;
+    return this;
+  }
+
+  /**
+   * Writes the bytes of this line to <code>destination</code>.
+   *
+   * @param destination
+   * @throws IOException if an I/O error occurs
+   */
+  public void writeTo(final OutputStream destination) throws IOException {
+    destination.write(bytes, offset, length);
+  }
+
+  /**
+   * Decodes this line.
+   *
+   * @param charset the <code>Charset</code> used to decode the bytes
+   * @return a new <code>String</code>
+   */
+  public String toString(final Charset charset) {
+    return new String(bytes, offset, length, charset);
+  }
+
+  @Override
+  public String toString() {
+    return toString(ISO_8859_1);
+  }
+
+  private void ensureCapacity(final int extra) {
+    if (bytes != buffer || offset != 0) { // copy-on-write
+      final byte[] viewed = bytes;
+      if (buffer.length < length + extra) {
+        buffer = new byte[Math.max(buffer.length << 1, length + extra)];
+      }
+      System.arraycopy(viewed, offset, buffer, 0, length);
+      bytes = buffer;
+      offset = 0;
+    }
+    else if (buffer.length < length + extra) {
+      bytes = buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, length + extra));
+    }
+  }
+
+  private void checkRange(final int start, final int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException("Start: " + start + ", end: " + end + ", length: " + length);
+    }
+  }
+
+  private static final byte encode(final char c) {
+    return (c > 0xFF) ? UNMAPPABLE : (byte) c;
+  }
+
+}
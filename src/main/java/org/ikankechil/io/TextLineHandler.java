@@ -0,0 +1,28 @@
+/**
+ * TextLineHandler.java  v0.1  17 October 2026 5:52:40 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.IOException;
+
+/**
+ * Receives byte-backed lines of text one at a time, as and when they are
+ * read. The <code>TextLine</code> handed over is reused for the next line and
+ * is only valid for the duration of the call.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface TextLineHandler {
+
+  /**
+   * Handles a line of text.
+   *
+   * @param line the <code>TextLine</code> to be handled
+   * @throws IOException if an I/O error occurs
+   */
+  public void handle(final TextLine line) throws IOException;
+
+}
@@ -0,0 +1,28 @@
+/**
+ * TextLineTransform.java  v0.1  17 October 2026 5:55:03 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+/**
+ * A <code>TextTransform</code> that can also work on byte-backed
+ * <code>TextLine</code>s, so that lines need not be decoded into, nor encoded
+ * from, <code>String</code>s.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface TextLineTransform extends TextTransform {
+
+  /**
+   * Transforms a <code>TextLine</code> into another.
+   *
+   * @param line the <code>TextLine</code> to be transformed, only valid for
+   *          the duration of the call
+   * @param result an empty, reusable <code>TextLine</code> to which the
+   *          transformed line is to be appended
+   */
+  public void transform(final TextLine line, final TextLine result);
+
+}
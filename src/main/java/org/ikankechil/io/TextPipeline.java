@@ -0,0 +1,379 @@
+/**
+ * TextPipeline.java  v0.1  17 October 2026 7:36:09 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads, transforms and writes plain text concurrently. Reading and
+ * transforming run on their own threads and writing runs on the calling
+ * thread, with batches of lines handed over through bounded queues. A stage
+ * that gets ahead blocks until the next stage catches up, so only a bounded
+ * number of lines is ever held in memory.
+ * <p>
+ * When the order of lines is to be reversed, lines are collected in runs of
+ * bounded size. Runs that fill up are spilled, reversed, to temporary files.
+ * Lines are transformed in output order as the runs are written out last
+ * first.
+ * <p>
+ * Lines are written, and spilled, in the charset of the reader.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class TextPipeline {
+
+  private final TextReader          reader;
+  private final TextTransform       transform;
+  private final int                 skippedRows;
+  private final boolean             reverseOrder;
+  private final int                 batchSize;
+  private final int                 capacity;
+  private final int                 runSize;
+
+  // default sizes
+  private static final int          BATCH_SIZE = 1024;
+  private static final int          CAPACITY   = 16;
+  private static final int          RUN_SIZE   = 1 << 20;
+
+  private static final String       SPILL      = TextPipeline.class.getSimpleName();
+  // marks the end of a stage's output
+  private static final List<String> END        = new ArrayList<>(0);
+
+  private static final Logger       logger     = LoggerFactory.getLogger(TextPipeline.class);
+
+  public TextPipeline(final TextReader reader, final TextTransform transform) {
+    // by default, no rows are skipped and source data order is kept "as-is"
+    this(reader, transform, 0, false);
+  }
+
+  /**
+   * @param reader the <code>TextReader</code> to read with
+   * @param transform the <code>TextTransform</code> to apply
+   * @param skippedRows the number of rows to skip when transforming
+   * @param reverseOrder if true, reverse the order of incoming source data
+   */
+  public TextPipeline(final TextReader reader, final TextTransform transform, final int skippedRows, final boolean reverseOrder) {
+    this(reader, transform, skippedRows, reverseOrder, BATCH_SIZE, CAPACITY, RUN_SIZE);
+  }
+
+  /**
+   * @param reader the <code>TextReader</code> to read with
+   * @param transform the <code>TextTransform</code> to apply
+   * @param skippedRows the number of rows to skip when transforming
+   * @param reverseOrder if true, reverse the order of incoming source data
+   * @param batchSize the number of lines handed over between stages at a time
+   * @param capacity the number of batches queued between stages
+   * @param runSize the number of lines held in memory before spilling to disk
+   *          when reversing
+   */
+  public TextPipeline(final TextReader reader,
+                      final TextTransform transform,
+                      final int skippedRows,
+                      final boolean reverseOrder,
+                      final int batchSize,
+                      final int capacity,
+                      final int runSize) {
+    if (reader == null) {
+      throw new NullPointerException("Null reader");
+    }
+    if (transform == null) {
+      throw new NullPointerException("Null transform");
+    }
+    if (batchSize < 1 || capacity < 1 || runSize < 1) {
+      throw new IllegalArgumentException("Non-positive batch size, capacity or run size");
+    }
+    this.reader = reader;
+    this.transform = transform;
+    this.skippedRows = (skippedRows < 0) ? 0 : skippedRows;
+    this.reverseOrder = reverseOrder;
+    this.batchSize = batchSize;
+    this.capacity = capacity;
+    this.runSize = runSize;
+  }
+
+  /**
+   * Reads lines from a file, transforms them and writes them to another.
+   *
+   * @param source the <code>File</code> to read from
+   * @param destination the destination <code>File</code>
+   * @return the number of lines written
+   * @throws FileNotFoundException if either file cannot be opened
+   * @throws IOException if an I/O error occurs in any stage
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public long run(final File source, final File destination)
+      throws FileNotFoundException, IOException, InterruptedException {
+    logger.info("Piping file: {} to {}", source, destination);
+
+    final long lines;
+    try (final FileInputStream fis = new FileInputStream(source);
+         final FileOutputStream fos = new FileOutputStream(destination)) {
+      lines = run(fis, fos);
+    }
+
+    logger.info("File piped: {}", destination);
+    return lines;
+  }
+
+  /**
+   * Reads lines from <code>source</code>, transforms them and writes them to
+   * <code>destination</code>. Both streams are closed on completion.
+   *
+   * @param source the <code>InputStream</code> to read from
+   * @param destination the <code>OutputStream</code> to write to
+   * @return the number of lines written
+   * @throws IOException if an I/O error occurs in any stage
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public long run(final InputStream source, final OutputStream destination)
+      throws IOException, InterruptedException {
+    final ExecutorService executor = Executors.newFixedThreadPool(reverseOrder ? 1 : 2);
+    final long lines;
+    try (final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(destination, reader.getCharset()))) {
+      final BlockingQueue<List<String>> read = new ArrayBlockingQueue<>(capacity);
+      final Future<Long> reading = executor.submit(new Reading(source, read));
+
+      if (reverseOrder) {
+        lines = writeReversed(read, reading, writer);
+      }
+      else {
+        final BlockingQueue<List<String>> transformed = new ArrayBlockingQueue<>(capacity);
+        final Future<?> transforming = executor.submit(new Transforming(read, transformed));
+
+        lines = write(transformed, writer);
+        get(transforming);
+        get(reading);
+      }
+    }
+    finally {
+      // stop upstream stages that are still running
+      executor.shutdownNow();
+    }
+    logger.debug("Lines written: {}", lines);
+
+    return lines;
+  }
+
+  private static final long write(final BlockingQueue<List<String>> queue, final BufferedWriter writer)
+      throws IOException, InterruptedException {
+    long lines = 0;
+    for (List<String> batch; (batch = queue.take()) != END;) {
+      for (final String line : batch) {
+        writer.write(line);
+        writer.newLine();
+      }
+      lines += batch.size();
+    }
+    return lines;
+  }
+
+  private long writeReversed(final BlockingQueue<List<String>> queue,
+                             final Future<Long> reading,
+                             final BufferedWriter writer)
+      throws IOException, InterruptedException {
+    // runs of batches, most recent first
+    final Deque<File> spills = new ArrayDeque<>();
+    final Deque<List<String>> run = new ArrayDeque<>();
+    int runLines = 0;
+    try {
+      for (List<String> batch; (batch = queue.take()) != END;) {
+        run.push(batch);
+        if ((runLines += batch.size()) >= runSize) {
+          spills.push(spill(run));
+          run.clear();
+          runLines = 0;
+        }
+      }
+      get(reading);
+
+      // write most recent run first, then spilled runs in reverse
+      long lines = writeReversed(run, transform, writer);
+      for (final File spill : spills) {
+        lines += new TextReader(reader.getCharset()).read(spill, new TextHandler() {
+          @Override
+          public void handle(final String line) throws IOException {
+            writer.write(transform.transform(line));
+            writer.newLine();
+          }
+        });
+      }
+      return lines;
+    }
+    finally {
+      for (final File spill : spills) {
+        if (!spill.delete()) {
+          logger.warn("Cannot delete spill file: {}", spill);
+        }
+      }
+    }
+  }
+
+  private final File spill(final Deque<List<String>> run) throws IOException {
+    final File spill = File.createTempFile(SPILL, null);
+    try (final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spill), reader.getCharset()))) {
+      writeReversed(run, null, writer);
+    }
+    logger.debug("Spilled run to: {}", spill);
+    return spill;
+  }
+
+  private static final long writeReversed(final Deque<List<String>> run,
+                                          final TextTransform transform,
+                                          final BufferedWriter writer)
+      throws IOException {
+    long lines = 0;
+    for (final List<String> batch : run) {
+      for (int i = batch.size() - 1; i >= 0; --i) {
+        writer.write((transform == null) ? batch.get(i) : transform.transform(batch.get(i)));
+        writer.newLine();
+      }
+      lines += batch.size();
+    }
+    return lines;
+  }
+
+  private static final <V> V get(final Future<V> stage) throws IOException, InterruptedException {
+    try {
+      return stage.get();
+    }
+    catch (final ExecutionException eE) {
+      final Throwable cause = eE.getCause();
+      logger.warn("Stage failed.  Cause: {}", cause, eE);
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  private static final void put(final BlockingQueue<List<String>> queue, final List<String> batch)
+      throws InterruptedIOException {
+    try {
+      queue.put(batch);
+    }
+    catch (final InterruptedException iE) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while handing over lines");
+    }
+  }
+
+  private static final void end(final BlockingQueue<List<String>> queue) {
+    try {
+      queue.put(END);
+    }
+    catch (final InterruptedException iE) { // downstream stopped already
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Reads lines in batches, skipping rows as it goes.
+   */
+  private final class Reading implements Callable<Long>, TextHandler {
+
+    private final InputStream                 source;
+    private final BlockingQueue<List<String>> queue;
+    private List<String>                      batch;
+    private long                              skipped;
+
+    Reading(final InputStream source, final BlockingQueue<List<String>> queue) {
+      this.source = source;
+      this.queue = queue;
+      batch = new ArrayList<>(batchSize);
+      skipped = 0;
+    }
+
+    @Override
+    public Long call() throws IOException {
+      try {
+        final long lines = reader.read(source, this);
+        if (!batch.isEmpty()) {
+          put(queue, batch);
+        }
+        return lines;
+      }
+      finally {
+        end(queue);
+      }
+    }
+
+    @Override
+    public void handle(final String line) throws IOException {
+      if (skipped < skippedRows) {
+        ++skipped;
+        return;
+      }
+      batch.add(line);
+      if (batch.size() == batchSize) {
+        put(queue, batch);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+
+  }
+
+  /**
+   * Transforms batches of lines in-place.
+   */
+  private final class Transforming implements Callable<Void> {
+
+    private final BlockingQueue<List<String>> in;
+    private final BlockingQueue<List<String>> out;
+
+    Transforming(final BlockingQueue<List<String>> in, final BlockingQueue<List<String>> out) {
+      this.in = in;
+      this.out = out;
+    }
+
+    @Override
+    public Void call() throws IOException, InterruptedException {
+      try {
+        for (List<String> batch; (batch = in.take()) != END;) {
+          for (int i = 0; i < batch.size(); ++i) {
+            batch.set(i, transform.transform(batch.get(i)));
+          }
+          put(out, batch);
+        }
+        return null;
+      }
+      finally {
+        end(out);
+      }
+    }
+
+  }
+
+}
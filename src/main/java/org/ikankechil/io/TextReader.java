@@ -17,7 +17,9 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -26,18 +28,62 @@ import org.slf4j.LoggerFactory;
 /**
  * Reads plain text (decoded) from an <code>URL</code>, a <code>File</code> or
  * an <code>InputStream</code>.
+ * <p>
+ * Text is decoded with the platform default charset unless another is
+ * given. US-ASCII and ISO-8859-1 text is decoded straight from the read
+ * buffer, one line at a time, rather than through a <code>Reader</code>.
  *
  * @author Daniel Kuan
  * @version 0.3
  */
 public class TextReader { // TODO v0.5 read n lines only
 
-  private static final String UTF_8  = "UTF-8";
+  private final Charset                     charset;
+  private final boolean                     isSingleByte;
+  private final PooledURLInputStreamFactory urlFactory;
+
+  private static final String               UTF_8      = "UTF-8";
+  private static final Charset              US_ASCII   = Charset.forName("US-ASCII");
+  private static final Charset              ISO_8859_1 = Charset.forName("ISO-8859-1");
 
   // default sizes
-  private static final int    LINES  = 1024;
+  private static final int                  LINES      = 1024;
+  private static final int                  BUFFER     = 65536;
+
+  private static final byte                 LF         = '\n';
+  private static final byte                 CR         = '\r';
 
-  private static final Logger logger = LoggerFactory.getLogger(TextReader.class);
+  private static final Logger               logger     = LoggerFactory.getLogger(TextReader.class);
+
+  public TextReader() {
+    this(Charset.defaultCharset());
+  }
+
+  /**
+   * @param charset the <code>Charset</code> used to decode text
+   */
+  public TextReader(final Charset charset) {
+    this(charset, null);
+  }
+
+  /**
+   * @param charset the <code>Charset</code> used to decode text
+   * @param urlFactory the <code>PooledURLInputStreamFactory</code> through
+   *          which <code>URL</code>s are read, or null to read them through
+   *          <code>URLInputStreamFactory</code>
+   */
+  public TextReader(final Charset charset, final PooledURLInputStreamFactory urlFactory) {
+    if (charset == null) {
+      throw new NullPointerException("Null charset");
+    }
+    this.charset = charset;
+    isSingleByte = US_ASCII.equals(charset) || ISO_8859_1.equals(charset);
+    this.urlFactory = urlFactory;
+  }
+
+  public Charset getCharset() {
+    return charset;
+  }
 
   /**
    * Reads a series of lines from a URL as <code>String</code>s.
@@ -50,12 +96,36 @@ public class TextReader { // TODO v0.5 read n lines only
   public List<String> read(final URL source) throws IOException {
     logger.info("Reading from URL: {}", source);
 
-    final List<String> lines = read(URLInputStreamFactory.newInputStream(source));
+    final List<String> lines = read(newInputStream(source));
+
+    logger.info("URL read: {}", source);
+    return lines;
+  }
+
+  /**
+   * Reads a series of lines from a URL, passing each line to
+   * <code>handler</code> as soon as it is read. Lines are not retained, hence
+   * memory usage is independent of the size of the source.
+   *
+   * @param source
+   * @param handler the <code>TextHandler</code> that receives each line
+   * @return the number of lines read
+   * @throws IOException if an I/O error occurs
+   */
+  public long read(final URL source, final TextHandler handler) throws IOException {
+    logger.info("Reading from URL: {}", source);
+
+    final long lines = read(newInputStream(source), handler);
 
     logger.info("URL read: {}", source);
     return lines;
   }
 
+  private InputStream newInputStream(final URL source) throws IOException {
+    return (urlFactory == null) ? URLInputStreamFactory.newInputStream(source)
+                                : urlFactory.newInputStream(source);
+  }
+
   static final URI toURI(final String url) throws UnsupportedEncodingException {
     URI uri;
     try {
@@ -96,6 +166,31 @@ public class TextReader { // TODO v0.5 read n lines only
     return lines;
   }
 
+  /**
+   * Reads a series of lines from a file, passing each line to
+   * <code>handler</code> as soon as it is read. Lines are not retained, hence
+   * memory usage is independent of the size of the file.
+   *
+   * @param source the <code>File</code> to read from
+   * @param handler the <code>TextHandler</code> that receives each line
+   * @return the number of lines read
+   * @throws FileNotFoundException if the file does not exist, is a directory
+   *           rather than a regular file, or for some other reason cannot be
+   *           opened for reading
+   * @throws IOException if an I/O error occurs
+   */
+  public long read(final File source, final TextHandler handler) throws FileNotFoundException, IOException {
+    logger.info("Reading from file: {}", source);
+
+    final long lines;
+    try (final FileInputStream fis = new FileInputStream(source)) {
+      lines = read(fis, handler);
+    }
+
+    logger.info("File read: {}", source);
+    return lines;
+  }
+
   /**
    * Subclasses should override this method if they wish to provide a decoding
    * scheme.
@@ -105,21 +200,167 @@ public class TextReader { // TODO v0.5 read n lines only
    * @throws IOException
    */
   public List<String> read(final InputStream source) throws IOException {
-    return read(new InputStreamReader(source));
+    final List<String> lines = new ArrayList<>(LINES);
+
+    // read all lines from source
+    decode(source, new TextHandler() {
+      @Override
+      public void handle(final String line) {
+        lines.add(line);
+      }
+    });
+
+    return lines;
   }
 
-  private static final List<String> read(final InputStreamReader input) throws IOException {
-    final List<String> lines = new ArrayList<>(LINES);
+  /**
+   * Reads lines from <code>source</code> lazily, one at a time, passing each
+   * to <code>handler</code>. Subclasses that override
+   * {@link #read(InputStream)} to provide a decoding scheme should override
+   * this method as well.
+   *
+   * @param source
+   * @param handler the <code>TextHandler</code> that receives each line
+   * @return the number of lines read
+   * @throws IOException if an I/O error occurs
+   */
+  public long read(final InputStream source, final TextHandler handler) throws IOException {
+    if (handler == null) {
+      throw new NullPointerException("Null handler");
+    }
+    return decode(source, handler);
+  }
+
+  /**
+   * Reads lines from a file as byte-backed <code>TextLine</code>s, passing
+   * each to <code>handler</code> as soon as it is read. Lines are neither
+   * decoded nor copied.
+   *
+   * @param source the <code>File</code> to read from
+   * @param handler the <code>TextLineHandler</code> that receives each line
+   * @return the number of lines read
+   * @throws FileNotFoundException if the file does not exist, is a directory
+   *           rather than a regular file, or for some other reason cannot be
+   *           opened for reading
+   * @throws IOException if an I/O error occurs
+   */
+  public long readLines(final File source, final TextLineHandler handler) throws FileNotFoundException, IOException {
+    logger.info("Reading from file: {}", source);
+
+    final long lines;
+    try (final FileInputStream fis = new FileInputStream(source)) {
+      lines = readLines(fis, handler);
+    }
+
+    logger.info("File read: {}", source);
+    return lines;
+  }
+
+  /**
+   * Reads lines from <code>source</code> as byte-backed <code>TextLine</code>s
+   * over a single read buffer, passing each to <code>handler</code>. Lines are
+   * neither decoded nor copied, and the same <code>TextLine</code> is reused
+   * for every line. Subclasses that override {@link #read(InputStream)} to
+   * provide a decoding scheme should override this method as well.
+   *
+   * @param source
+   * @param handler the <code>TextLineHandler</code> that receives each line
+   * @return the number of lines read
+   * @throws IOException if an I/O error occurs
+   */
+  public long readLines(final InputStream source, final TextLineHandler handler) throws IOException {
+    if (handler == null) {
+      throw new NullPointerException("Null handler");
+    }
+    return scan(source, handler);
+  }
+
+  private long decode(final InputStream source, final TextHandler handler) throws IOException {
+    return isSingleByte ? scan(source, new Decoder(handler))
+                        : read(new InputStreamReader(source, charset), handler);
+  }
+
+  private static final long scan(final InputStream source, final TextLineHandler handler) throws IOException {
+    long lines = 0;
 
-    // read all lines from input
+    final TextLine line = new TextLine(0);
+    byte[] buffer = new byte[BUFFER];
+    int start = 0;  // start of current line
+    int limit = 0;  // end of valid bytes
+    boolean skipLF = false;
+    try (final InputStream input = source) {
+      int read;
+      while ((read = input.read(buffer, limit, buffer.length - limit)) > -1) {
+        for (int i = limit; i < limit + read; ++i) {
+          final byte b = buffer[i];
+          if (skipLF) { // "\r\n"
+            skipLF = false;
+            if (b == LF) {
+              start = i + 1;
+              continue;
+            }
+          }
+          if (b == LF || b == CR) {
+            handler.handle(line.set(buffer, start, i - start));
+            ++lines;
+            skipLF = (b == CR);
+            start = i + 1;
+          }
+        }
+        limit += read;
+
+        // make room for the rest of the current line
+        if (start > 0) {
+          System.arraycopy(buffer, start, buffer, 0, limit - start);
+          limit -= start;
+          start = 0;
+        }
+        else if (limit == buffer.length) {
+          buffer = Arrays.copyOf(buffer, buffer.length << 1);
+        }
+      }
+      if (limit > start) { // last line without terminator
+        handler.handle(line.set(buffer, start, limit - start));
+        ++lines;
+      }
+    }
+    logger.debug("Lines read: {}", lines);
+
+    return lines;
+  }
+
+  private static final long read(final InputStreamReader input, final TextHandler handler) throws IOException {
+    long lines = 0;
+
+    // hand over each line as it is read
     try (final BufferedReader reader = new BufferedReader(input)) {
       String line;
       while ((line = reader.readLine()) != null) {
-        lines.add(line);
+        handler.handle(line);
+        ++lines;
       }
     }
+    logger.debug("Lines read: {}", lines);
 
     return lines;
   }
 
+  /**
+   * Decodes single-byte lines straight from the read buffer.
+   */
+  private final class Decoder implements TextLineHandler {
+
+    private final TextHandler handler;
+
+    Decoder(final TextHandler handler) {
+      this.handler = handler;
+    }
+
+    @Override
+    public void handle(final TextLine line) throws IOException {
+      handler.handle(line.toString(charset));
+    }
+
+  }
+
 }
@@ -5,8 +5,16 @@
  */
 package org.ikankechil.io;
 
-import java.util.Collections;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,10 +30,15 @@ public class TextTransformer {
   private final TextTransform transform;
   private final int           skippedRows;
   private final boolean       reverseOrder;
+  private final ForkJoinPool  pool;
+  private final Charset       charset;
+  private final byte[]        lineSeparator;
 
-  private static final String EMPTY  = "";
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+  private static final int    BUFFER         = 65536;
+  private static final int    THRESHOLD      = 1024;
 
-  private static final Logger logger = LoggerFactory.getLogger(TextTransformer.class);
+  private static final Logger logger         = LoggerFactory.getLogger(TextTransformer.class);
 
   public TextTransformer(final TextTransform transform) {
     // by default, no rows are skipped and source data order is kept "as-is"
@@ -38,17 +51,87 @@ public class TextTransformer {
    * @param reverseOrder if true, reverse the order of incoming source data
    */
   public TextTransformer(final TextTransform transform, final int skippedRows, final boolean reverseOrder) {
+    this(transform, skippedRows, reverseOrder, Charset.defaultCharset());
+  }
+
+  /**
+   * @param transform the <code>TextTransform</code> to apply
+   * @param skippedRows the number of rows to skip when transforming
+   * @param reverseOrder if true, reverse the order of incoming source data
+   * @param charset the <code>Charset</code> in which streamed text is decoded
+   *          and encoded
+   */
+  public TextTransformer(final TextTransform transform,
+                         final int skippedRows,
+                         final boolean reverseOrder,
+                         final Charset charset) {
+    // stateless transforms run in parallel on a shared pool
+    this(transform,
+         skippedRows,
+         reverseOrder,
+         (transform instanceof StatelessTextTransform) ? DefaultPool.POOL : null,
+         charset);
+  }
+
+  /**
+   * @param transform the <code>TextTransform</code> to apply
+   * @param skippedRows the number of rows to skip when transforming
+   * @param reverseOrder if true, reverse the order of incoming source data
+   * @param pool the <code>ForkJoinPool</code> on which lines are transformed
+   *          in parallel, or null to transform sequentially
+   * @throws IllegalArgumentException if <code>pool</code> is given but
+   *           <code>transform</code> is not a
+   *           <code>StatelessTextTransform</code>
+   */
+  public TextTransformer(final TextTransform transform, final int skippedRows, final boolean reverseOrder, final ForkJoinPool pool) {
+    this(transform, skippedRows, reverseOrder, pool, Charset.defaultCharset());
+  }
+
+  /**
+   * @param transform the <code>TextTransform</code> to apply
+   * @param skippedRows the number of rows to skip when transforming
+   * @param reverseOrder if true, reverse the order of incoming source data
+   * @param pool the <code>ForkJoinPool</code> on which lines are transformed
+   *          in parallel, or null to transform sequentially
+   * @param charset the <code>Charset</code> in which streamed text is decoded
+   *          and encoded
+   * @throws IllegalArgumentException if <code>pool</code> is given but
+   *           <code>transform</code> is not a
+   *           <code>StatelessTextTransform</code>
+   */
+  public TextTransformer(final TextTransform transform,
+                         final int skippedRows,
+                         final boolean reverseOrder,
+                         final ForkJoinPool pool,
+                         final Charset charset) {
     if (transform == null) {
       throw new NullPointerException("Null transform");
     }
+    if (charset == null) {
+      throw new NullPointerException("Null charset");
+    }
+    if (pool != null && !(transform instanceof StatelessTextTransform)) {
+      throw new IllegalArgumentException("Cannot transform in parallel with stateful transform: " + transform);
+    }
     this.transform = transform;
     this.skippedRows = (skippedRows < 0) ? 0 : skippedRows;
     this.reverseOrder = reverseOrder;
+    this.pool = pool;
+    this.charset = charset;
+    lineSeparator = LINE_SEPARATOR.getBytes(charset);
+  }
+
+  public Charset getCharset() {
+    return charset;
   }
 
   /**
    * Transforms in-place a series of lines into another. The default
-   * implementation transforms one line at a time.
+   * implementation transforms one line at a time, or ranges of lines in
+   * parallel for <code>StatelessTextTransform</code>s.
+   * <p>
+   * Lines are reversed and transformed in a single pass, swapping each line
+   * with its mirror. Skipped rows are removed in one go at the end.
    *
    * @param lines
    * @return the transformed <code>List</code> of <code>String</code>s
@@ -57,26 +140,202 @@ public class TextTransformer {
     // TextTransformer figures out which lines to transform and/or how many
     // lines to take in as input during each iteration, whereas TextTransform is
     // concerned with transforming each individual line
+    final int size = lines.size();
+    final int first = Math.min(skippedRows, size);
+    final int count = size - first;
 
-    // TODO optimise row skipping and line reversal
-    if (skippedRows > 0) {
-      lines.subList(0, skippedRows).clear();
+    if (pool != null && lines instanceof RandomAccess) {
+      // pairs of lines when reversing
+      pool.invoke(new ParallelTransform(lines, lines, first, 0, reverseOrder ? (count + 1) >>> 1 : count));
+      logger.debug("Transformed in parallel: {}", pool);
+    }
+    else { // in output order
+      for (int k = 0; k < count; ++k) {
+        final int i = first + k;
+        final int j = reverseOrder ? size - 1 - k : i;
+        if (i < j) { // move i to its mirror, to be transformed there later
+          final String line = lines.get(i);
+          lines.set(i, transform.transform(lines.get(j)));
+          lines.set(j, line);
+        }
+        else {
+          lines.set(i, transform.transform(lines.get(i)));
+        }
+      }
     }
     if (reverseOrder) {
-      Collections.reverse(lines);
       logger.debug("Reversed lines' order");
     }
-    lines.add(EMPTY);
-    // setting an element retrieves current value
-    String line = lines.set(0, EMPTY);
-    for (int i = 1; i < lines.size(); ++i) {
-      line = lines.set(i, transform.transform(line));
+
+    if (first > 0) {
+      lines.subList(0, first).clear();
     }
-    // remove redundant line
-    lines.remove(0);
     logger.info("Transformation complete");
 
     return lines;
   }
 
+  /**
+   * Transforms a series of lines, passing each transformed line to
+   * <code>sink</code> in output order. <code>lines</code> is left untouched:
+   * skipped rows and reversal are resolved by index, and
+   * <code>StatelessTextTransform</code>s transform in parallel into a pre-sized
+   * buffer.
+   *
+   * @param lines
+   * @param sink the <code>TextHandler</code> that receives each transformed
+   *          line
+   * @return the number of lines passed to <code>sink</code>
+   * @throws IOException if <code>sink</code> throws an I/O error
+   */
+  public long transform(final List<? extends String> lines, final TextHandler sink) throws IOException {
+    if (sink == null) {
+      throw new NullPointerException("Null sink");
+    }
+    final int size = lines.size();
+    final int first = Math.min(skippedRows, size);
+    final int count = size - first;
+
+    if (pool != null && lines instanceof RandomAccess) {
+      final List<String> results = Arrays.asList(new String[count]);
+      pool.invoke(new ParallelTransform(lines, results, first, 0, count));
+      logger.debug("Transformed in parallel: {}", pool);
+      for (final String result : results) {
+        sink.handle(result);
+      }
+    }
+    else {
+      for (int k = 0; k < count; ++k) {
+        sink.handle(transform.transform(lines.get(reverseOrder ? size - 1 - k : first + k)));
+      }
+    }
+    logger.info("Transformation complete");
+
+    return count;
+  }
+
+  /**
+   * Transforms lines read from <code>source</code> and writes them to
+   * <code>destination</code> one at a time. Lines are not retained, and when
+   * the transform is a <code>TextLineTransform</code>, neither are they
+   * decoded into nor encoded from <code>String</code>s. Otherwise lines are
+   * decoded and encoded in the charset of this transformer. Both streams are
+   * closed on completion.
+   *
+   * @param source the <code>InputStream</code> to read from
+   * @param destination the <code>OutputStream</code> to write to
+   * @return the number of lines written
+   * @throws IOException if an I/O error occurs
+   * @throws UnsupportedOperationException if the order of lines is to be
+   *           reversed
+   */
+  public long transform(final InputStream source, final OutputStream destination) throws IOException {
+    if (reverseOrder) {
+      throw new UnsupportedOperationException("Cannot reverse order of streamed lines");
+    }
+
+    final LineTransformer lineTransformer;
+    try (final BufferedOutputStream output = new BufferedOutputStream(destination, BUFFER)) {
+      lineTransformer = new LineTransformer(output);
+      new TextReader(charset).readLines(source, lineTransformer);
+    }
+    logger.info("Transformation complete");
+
+    return lineTransformer.lines;
+  }
+
+  /**
+   * Transforms a range of output indices, forking in halves until ranges are
+   * small enough to transform directly. When the destination is the source,
+   * lines are transformed in-place, and when reversing, each output index
+   * covers a line and its mirror.
+   */
+  private final class ParallelTransform extends RecursiveAction {
+
+    private final List<? extends String> source;
+    private final List<String>           destination;
+    private final int                    first;
+    private final int                    from;
+    private final int                    to;
+
+    private static final long            serialVersionUID = 1L;
+
+    ParallelTransform(final List<? extends String> source,
+                      final List<String> destination,
+                      final int first,
+                      final int from,
+                      final int to) {
+      this.source = source;
+      this.destination = destination;
+      this.first = first;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > THRESHOLD) {
+        final int middle = (from + to) >>> 1;
+        invokeAll(new ParallelTransform(source, destination, first, from, middle),
+                  new ParallelTransform(source, destination, first, middle, to));
+      }
+      else if (source == destination) {
+        final int last = destination.size() - 1;
+        for (int k = from; k < to; ++k) {
+          final int i = first + k;
+          final int j = reverseOrder ? last - k : i;
+          final String line = destination.get(i);
+          destination.set(i, transform.transform(destination.get(j)));
+          if (i < j) {
+            destination.set(j, transform.transform(line));
+          }
+        }
+      }
+      else {
+        final int last = source.size() - 1;
+        for (int k = from; k < to; ++k) {
+          destination.set(k, transform.transform(source.get(reverseOrder ? last - k : first + k)));
+        }
+      }
+    }
+
+  }
+
+  private static final class DefaultPool {
+    static final ForkJoinPool POOL = new ForkJoinPool();
+  }
+
+  private final class LineTransformer implements TextLineHandler {
+
+    private final OutputStream output;
+    private final TextLine     result  = new TextLine();
+    private long               skipped = 0;
+    long                       lines   = 0;
+
+    LineTransformer(final OutputStream output) {
+      this.output = output;
+    }
+
+    @Override
+    public void handle(final TextLine line) throws IOException {
+      if (skipped < skippedRows) {
+        ++skipped;
+        return;
+      }
+
+      result.clear();
+      if (transform instanceof TextLineTransform) {
+        ((TextLineTransform) transform).transform(line, result);
+      }
+      else { // decode, transform and encode
+        final byte[] bytes = transform.transform(line.toString(charset)).getBytes(charset);
+        result.append(bytes, 0, bytes.length);
+      }
+      result.writeTo(output);
+      output.write(lineSeparator);
+      ++lines;
+    }
+
+  }
+
 }
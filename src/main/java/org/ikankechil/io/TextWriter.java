@@ -6,11 +6,13 @@
 package org.ikankechil.io;
 
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
 import java.util.Collection;
 
 import org.slf4j.Logger;
@@ -18,13 +20,49 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Writes plain text to <code>File</code> or an <code>OutputStream</code>.
+ * <p>
+ * Text is encoded with the platform default charset unless another is
+ * given. US-ASCII and ISO-8859-1 text is encoded straight into a byte
+ * buffer rather than through a <code>Writer</code>.
  *
  * @author Daniel Kuan
  * @version 0.2
  */
 public class TextWriter {
 
-  private static final Logger logger = LoggerFactory.getLogger(TextWriter.class);
+  private final Charset        charset;
+  private final int            maxChar;
+
+  private static final Charset US_ASCII       = Charset.forName("US-ASCII");
+  private static final Charset ISO_8859_1     = Charset.forName("ISO-8859-1");
+  private static final int     MULTI_BYTE     = -1;
+
+  private static final String  LINE_SEPARATOR = System.getProperty("line.separator");
+  private static final byte    REPLACEMENT    = '?';
+  private static final int     BUFFER         = 8192;
+
+  private static final Logger  logger         = LoggerFactory.getLogger(TextWriter.class);
+
+  public TextWriter() {
+    this(Charset.defaultCharset());
+  }
+
+  /**
+   * @param charset the <code>Charset</code> used to encode text
+   */
+  public TextWriter(final Charset charset) {
+    if (charset == null) {
+      throw new NullPointerException("Null charset");
+    }
+    this.charset = charset;
+    maxChar = US_ASCII.equals(charset)   ? 0x7F :
+              ISO_8859_1.equals(charset) ? 0xFF :
+                                           MULTI_BYTE;
+  }
+
+  public Charset getCharset() {
+    return charset;
+  }
 
   /**
    * Writes a series of lines to a file as <code>String</code>s.
@@ -54,7 +92,12 @@ public class TextWriter {
    */
   public void write(final Collection<? extends String> lines, final OutputStream destination)
       throws IOException {
-    write(lines, new OutputStreamWriter(destination));
+    if (maxChar == MULTI_BYTE) {
+      write(lines, new OutputStreamWriter(destination, charset));
+    }
+    else {
+      write(lines, destination, maxChar);
+    }
   }
 
   private static final void write(final Collection<? extends String> lines, final OutputStreamWriter output)
@@ -69,6 +112,61 @@ public class TextWriter {
     logger.debug("Lines written: {}", lines.size());
   }
 
+  private static final void write(final Collection<? extends String> lines, final OutputStream destination, final int maxChar)
+      throws IOException {
+    // encode single-byte characters straight into the buffer
+    try (final SingleByteEncoder encoder = new SingleByteEncoder(destination, maxChar)) {
+      for (final String line : lines) {
+        encoder.write(line);
+        encoder.write(LINE_SEPARATOR);
+      }
+    }
+    logger.debug("Lines written: {}", lines.size());
+  }
+
+  private static final class SingleByteEncoder implements Closeable {
+
+    private final OutputStream output;
+    private final int          maxChar;
+    private final byte[]       buffer;
+    private int                size;
+
+    SingleByteEncoder(final OutputStream output, final int maxChar) {
+      this.output = output;
+      this.maxChar = maxChar;
+      buffer = new byte[BUFFER];
+      size = 0;
+    }
+
+    void write(final String text) throws IOException {
+      final int length = text.length();
+      for (int i = 0; i < length; ++i) {
+        if (size == buffer.length) {
+          output.write(buffer, 0, size);
+          size = 0;
+        }
+        final char c = text.charAt(i);
+        if (c <= maxChar) {
+          buffer[size++] = (byte) c;
+        }
+        else { // unmappable, replaced as per CharsetEncoder
+          buffer[size++] = REPLACEMENT;
+          if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+            ++i;
+          }
+        }
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try (final OutputStream o = output) {
+        o.write(buffer, 0, size);
+      }
+    }
+
+  }
+
 //  public void write(final Collection<byte[]> lines, final File destination, final int size)
 //      throws IOException {
 //    String path;
@@ -9,9 +9,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandlerFactory;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
@@ -29,37 +36,47 @@ import org.slf4j.LoggerFactory;
 public final class URLInputStreamFactory {
   // TODO
   // 1. evaluate cronet, jersey
-  // 2. support Brotli ("br"), SDCH ("sdch")?
+  // 2. [COMPLETED] support Brotli ("br") and Zstandard ("zstd") if available; SDCH ("sdch")?
   // 3. [COMPLETED] v0.4 support cookies
 
-  private static boolean        isTransparentEncoding;
+  private static boolean                           isTransparentEncoding;
 
-  private static final String[] OK_HTTP_CLIENTS      = { "okhttp3.OkHttpClient",
-                                                         "com.squareup.okhttp.OkHttpClient" };
-  private static final String[] OK_URL_FACTORIES     = { "okhttp3.OkUrlFactory",
-                                                         "com.squareup.okhttp.OkUrlFactory" };
+  private static final String[]                    OK_HTTP_CLIENTS      = { "okhttp3.OkHttpClient",
+                                                                            "com.squareup.okhttp.OkHttpClient" };
+  private static final String[]                    OK_URL_FACTORIES     = { "okhttp3.OkUrlFactory",
+                                                                            "com.squareup.okhttp.OkUrlFactory" };
 
-  private static final String   FACTORY              = "factory";
-  private static final String   HEADERS              = "headers";
+  private static final String                      FACTORY              = "factory";
+  private static final String                      HEADERS              = "headers";
 
   // HTTP encoding schemes
-  private static final String   GZIP                 = "gzip";
-  private static final String   DEFLATE              = "deflate";
-  private static final String   SCHEMES              = GZIP + ',' + DEFLATE;
-  private static final String   CHUNKED              = "chunked";
+  private static final String                      GZIP                 = "gzip";
+  private static final String                      X_GZIP               = "x-gzip";
+  private static final String                      DEFLATE              = "deflate";
+  private static final String                      BROTLI               = "br";
+  private static final String                      ZSTD                 = "zstd";
+  private static final String                      IDENTITY             = "identity";
+  private static final String                      CHUNKED              = "chunked";
+  private static final char                        COMMA                = ',';
+
+  // decoders by encoding scheme
+  private static final Map<String, ContentDecoder> DECODERS             = new ConcurrentHashMap<>();
+  // optional decoders, used if available
+  private static final String[][]                  OPTIONAL_DECODERS    = { { BROTLI, "org.brotli.dec.BrotliInputStream" },
+                                                                            { ZSTD, "com.github.luben.zstd.ZstdInputStream" } };
 
   // HTTP headers
-  private static final String   ACCEPT_ENCODING      = "Accept-Encoding";
-  private static final String   CONTENT_ENCODING     = "Content-Encoding";
-  private static final String   TRANSFER_ENCODING    = "Transfer-Encoding";
-  private static final String   CONTENT_RANGE        = "Content-Range";
-  private static final String   COOKIE               = "Cookie";
+  private static final String                      ACCEPT_ENCODING      = "Accept-Encoding";
+  private static final String                      CONTENT_ENCODING     = "Content-Encoding";
+  private static final String                      TRANSFER_ENCODING    = "Transfer-Encoding";
+  private static final String                      CONTENT_RANGE        = "Content-Range";
+  private static final String                      COOKIE               = "Cookie";
 
-  private static final int      BUFFER_SIZE          = 65536;
-  private static final String   TRANSPARENT_ENCODING = "Transparent Encoding: {}";
-  private static final String   URL_CONNECTION       = "URLConnection {}: {}";
+  private static final int                         BUFFER_SIZE          = 65536;
+  private static final String                      TRANSPARENT_ENCODING = "Transparent Encoding: {}";
+  private static final String                      URL_CONNECTION       = "URLConnection {}: {}";
 
-  private static final Logger   logger               = LoggerFactory.getLogger(URLInputStreamFactory.class);
+  private static final Logger                      logger               = LoggerFactory.getLogger(URLInputStreamFactory.class);
 
   private URLInputStreamFactory() { /* disallow instantiation */ }
 
@@ -99,6 +116,59 @@ public final class URLInputStreamFactory {
     }
   }
 
+  static { // built-in decoders, then optional ones if available
+    final ContentDecoder gzip = new ContentDecoder() {
+      @Override
+      public InputStream decode(final InputStream encoded) throws IOException {
+        return new GZIPInputStream(encoded, BUFFER_SIZE);
+      }
+    };
+    DECODERS.put(GZIP, gzip);
+    DECODERS.put(X_GZIP, gzip);
+    DECODERS.put(DEFLATE, new ContentDecoder() {
+      @Override
+      public InputStream decode(final InputStream encoded) {
+        return new InflaterInputStream(encoded, new Inflater(), BUFFER_SIZE);
+      }
+    });
+
+    for (final String[] decoder : OPTIONAL_DECODERS) {
+      try {
+        final Class<? extends InputStream> decoderClass = Class.forName(decoder[1]).asSubclass(InputStream.class);
+        DECODERS.put(decoder[0], new ReflectiveDecoder(decoderClass.getConstructor(InputStream.class)));
+        logger.info("Decoding {} with {}", decoder[0], decoder[1]);
+      }
+      catch (final ReflectiveOperationException |
+                   ClassCastException |
+                   SecurityException e) {
+        logger.debug("{} unavailable", decoder[1]);
+      }
+    }
+  }
+
+  /**
+   * Registers a decoder for a <code>Content-Encoding</code>, replacing any
+   * registered for the same encoding. Registered encodings are advertised in
+   * the <code>Accept-Encoding</code> of subsequent requests.
+   *
+   * @param encoding the content encoding, e.g. <code>br</code>
+   * @param decoder the <code>ContentDecoder</code> for <code>encoding</code>
+   */
+  public static final void registerDecoder(final String encoding, final ContentDecoder decoder) {
+    if (decoder == null) {
+      throw new NullPointerException("Null decoder");
+    }
+    DECODERS.put(encoding.trim().toLowerCase(Locale.ROOT), decoder);
+    logger.info("Decoder registered for: {}", encoding);
+  }
+
+  /**
+   * @return the content encodings that can be decoded
+   */
+  public static final Set<String> getDecodableEncodings() {
+    return Collections.unmodifiableSet(new TreeSet<>(DECODERS.keySet()));
+  }
+
   /**
    * Creates an input stream that reads from a <code>URL</code>.
    *
@@ -125,10 +195,23 @@ public final class URLInputStreamFactory {
   }
 
   private static InputStream createInputStream(final URL source, final String cookie) throws IOException {
-    final URLConnection connection = source.openConnection();
+    return newInputStream(source.openConnection(), cookie);
+  }
+
+  /**
+   * Creates an input stream that reads from an unconnected
+   * <code>URLConnection</code>, decoding its content as necessary.
+   *
+   * @param connection the <code>URLConnection</code> to read from
+   * @param cookie the cookie to send, if any
+   * @return an input stream that reads from <code>connection</code>
+   * @throws IOException
+   *           if an I/O error occurs while creating the input stream
+   */
+  static InputStream newInputStream(final URLConnection connection, final String cookie) throws IOException {
     if (!isTransparentEncoding) {
       // does not work well with OkHttp
-      connection.setRequestProperty(ACCEPT_ENCODING, SCHEMES);
+      connection.setRequestProperty(ACCEPT_ENCODING, acceptEncoding());
       connection.setRequestProperty(TRANSFER_ENCODING, CHUNKED);
     }
     logger.debug(TRANSPARENT_ENCODING, isTransparentEncoding);
@@ -145,9 +228,81 @@ public final class URLInputStreamFactory {
     logger.debug(URL_CONNECTION, CONTENT_RANGE, connection.getHeaderField(CONTENT_RANGE));
     logger.trace(URL_CONNECTION, HEADERS, connection.getHeaderFields());
 
-    return GZIP.equals(contentEncoding)    ? new GZIPInputStream(connection.getInputStream(), BUFFER_SIZE) :
-           DEFLATE.equals(contentEncoding) ? new InflaterInputStream(connection.getInputStream(), new Inflater(), BUFFER_SIZE) :
-                                             connection.getInputStream();
+    return decode(connection.getInputStream(), contentEncoding);
+  }
+
+  /**
+   * Decodes a stream as per its <code>Content-Encoding</code>. Streams in an
+   * unknown encoding are returned as-is.
+   *
+   * @param encoded the encoded <code>InputStream</code>
+   * @param contentEncoding the value of the <code>Content-Encoding</code>
+   *          header, possibly null
+   * @return an <code>InputStream</code> that reads decoded content
+   * @throws IOException if the stream cannot be decoded
+   */
+  static InputStream decode(final InputStream encoded, final String contentEncoding) throws IOException {
+    if (contentEncoding == null) {
+      return encoded;
+    }
+
+    // decoders for encodings in the order they were applied
+    final String[] encodings = contentEncoding.split(String.valueOf(COMMA));
+    final ContentDecoder[] decoders = new ContentDecoder[encodings.length];
+    for (int i = 0; i < encodings.length; ++i) {
+      final String encoding = encodings[i].trim().toLowerCase(Locale.ROOT);
+      if (!encoding.isEmpty() && !IDENTITY.equals(encoding) &&
+          (decoders[i] = DECODERS.get(encoding)) == null) {
+        logger.warn("Unsupported {}: {}", CONTENT_ENCODING, contentEncoding);
+        return encoded;
+      }
+    }
+
+    // undo the last encoding first
+    InputStream decoded = encoded;
+    for (int i = decoders.length - 1; i >= 0; --i) {
+      if (decoders[i] != null) {
+        decoded = decoders[i].decode(decoded);
+      }
+    }
+    return decoded;
+  }
+
+  private static final String acceptEncoding() {
+    final StringBuilder acceptEncoding = new StringBuilder();
+    for (final String encoding : DECODERS.keySet()) {
+      if (!X_GZIP.equals(encoding)) {
+        acceptEncoding.append(encoding).append(COMMA);
+      }
+    }
+    return acceptEncoding.substring(0, acceptEncoding.length() - 1);
+  }
+
+  /**
+   * Decodes by instantiating a decoding <code>InputStream</code>.
+   */
+  private static final class ReflectiveDecoder implements ContentDecoder {
+
+    private final Constructor<? extends InputStream> constructor;
+
+    ReflectiveDecoder(final Constructor<? extends InputStream> constructor) {
+      this.constructor = constructor;
+    }
+
+    @Override
+    public InputStream decode(final InputStream encoded) throws IOException {
+      try {
+        return constructor.newInstance(encoded);
+      }
+      catch (final InvocationTargetException itE) {
+        final Throwable cause = itE.getCause();
+        throw (cause instanceof IOException) ? (IOException) cause : new IOException(cause);
+      }
+      catch (final ReflectiveOperationException roE) {
+        throw new IOException(roE);
+      }
+    }
+
   }
 
 }
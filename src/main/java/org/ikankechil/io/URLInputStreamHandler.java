@@ -0,0 +1,38 @@
+/**
+ * URLInputStreamHandler.java  v0.1  18 October 2026 2:48:33 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * Receives the input streams of <code>URL</code>s fetched asynchronously, as
+ * and when each is fetched.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface URLInputStreamHandler {
+
+  /**
+   * Handles an input stream, which is closed once handled.
+   *
+   * @param source the source <code>URL</code>
+   * @param is the input stream that reads from <code>source</code>
+   * @throws IOException if an I/O error occurs
+   */
+  public void handle(final URL source, final InputStream is) throws IOException;
+
+  /**
+   * Handles a failure to fetch, after all retries.
+   *
+   * @param source the source <code>URL</code>
+   * @param ioE the last I/O error encountered
+   */
+  public void fail(final URL source, final IOException ioE);
+
+}
@@ -0,0 +1,29 @@
+/**
+ * ZipEntryHandler.java  v0.1  17 October 2026 10:02:18 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives the lines of ZIP entries one entry at a time, as and when each
+ * entry is read.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface ZipEntryHandler {
+
+  /**
+   * Handles the lines of an entry.
+   *
+   * @param entry the name of the entry
+   * @param lines the <code>String</code>s read from the entry
+   * @throws IOException if an I/O error occurs
+   */
+  public void handle(final String entry, final List<String> lines) throws IOException;
+
+}
@@ -5,9 +5,28 @@
  */
 package org.ikankechil.io;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.slf4j.Logger;
@@ -15,20 +34,208 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Reads text encoded in the ZIP format.
+ * <p>
+ * Streams are read as they arrive, hence only their first entry is read. All
+ * entries of a ZIP file can be read with <code>readEntries</code>, which
+ * decompresses them in parallel.
  *
  * @author Daniel Kuan
  * @version 0.1
  */
 public class ZipTextReader extends TextReader {
 
-  private static final Logger logger = LoggerFactory.getLogger(ZipTextReader.class);
+  private final ExecutorService executor;
+
+  private static final int      PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+  private static final Logger   logger     = LoggerFactory.getLogger(ZipTextReader.class);
+
+  public ZipTextReader() {
+    this(Charset.defaultCharset());
+  }
+
+  /**
+   * @param charset the <code>Charset</code> in which ZIP entries are encoded
+   */
+  public ZipTextReader(final Charset charset) {
+    super(charset);
+    // a pool is started for each ZIP file read
+    executor = null;
+  }
+
+  /**
+   * @param charset the <code>Charset</code> in which ZIP entries are encoded
+   * @param executor the <code>ExecutorService</code> on which entries are
+   *          decompressed, left running after reading
+   */
+  public ZipTextReader(final Charset charset, final ExecutorService executor) {
+    super(charset);
+    if (executor == null) {
+      throw new NullPointerException("Null executor");
+    }
+    this.executor = executor;
+  }
 
   @Override
   public List<String> read(final InputStream source) throws IOException {
+    return super.read(newZipInputStream(source));
+  }
+
+  @Override
+  public long read(final InputStream source, final TextHandler handler) throws IOException {
+    return super.read(newZipInputStream(source), handler);
+  }
+
+  @Override
+  public long readLines(final InputStream source, final TextLineHandler handler) throws IOException {
+    return super.readLines(newZipInputStream(source), handler);
+  }
+
+  /**
+   * Reads all entries of a ZIP file, decompressing them in parallel.
+   * Directories are skipped.
+   *
+   * @param source the ZIP <code>File</code> to read from
+   * @return the lines of each entry, keyed by entry name in archive order
+   * @throws IOException if an I/O error occurs
+   */
+  public Map<String, List<String>> readEntries(final File source) throws IOException {
+    final Map<String, List<String>> entries = new LinkedHashMap<>();
+    readEntries(source, entries, null);
+    return entries;
+  }
+
+  /**
+   * Reads all entries of a ZIP file, decompressing them in parallel.
+   * Directories are skipped. Each entry is handed over on the calling thread
+   * as soon as it has been read, hence not necessarily in archive order.
+   *
+   * @param source the ZIP <code>File</code> to read from
+   * @param handler the <code>ZipEntryHandler</code> to hand entries over to
+   * @return the number of entries read
+   * @throws IOException if an I/O error occurs
+   */
+  public int readEntries(final File source, final ZipEntryHandler handler) throws IOException {
+    if (handler == null) {
+      throw new NullPointerException("Null handler");
+    }
+    return readEntries(source, null, handler);
+  }
+
+  private int readEntries(final File source,
+                          final Map<String, List<String>> entries,
+                          final ZipEntryHandler handler)
+      throws IOException {
+    logger.info("Reading ZIP file: {}", source);
+
+    int read = 0;
+    try (final ZipFile zip = new ZipFile(source)) { // UTF-8 entry names, as ZipInputStream
+      final ExecutorService pool = (executor != null) ? executor
+                                                      : Executors.newFixedThreadPool(Math.max(1, Math.min(PROCESSORS, zip.size())));
+      final CompletionService<Entry<String, List<String>>> completions = new ExecutorCompletionService<>(pool);
+      final List<Future<Entry<String, List<String>>>> futures = new ArrayList<>(zip.size());
+      // entries being read, terminated once none are and the ZIP file closes
+      final Phaser running = new Phaser(1);
+      try {
+        for (final Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+          final ZipEntry entry = e.nextElement();
+          if (!entry.isDirectory()) {
+            futures.add(completions.submit(new EntryReader(zip, entry, running)));
+          }
+        }
+
+        if (handler == null) { // in archive order
+          for (final Future<Entry<String, List<String>>> future : futures) {
+            final Entry<String, List<String>> entry = get(future);
+            entries.put(entry.getKey(), entry.getValue());
+            ++read;
+          }
+        }
+        else { // in order of completion
+          for (; read < futures.size(); ++read) {
+            final Entry<String, List<String>> entry = get(completions.take());
+            handler.handle(entry.getKey(), entry.getValue());
+          }
+        }
+      }
+      catch (final InterruptedException iE) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while reading ZIP entries");
+      }
+      finally {
+        // stop outstanding entries before the ZIP file is closed
+        for (final Future<?> future : futures) {
+          future.cancel(true);
+        }
+        if (pool != executor) {
+          pool.shutdown();
+        }
+        // and wait for those already reading, on whichever executor
+        running.awaitAdvance(running.arriveAndDeregister());
+      }
+    }
+
+    logger.info("ZIP entries read: {}", read);
+    return read;
+  }
+
+  private static final <V> V get(final Future<V> future) throws IOException, InterruptedException {
+    try {
+      return future.get();
+    }
+    catch (final ExecutionException eE) {
+      final Throwable cause = eE.getCause();
+      logger.warn("Cannot read ZIP entry.  Cause: {}", cause, eE);
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IOException(cause);
+    }
+  }
+
+  private static final ZipInputStream newZipInputStream(final InputStream source) throws IOException {
     final ZipInputStream zip = new ZipInputStream(source);
-    // assume only one Zip entry
+    // streams are read one entry at a time: only read the first
     logger.info("ZIP file entry: {}", zip.getNextEntry().getName());
-    return super.read(zip);
+    return zip;
+  }
+
+  /**
+   * Decompresses and reads a single ZIP entry.
+   */
+  private final class EntryReader implements Callable<Entry<String, List<String>>> {
+
+    private final ZipFile  zip;
+    private final ZipEntry entry;
+    private final Phaser   running;
+
+    EntryReader(final ZipFile zip, final ZipEntry entry, final Phaser running) {
+      this.zip = zip;
+      this.entry = entry;
+      this.running = running;
+    }
+
+    @Override
+    public Entry<String, List<String>> call() throws IOException {
+      if (running.register() < 0) {
+        throw new InterruptedIOException("ZIP file closed: " + entry.getName());
+      }
+      try {
+        final List<String> lines = ZipTextReader.super.read(zip.getInputStream(entry));
+        logger.debug("ZIP entry read: {} ({} lines)", entry.getName(), lines.size());
+        return new SimpleImmutableEntry<>(entry.getName(), lines);
+      }
+      finally {
+        running.arriveAndDeregister();
+      }
+    }
+
   }
 
 }
@@ -0,0 +1,108 @@
+/**
+ * AdaptiveThrottle.java  v0.1  18 October 2026 4:23:19 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>Throttle</code> that limits the number of tasks running at any one
+ * time to a limit that adapts to how well they fare, by additive increase,
+ * multiplicative decrease (AIMD) as in TCP congestion control.
+ * <p>
+ * The limit grows by one for each limit's worth of tasks that succeed within
+ * the latency threshold, and shrinks by a fixed ratio for each task that
+ * fails, times out or overruns the threshold. It thereby settles at about
+ * the highest concurrency a remote source tolerates, and backs off as soon
+ * as the source shows signs of strain.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class AdaptiveThrottle implements Throttle {
+
+  private final int           minLimit;
+  private final int           maxLimit;
+  private final long          latencyThreshold; // nanoseconds
+  private final double        backoffRatio;
+  private double              limit;
+  private int                 inFlight;
+
+  // defaults
+  private static final double BACKOFF_RATIO = 0.9;
+
+  /**
+   * @param initialLimit the initial limit
+   * @param minLimit the minimum limit
+   * @param maxLimit the maximum limit
+   * @param latencyThreshold the latency beyond which a task is taken as a
+   *          sign of strain
+   * @param unit the time unit of the latencyThreshold argument
+   */
+  public AdaptiveThrottle(final int initialLimit,
+                          final int minLimit,
+                          final int maxLimit,
+                          final long latencyThreshold,
+                          final TimeUnit unit) {
+    this(initialLimit, minLimit, maxLimit, latencyThreshold, unit, BACKOFF_RATIO);
+  }
+
+  /**
+   * @param initialLimit the initial limit
+   * @param minLimit the minimum limit
+   * @param maxLimit the maximum limit
+   * @param latencyThreshold the latency beyond which a task is taken as a
+   *          sign of strain
+   * @param unit the time unit of the latencyThreshold argument
+   * @param backoffRatio the ratio by which the limit is multiplied on strain
+   */
+  public AdaptiveThrottle(final int initialLimit,
+                          final int minLimit,
+                          final int maxLimit,
+                          final long latencyThreshold,
+                          final TimeUnit unit,
+                          final double backoffRatio) {
+    if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Limits out of order: " + minLimit + " <= " + initialLimit + " <= " + maxLimit);
+    }
+    if (latencyThreshold <= 0) {
+      throw new IllegalArgumentException("Non-positive latency threshold: " + latencyThreshold);
+    }
+    if (!(backoffRatio > 0 && backoffRatio < 1)) {
+      throw new IllegalArgumentException("Backoff ratio not between 0 and 1: " + backoffRatio);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.latencyThreshold = unit.toNanos(latencyThreshold);
+    this.backoffRatio = backoffRatio;
+    limit = initialLimit;
+    inFlight = 0;
+  }
+
+  @Override
+  public synchronized void acquire() throws InterruptedException {
+    while (inFlight >= (int) limit) {
+      wait();
+    }
+    ++inFlight;
+  }
+
+  @Override
+  public synchronized void release(final long latency, final boolean isSuccessful) {
+    --inFlight;
+    limit = (isSuccessful && latency <= latencyThreshold) ? Math.min(maxLimit, limit + 1 / limit)
+                                                          : Math.max(minLimit, limit * backoffRatio);
+    notifyAll();
+  }
+
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  public synchronized int getInFlight() {
+    return inFlight;
+  }
+
+}
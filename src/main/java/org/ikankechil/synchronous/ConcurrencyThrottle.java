@@ -0,0 +1,51 @@
+/**
+ * ConcurrencyThrottle.java  v0.1  18 October 2026 4:18:45 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A <code>Throttle</code> that limits the number of tasks running at any one
+ * time, independently of the number of threads available to run them.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class ConcurrencyThrottle implements Throttle {
+
+  private final int       maxInFlight;
+  private final Semaphore permits;
+
+  /**
+   * @param maxInFlight the maximum number of tasks running at any one time
+   */
+  public ConcurrencyThrottle(final int maxInFlight) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("Non-positive maximum in flight: " + maxInFlight);
+    }
+    this.maxInFlight = maxInFlight;
+    permits = new Semaphore(maxInFlight, true);
+  }
+
+  @Override
+  public void acquire() throws InterruptedException {
+    permits.acquire();
+  }
+
+  @Override
+  public void release(final long latency, final boolean isSuccessful) {
+    permits.release();
+  }
+
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  public int getInFlight() {
+    return maxInFlight - permits.availablePermits();
+  }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * Deadline.java  v0.1  18 October 2026 5:06:18 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The deadline of the task running on the current thread, for tasks to pass
+ * on to whatever they wait on, e.g. as a connect or read timeout, or to give
+ * up early.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @see TimedTaskHelper
+ */
+public final class Deadline {
+
+  // System.nanoTime() by which the current task must finish
+  private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+  private Deadline() { /* disallow instantiation */ }
+
+  /**
+   * @param unit the time unit of the result
+   * @return the time remaining until the deadline of the current task, 0 if
+   *         it has passed, or <code>Long.MAX_VALUE</code> if it has none
+   */
+  public static long getRemainingTime(final TimeUnit unit) {
+    final Long deadline = DEADLINE.get();
+    return (deadline == null) ? Long.MAX_VALUE
+                              : unit.convert(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @return true if the current task has a deadline that has passed
+   */
+  public static boolean hasExpired() {
+    final Long deadline = DEADLINE.get();
+    return deadline != null && deadline - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Sets the deadline of the current task, unless that of an enclosing task
+   * is earlier.
+   *
+   * @param timeout nanoseconds from now
+   * @return the previous deadline, to be restored once the task finishes
+   */
+  static Long set(final long timeout) {
+    final Long previous = DEADLINE.get();
+    final long now = System.nanoTime();
+    long deadline = now + timeout;
+    if (timeout > 0 && deadline - now < 0) {
+      // saturate rather than overflow (nanoTime() may be negative, so
+      // compare differences rather than absolute values)
+      deadline = now + Long.MAX_VALUE;
+    }
+    if (previous == null || deadline - previous < 0) {
+      DEADLINE.set(deadline);
+    }
+    return previous;
+  }
+
+  static void restore(final Long previous) {
+    if (previous == null) {
+      DEADLINE.remove();
+    }
+    else {
+      DEADLINE.set(previous);
+    }
+  }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * LatencyHistogram.java  v0.1  18 October 2026 8:05:37 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in log-linear buckets, after HdrHistogram: each
+ * power of two is split into a fixed number of equal sub-buckets, so that
+ * percentiles are reported to within a fixed relative error, 1 / 8 or 12.5%,
+ * over the whole range of a <code>long</code> in constant space.
+ * <p>
+ * Latencies are recorded without locking, and so may be recorded by several
+ * threads at once. Percentiles are read off a histogram while it is being
+ * recorded to, and are therefore approximate.
+ * <p>
+ * HdrHistogram itself is not a dependency: the few percentiles reported by
+ * <code>TaskMetrics</code> do not warrant another library on the classpath of
+ * every user of <code>TaskExecutor</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class LatencyHistogram {
+
+  private final AtomicLongArray counts;
+  private final AtomicLong      count;
+  private final AtomicLong      sum;
+  private final AtomicLong      max;
+
+  private static final int      SUB_BUCKET_BITS = 3;
+  private static final int      SUB_BUCKETS     = 1 << SUB_BUCKET_BITS;
+  private static final int      BUCKETS         = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  public LatencyHistogram() {
+    counts = new AtomicLongArray(BUCKETS);
+    count = new AtomicLong();
+    sum = new AtomicLong();
+    max = new AtomicLong();
+  }
+
+  /**
+   * @param latency a latency in nanoseconds; negative latencies count as 0
+   */
+  public void record(final long latency) {
+    final long value = Math.max(0, latency);
+    counts.incrementAndGet(index(value));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+    for (long m; value > (m = max.get()) && !max.compareAndSet(m, value);) {
+      // lost the race, try again
+    }
+  }
+
+  /**
+   * @return the number of latencies recorded
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * @param unit the time unit of the result
+   * @return the mean latency, or 0 if none have been recorded
+   */
+  public double getMean(final TimeUnit unit) {
+    final long n = count.get();
+    return (n == 0) ? 0 : (double) sum.get() / n / unit.toNanos(1);
+  }
+
+  /**
+   * @param unit the time unit of the result
+   * @return the maximum latency, or 0 if none have been recorded
+   */
+  public long getMax(final TimeUnit unit) {
+    return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param percentile the percentile, between 0 and 100
+   * @param unit the time unit of the result
+   * @return the latency at or below which <code>percentile</code>% of
+   *         latencies lie, rounded up to the upper bound of its bucket, or 0
+   *         if none have been recorded
+   * @throws IllegalArgumentException if <code>percentile</code> is out of
+   *           range
+   */
+  public long getPercentile(final double percentile, final TimeUnit unit) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile not between 0 and 100: " + percentile);
+    }
+    final long n = count.get();
+    if (n == 0) {
+      return 0;
+    }
+    final long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return unit.convert(Math.min(upperBound(i), max.get()), TimeUnit.NANOSECONDS);
+      }
+    }
+    return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; ++i) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+
+  /**
+   * Values below <code>SUB_BUCKETS</code> have a bucket each; above that, each
+   * power of two has <code>SUB_BUCKETS</code> buckets.
+   */
+  static int index(final long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    final int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value); // >= SUB_BUCKET_BITS
+    final int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBound(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+    final long width = 1L << (magnitude - SUB_BUCKET_BITS);
+    final long lowerBound = (1L << magnitude) + (index % SUB_BUCKETS) * width;
+    return lowerBound + (width - 1);
+  }
+
+}
@@ -0,0 +1,66 @@
+/**
+ * MeasuredTask.java  v0.1  18 October 2026 8:29:40 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A task whose outcome and latency are recorded in <code>TaskMetrics</code>,
+ * those of its executor overall as well as those of its batch. A task run
+ * through a <code>TaskCompletionService</code> and cancelled is left to
+ * whoever handles the cancellation, so that it is counted but once. Tasks
+ * interrupted otherwise, e.g. on shutdown, count by how they finish.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <V> the result type
+ */
+final class MeasuredTask<V> implements Callable<V> {
+
+  private final Callable<V>   task;
+  private final TaskMetrics[] metrics;
+
+  MeasuredTask(final Callable<V> task, final TaskMetrics... metrics) {
+    if (task == null) {
+      throw new NullPointerException();
+    }
+    this.task = task;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public V call() throws Exception {
+    final long start = System.nanoTime();
+    try {
+      final V result = task.call();
+      if (!TaskCompletionService.claimRunning()) {
+        return result;
+      }
+      final long latency = System.nanoTime() - start;
+      for (final TaskMetrics m : metrics) {
+        m.succeeded(latency);
+      }
+      return result;
+    }
+    catch (final Exception e) {
+      if (!TaskCompletionService.claimRunning()) {
+        throw e;
+      }
+      final long latency = System.nanoTime() - start;
+      for (final TaskMetrics m : metrics) {
+        if (e instanceof TimeoutException) {
+          m.timedOut(latency);
+        }
+        else {
+          m.failed(latency);
+        }
+      }
+      throw e;
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+/**
+ * Prioritised.java  v0.1  18 October 2026 6:44:31 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+/**
+ * A task, or a <code>Future</code> of one, with a priority by which it waits in
+ * line on a priority executor.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @see PriorityTaskHelper
+ */
+interface Prioritised {
+
+  /**
+   * @return the priority in aging quanta; lower values run first
+   */
+  long getPriority();
+
+}
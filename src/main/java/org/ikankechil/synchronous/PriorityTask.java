@@ -0,0 +1,40 @@
+/**
+ * PriorityTask.java  v0.1  18 October 2026 6:46:12 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A task with a priority, by which it waits in line on a priority executor.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <V> the result type
+ */
+final class PriorityTask<V> implements Callable<V>, Prioritised {
+
+  private final Callable<V> task;
+  private final long        priority;
+
+  PriorityTask(final Callable<V> task, final long priority) {
+    if (task == null) {
+      throw new NullPointerException();
+    }
+    this.task = task;
+    this.priority = priority;
+  }
+
+  @Override
+  public V call() throws Exception {
+    return task.call();
+  }
+
+  @Override
+  public long getPriority() {
+    return priority;
+  }
+
+}
@@ -0,0 +1,32 @@
+/**
+ * PriorityTaskHelper.java  v0.1  18 October 2026 6:41:08 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+/**
+ * A <code>TaskHelper</code> that assigns each task a priority, by which tasks
+ * wait in line on an executor created by
+ * {@link TaskExecutor#newPriorityExecutor(int, long, java.util.concurrent.TimeUnit)}
+ * , e.g. so that urgent operands go ahead of bulk backfills under load.
+ * <p>
+ * Priorities are measured in aging quanta: a task waits behind tasks of lower
+ * priority submitted up to as many quanta after it, but no longer, so that
+ * tasks of high priority values are never starved. Returning the time left
+ * until an operand's deadline, in quanta, runs tasks earliest deadline first.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <K> the operand type
+ * @param <V> the result type
+ */
+public interface PriorityTaskHelper<K, V> extends TaskHelper<K, V> {
+
+  /**
+   * @param operand the operand associated with the task
+   * @return the priority of the task in aging quanta; lower values run first
+   */
+  public long getPriority(final K operand);
+
+}
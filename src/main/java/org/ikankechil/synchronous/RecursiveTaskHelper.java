@@ -0,0 +1,44 @@
+/**
+ * RecursiveTaskHelper.java  v0.1  18 October 2026 5:31:09 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A <code>TaskHelper</code> for divide-and-conquer workloads, e.g. splitting
+ * large files or scanning directory trees, that splits operands into smaller
+ * ones until they are small enough for a task of their own, then combines
+ * the results of those tasks.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <K> the operand type
+ * @param <V> the result type
+ */
+public interface RecursiveTaskHelper<K, V> extends TaskHelper<K, V> {
+
+  /**
+   * Splits an operand into smaller ones.
+   *
+   * @param operand the operand to split
+   * @return the smaller operands, or an empty collection if
+   *         <code>operand</code> is small enough to be computed by the task
+   *         created by <code>newTask</code>
+   */
+  public Collection<? extends K> split(final K operand);
+
+  /**
+   * Combines the results of the smaller operands that an operand was split
+   * into.
+   *
+   * @param operand the operand that was split
+   * @param results the results of the smaller operands, in the order split
+   * @return the result of <code>operand</code>
+   */
+  public V combine(final K operand, final List<V> results);
+
+}
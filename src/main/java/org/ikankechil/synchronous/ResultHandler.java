@@ -0,0 +1,28 @@
+/**
+ * ResultHandler.java  v0.1  18 October 2026 3:42:27 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+/**
+ * Receives the results of tasks one at a time, as and when each task
+ * completes.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <K> the operand type
+ * @param <V> the result type
+ */
+public interface ResultHandler<K, V> {
+
+  /**
+   * Handles the result of a task, or the result returned by
+   * <code>TaskHelper</code> for a failed, cancelled or timed out task.
+   *
+   * @param operand the operand associated with the task
+   * @param result the result of the task
+   */
+  public void handle(final K operand, final V result);
+
+}
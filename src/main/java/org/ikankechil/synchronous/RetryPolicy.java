@@ -0,0 +1,176 @@
+/**
+ * RetryPolicy.java  v0.1  18 October 2026 7:12:26 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How a <code>TaskExecutor</code> retries failed tasks: up to a maximum number
+ * of attempts, with exponential backoff and jitter between attempts, for
+ * failures deemed retryable. Subclasses override <code>isRetryable</code> to
+ * single out failures not worth retrying.
+ * <p>
+ * Policies may also hedge attempts: each attempt runs on a separate hedging
+ * pool and, if it has yet to finish by a given percentile of recent attempt
+ * latencies, a duplicate is launched, with whichever finishes first winning.
+ * Hedging trims the tail of task latencies at the cost of a few duplicate
+ * attempts, and suits idempotent tasks, e.g. downloads, only.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class RetryPolicy {
+
+  private final int             maxAttempts;
+  private final long            initialBackoff;    // nanoseconds
+  private final long            maxBackoff;        // nanoseconds
+  private final double          hedgingPercentile;
+  private final ExecutorService hedgingPool;
+
+  // latencies of recent successful attempts
+  private final long[]          latencies;
+  private int                   samples;
+
+  private final AtomicLong      retries;
+  private final AtomicLong      hedges;
+
+  private static final int      LATENCIES   = 256;
+  private static final int      MIN_SAMPLES = 16;
+
+  /**
+   * @param maxAttempts the maximum number of attempts, including the first
+   * @param initialBackoff the backoff before the first retry
+   * @param maxBackoff the maximum backoff
+   * @param unit the time unit of the backoff arguments
+   */
+  public RetryPolicy(final int maxAttempts,
+                     final long initialBackoff,
+                     final long maxBackoff,
+                     final TimeUnit unit) {
+    this(maxAttempts, initialBackoff, maxBackoff, unit, 0, null);
+  }
+
+  /**
+   * @param maxAttempts the maximum number of attempts, including the first
+   * @param initialBackoff the backoff before the first retry
+   * @param maxBackoff the maximum backoff
+   * @param unit the time unit of the backoff arguments
+   * @param hedgingPercentile the percentile of recent attempt latencies past
+   *          which an attempt is hedged, e.g. 95, or 0 for no hedging
+   * @param hedgingPool the <code>ExecutorService</code> on which hedged
+   *          attempts run, which must not be the one tasks run on, or null
+   *          for no hedging
+   */
+  public RetryPolicy(final int maxAttempts,
+                     final long initialBackoff,
+                     final long maxBackoff,
+                     final TimeUnit unit,
+                     final double hedgingPercentile,
+                     final ExecutorService hedgingPool) {
+    if (maxAttempts < 1) {
+      throw new IllegalArgumentException("Non-positive maximum attempts: " + maxAttempts);
+    }
+    if (initialBackoff < 1 || maxBackoff < initialBackoff) {
+      throw new IllegalArgumentException("Non-positive backoff, or maximum backoff less than initial backoff");
+    }
+    if (!(hedgingPercentile >= 0 && hedgingPercentile < 100)) {
+      throw new IllegalArgumentException("Hedging percentile not between 0 and 100: " + hedgingPercentile);
+    }
+    if ((hedgingPercentile > 0) != (hedgingPool != null)) {
+      throw new IllegalArgumentException("Hedging needs both a percentile and a pool");
+    }
+    this.maxAttempts = maxAttempts;
+    this.initialBackoff = unit.toNanos(initialBackoff);
+    this.maxBackoff = unit.toNanos(maxBackoff);
+    this.hedgingPercentile = hedgingPercentile;
+    this.hedgingPool = hedgingPool;
+
+    latencies = new long[LATENCIES];
+    samples = 0;
+    retries = new AtomicLong();
+    hedges = new AtomicLong();
+  }
+
+  /**
+   * @param e a failure of an attempt
+   * @return true if the task is to be attempted again, subject to the maximum
+   *         number of attempts; by default, unless interrupted
+   */
+  protected boolean isRetryable(final Exception e) {
+    return !(e instanceof InterruptedException);
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public boolean isHedged() {
+    return hedgingPool != null;
+  }
+
+  ExecutorService getHedgingPool() {
+    return hedgingPool;
+  }
+
+  /**
+   * @return the number of retries so far
+   */
+  public long getRetries() {
+    return retries.get();
+  }
+
+  /**
+   * @return the number of hedged attempts so far
+   */
+  public long getHedges() {
+    return hedges.get();
+  }
+
+  /**
+   * @param retry the retry, starting from 1
+   * @return a backoff in nanoseconds, between half and all of the exponential
+   *         backoff for <code>retry</code>
+   */
+  long backoff(final int retry) {
+    retries.incrementAndGet();
+    final long backoff = Math.min(maxBackoff, initialBackoff << Math.min(retry - 1, Long.numberOfLeadingZeros(initialBackoff) - 1));
+    final long half = backoff >>> 1;
+    return half + ThreadLocalRandom.current().nextLong(backoff - half + 1);
+  }
+
+  void hedged() {
+    hedges.incrementAndGet();
+  }
+
+  /**
+   * @param latency the latency of a successful attempt in nanoseconds
+   */
+  synchronized void record(final long latency) {
+    latencies[samples++ % LATENCIES] = latency;
+  }
+
+  /**
+   * @return the time in nanoseconds after which an attempt is hedged, or
+   *         <code>Long.MAX_VALUE</code> until there are enough latencies to go
+   *         by
+   */
+  long getHedgingDelay() {
+    final long[] sorted;
+    synchronized (this) {
+      if (samples < MIN_SAMPLES) {
+        return Long.MAX_VALUE;
+      }
+      sorted = Arrays.copyOf(latencies, Math.min(samples, LATENCIES));
+    }
+    Arrays.sort(sorted);
+    return sorted[(int) Math.ceil(hedgingPercentile / 100 * sorted.length) - 1];
+  }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * RetryingTask.java  v0.1  18 October 2026 7:26:03 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A task that is attempted again on failure as a <code>RetryPolicy</code>
+ * allows, and whose attempts are hedged if the policy says so. The task fails
+ * with the failure of its last attempt.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <V> the result type
+ */
+final class RetryingTask<V> implements Callable<V> {
+
+  private final Callable<V> task;
+  private final RetryPolicy policy;
+
+  RetryingTask(final Callable<V> task, final RetryPolicy policy) {
+    if (task == null) {
+      throw new NullPointerException();
+    }
+    this.task = task;
+    this.policy = policy;
+  }
+
+  @Override
+  public V call() throws Exception {
+    final Callable<V> attempt = new Attempt(null);
+    for (int attempts = 1; ; ++attempts) {
+      try {
+        return policy.isHedged() ? hedge() : attempt.call();
+      }
+      catch (final Exception e) {
+        if (attempts >= policy.getMaxAttempts() ||
+            Thread.currentThread().isInterrupted() ||
+            Deadline.hasExpired() ||
+            !policy.isRetryable(e)) {
+          throw e;
+        }
+        // back off no further than the deadline
+        final long backoff = Math.min(policy.backoff(attempts), Deadline.getRemainingTime(TimeUnit.NANOSECONDS));
+        TaskExecutor.logger.debug("Attempt {} failed, retrying in {}ns: {}", attempts, backoff, e.toString());
+        TimeUnit.NANOSECONDS.sleep(backoff);
+        if (Deadline.hasExpired()) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs an attempt on the hedging pool, and a duplicate if the first has yet
+   * to finish by the hedging delay, returning whichever succeeds first.
+   */
+  private V hedge() throws Exception {
+    // carry the deadline, if any, over to the hedging pool
+    final long remaining = Deadline.getRemainingTime(TimeUnit.NANOSECONDS);
+    final Callable<V> attempt = new Attempt((remaining == Long.MAX_VALUE) ? null
+                                                                          : Long.valueOf(System.nanoTime() + remaining));
+    final CompletionService<V> attempts = new ExecutorCompletionService<>(policy.getHedgingPool());
+    final List<Future<V>> futures = new ArrayList<>(2);
+    futures.add(attempts.submit(attempt));
+    try {
+      Future<V> first = attempts.poll(policy.getHedgingDelay(), TimeUnit.NANOSECONDS);
+      if (first == null) {
+        policy.hedged();
+        futures.add(attempts.submit(attempt));
+        first = attempts.take();
+      }
+      try {
+        return first.get();
+      }
+      catch (final ExecutionException eE) {
+        if (futures.size() < 2) {
+          throw cause(eE);
+        }
+      }
+      // the other may yet succeed
+      try {
+        return attempts.take().get();
+      }
+      catch (final ExecutionException eE) {
+        throw cause(eE);
+      }
+    }
+    finally {
+      for (final Future<V> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  private static final Exception cause(final ExecutionException eE) {
+    final Throwable cause = eE.getCause();
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return (cause instanceof Exception) ? (Exception) cause : eE;
+  }
+
+  /**
+   * An attempt at the task, whose latency is recorded if successful. An
+   * attempt on another thread runs by the deadline of the caller, if any.
+   */
+  private final class Attempt implements Callable<V> {
+
+    private final Long deadline; // System.nanoTime()
+
+    Attempt(final Long deadline) {
+      this.deadline = deadline;
+    }
+
+    @Override
+    public V call() throws Exception {
+      final Long previous = (deadline != null) ? Deadline.set(deadline - System.nanoTime()) : null;
+      try {
+        final long start = System.nanoTime();
+        final V result = task.call();
+        policy.record(System.nanoTime() - start);
+        return result;
+      }
+      finally {
+        if (deadline != null) {
+          Deadline.restore(previous);
+        }
+      }
+    }
+
+  }
+
+}
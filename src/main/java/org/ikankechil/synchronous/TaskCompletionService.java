@@ -6,95 +6,306 @@
 package org.ikankechil.synchronous;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Type description goes here.
+ * A <code>CompletionService</code> that maps each <code>Future</code> to the
+ * operand of its task and keeps count of the tasks whose results have yet to
+ * be taken.
+ * <p>
+ * Instances are thread-safe: tasks may be submitted by several threads while
+ * others take or poll their results.
+ * <p>
+ * Only the futures of tasks yet to complete are kept, so that a service can
+ * run for as long as there are operands. Instances may also bound the number
+ * of tasks outstanding, i.e. submitted but whose results have not been taken,
+ * in which case submission blocks until a result is taken.
  *
  * @author Daniel Kuan
  * @version 0.2
  */
 public class TaskCompletionService<K, V> implements CompletionService<V> {
 
-  private final CompletionService<V> completionService;
-  private final TaskHelper<K, V>     taskHelper;
-  final Map<Future<V>, K>            futures;
-  private int                        numberOfTasks;
+  private final Executor                 executor;
+  private final TaskHelper<K, V>         taskHelper;
+  private final BlockingQueue<Future<V>> completed;
+  // futures of tasks yet to complete
+  final ConcurrentMap<Future<V>, K>      futures;
+  private final AtomicInteger            numberOfTasks;
+  private final Semaphore                window;
+
+  // the task running on each thread, if submitted through a service
+  private static final ThreadLocal<OperandTask<?, ?>> RUNNING = new ThreadLocal<>();
 
   public TaskCompletionService(final Executor executor,
                                final TaskHelper<K, V> taskHelper) {
-    completionService = new ExecutorCompletionService<>(executor);
+    this(executor, taskHelper, Integer.MAX_VALUE);
+  }
+
+  /**
+   * @param executor the executor that runs submitted tasks
+   * @param taskHelper helper class used in creating tasks and handling
+   *          exceptions
+   * @param maxOutstanding the maximum number of tasks submitted whose results
+   *          have not been taken
+   * @throws IllegalArgumentException if <code>maxOutstanding</code> is not
+   *           positive
+   */
+  public TaskCompletionService(final Executor executor,
+                               final TaskHelper<K, V> taskHelper,
+                               final int maxOutstanding) {
+    if (executor == null) {
+      throw new NullPointerException("Null executor");
+    }
+    if (maxOutstanding < 1) {
+      throw new IllegalArgumentException("Non-positive maximum outstanding: " + maxOutstanding);
+    }
+    this.executor = executor;
     this.taskHelper = taskHelper;
-    futures = new HashMap<>();
-    numberOfTasks = 0;
+    completed = new LinkedBlockingQueue<>();
+    futures = new ConcurrentHashMap<>();
+    numberOfTasks = new AtomicInteger();
+    window = new Semaphore(maxOutstanding);
   }
 
   Future<V> submit(final Callable<V> task, final K operand) {
-    final Future<V> future = completionService.submit(task);
-    futures.put(future, operand);
-    ++numberOfTasks;
-    return future;
+    if (task == null) {
+      throw new NullPointerException("Null task");
+    }
+    return submit(new OperandTask<>(this, task, operand));
   }
 
+  /**
+   * @throws RejectedExecutionException if the task cannot be scheduled for
+   *           execution, or if interrupted while waiting for the number of
+   *           tasks outstanding to fall below the maximum
+   */
   @Override
   public Future<V> submit(final Callable<V> task) {
-    final Future<V> future = completionService.submit(task);
-    ++numberOfTasks;
-    return future;
+    return submit(task, null);
   }
 
+  /**
+   * @throws RejectedExecutionException if the task cannot be scheduled for
+   *           execution, or if interrupted while waiting for the number of
+   *           tasks outstanding to fall below the maximum
+   */
   @Override
   public Future<V> submit(final Runnable task, final V result) {
-    final Future<V> future = completionService.submit(task, result);
-    ++numberOfTasks;
+    if (task == null) {
+      throw new NullPointerException("Null task");
+    }
+    return submit(new OperandTask<K, V>(this, task, result));
+  }
+
+  private Future<V> submit(final OperandTask<K, V> future) {
+    try {
+      window.acquire();
+    }
+    catch (final InterruptedException iE) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException("Interrupted while waiting to submit", iE);
+    }
+    // registered before it can complete, and so deregister itself
+    if (future.operand != null) {
+      futures.put(future, future.operand);
+    }
+    numberOfTasks.incrementAndGet();
+    try {
+      executor.execute(future);
+    }
+    catch (final RuntimeException rE) {
+      futures.remove(future);
+      numberOfTasks.decrementAndGet();
+      window.release();
+      throw rE;
+    }
     return future;
   }
 
   @Override
   public Future<V> take() throws InterruptedException {
-    final Future<V> future = completionService.take();
-    --numberOfTasks;
-    return future;
+    return taken(completed.take());
   }
 
   @Override
   public Future<V> poll() {
-    --numberOfTasks;
-    return completionService.poll();
+    return taken(completed.poll());
   }
 
   @Override
   public Future<V> poll(final long timeout, final TimeUnit unit)
       throws InterruptedException {
-    --numberOfTasks;
-    return completionService.poll(timeout, unit);
+    return taken(completed.poll(timeout, unit));
+  }
+
+  private Future<V> taken(final Future<V> future) {
+    if (future != null) { // nothing taken otherwise
+      numberOfTasks.decrementAndGet();
+      window.release();
+    }
+    return future;
+  }
+
+  /**
+   * @return the number of tasks completed whose results have not been taken
+   */
+  public int getNumberOfCompletedTasks() {
+    return completed.size();
   }
 
   public TaskHelper<K, V> getTaskHelper() {
     return taskHelper;
   }
 
+  /**
+   * @return the number of tasks submitted whose results have not been taken
+   */
   public int getNumberOfTasks() {
-    return numberOfTasks;
+    return numberOfTasks.get();
   }
 
+  /**
+   * @param future a <code>Future</code> returned by this service
+   * @return the operand of the task represented by <code>future</code>, or
+   *         null if there is none
+   */
+  @SuppressWarnings("unchecked")
   public K get(final Future<? extends V> future) {
-    return futures.get(future);
+    return isOwn(future) ? ((OperandTask<K, ?>) future).operand : null;
   }
 
+  /**
+   * Maps a <code>Future</code> returned by this service to another operand.
+   * Only futures of this service may be mapped, so that each leaves the
+   * futures kept for tasks yet to complete once its task completes.
+   *
+   * @param future a <code>Future</code> returned by this service
+   * @param operand the operand of the task represented by <code>future</code>
+   * @return the previous operand, or null if there was none
+   * @throws IllegalArgumentException if <code>future</code> was not returned
+   *           by this service
+   */
+  @SuppressWarnings("unchecked")
   public K put(final Future<V> future, final K operand) {
-    return futures.put(future, operand);
+    if (!isOwn(future)) {
+      throw new IllegalArgumentException("Future not returned by this service: " + future);
+    }
+    final OperandTask<K, V> task = (OperandTask<K, V>) future;
+    final K previous = task.operand;
+    task.operand = operand;
+    // concurrent maps do not take null operands, which map to nothing anyway
+    if (operand == null) {
+      futures.remove(task);
+    }
+    else if (!task.isDone()) {
+      futures.put(task, operand);
+      if (task.isDone()) { // completed meanwhile, perhaps before done()
+        futures.remove(task);
+      }
+    }
+    return previous;
   }
 
+  private boolean isOwn(final Future<?> future) {
+    return future instanceof OperandTask && ((OperandTask<?, ?>) future).service == this;
+  }
+
+  /**
+   * @return the <code>Future</code>s of tasks with operands that have yet to
+   *         complete
+   */
   public Collection<Future<V>> getFutures() {
     return futures.keySet();
   }
 
+  /**
+   * Claims the counting of how the task running on the current thread
+   * finishes, unless the task has been cancelled, in which case its
+   * cancellation is for whoever handles it to count.
+   *
+   * @return true if claimed, or if the task was not submitted through a
+   *         service
+   */
+  static boolean claimRunning() {
+    final OperandTask<?, ?> task = RUNNING.get();
+    return task == null || (!task.isCancelled() && task.isCounted.compareAndSet(false, true));
+  }
+
+  /**
+   * Claims the counting of the cancellation of a task.
+   *
+   * @param future the <code>Future</code> of a cancelled task
+   * @return true if claimed, or if <code>future</code> was not returned by a
+   *         service
+   */
+  static boolean claim(final Future<?> future) {
+    return !(future instanceof OperandTask) || ((OperandTask<?, ?>) future).isCounted.compareAndSet(false, true);
+  }
+
+  /**
+   * A task that remembers its operand, and on completion leaves the futures
+   * kept for tasks yet to complete for the queue of completed tasks. Tasks
+   * keep the priority, if any, of what they run.
+   */
+  private static final class OperandTask<K, V> extends FutureTask<V> implements Prioritised {
+
+    final TaskCompletionService<K, V> service;
+    volatile K                        operand;
+    private final long                priority;
+    // whether how it finished, or its cancellation, has been counted
+    final AtomicBoolean               isCounted = new AtomicBoolean();
+
+    OperandTask(final TaskCompletionService<K, V> service, final Callable<V> task, final K operand) {
+      super(task);
+      this.service = service;
+      this.operand = operand;
+      priority = (task instanceof Prioritised) ? ((Prioritised) task).getPriority() : 0;
+    }
+
+    OperandTask(final TaskCompletionService<K, V> service, final Runnable task, final V result) {
+      super(task, result);
+      this.service = service;
+      this.operand = null;
+      priority = (task instanceof Prioritised) ? ((Prioritised) task).getPriority() : 0;
+    }
+
+    @Override
+    public long getPriority() {
+      return priority;
+    }
+
+    @Override
+    public void run() {
+      final OperandTask<?, ?> previous = RUNNING.get();
+      RUNNING.set(this);
+      try {
+        super.run();
+      }
+      finally {
+        RUNNING.set(previous);
+      }
+    }
+
+    @Override
+    protected void done() {
+      service.futures.remove(this);
+      service.completed.add(this);
+    }
+
+  }
+
 }
@@ -5,12 +5,16 @@
  */
 package org.ikankechil.synchronous;
 
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionService;
@@ -18,10 +22,27 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +58,14 @@ public class TaskExecutor {
   private final ExecutorService                executor;
   private final List<Object>                   failures;
   private final List<Object>                   cancellations;
+  private final Throttle                       throttle;
+  private final RetryPolicy                    retryPolicy;
+  private ForkJoinPool                         forkJoinPool;
+
+  // metrics, overall and of the latest batch
+  private final TaskMetrics                    metrics;
+  private volatile TaskMetrics                 batchMetrics;
+  private ObjectName                           mBeanName;
 
   // Constants
   private static final int                     TIME_OUT        = Short.MAX_VALUE;
@@ -45,6 +74,11 @@ public class TaskExecutor {
   private static final int                     PROCESSORS      = Runtime.getRuntime().availableProcessors();
   private static final int                     LOAD_MULTIPLIER = 25;
 
+  // thread-per-task
+  private static final String                  VIRTUAL_THREADS = "newVirtualThreadPerTaskExecutor";
+  private static final long                    STACK_SIZE      = 256 * 1024; // bytes, a hint
+  private static final long                    KEEP_ALIVE      = 60;         // seconds
+
   static final Logger                          logger          = LoggerFactory.getLogger(TaskExecutor.class);
 
   public TaskExecutor() {
@@ -52,11 +86,139 @@ public class TaskExecutor {
   }
 
   public TaskExecutor(final ExecutorService executor) {
+    this(executor, null);
+  }
+
+  /**
+   * @param executor the <code>ExecutorService</code> on which tasks run, or
+   *          null for a fixed thread pool
+   * @param throttle the <code>Throttle</code> that permits tasks to run, or
+   *          null for none; tasks wait for permission on the threads of
+   *          <code>executor</code>
+   */
+  public TaskExecutor(final ExecutorService executor, final Throttle throttle) {
+    this(executor, throttle, null);
+  }
+
+  /**
+   * @param executor the <code>ExecutorService</code> on which tasks run, or
+   *          null for a fixed thread pool
+   * @param throttle the <code>Throttle</code> that permits tasks to run, or
+   *          null for none; tasks wait for permission on the threads of
+   *          <code>executor</code>
+   * @param retryPolicy the <code>RetryPolicy</code> by which failed tasks are
+   *          retried, or null for none; retries count towards the deadlines
+   *          of <code>TimedTaskHelper</code>s and hold on to their permission
+   *          to run
+   */
+  public TaskExecutor(final ExecutorService executor, final Throttle throttle, final RetryPolicy retryPolicy) {
     this.executor = executor != null ? executor
                                      : Executors.newFixedThreadPool(PROCESSORS * LOAD_MULTIPLIER);
+    this.throttle = throttle;
+    this.retryPolicy = retryPolicy;
+
+    metrics = new TaskMetrics();
+    batchMetrics = new TaskMetrics();
+
+    // added to from task threads, e.g. by recursive operations
+    failures = Collections.synchronizedList(TaskExecutor.<Object> newList(LOAD_MULTIPLIER));
+    cancellations = Collections.synchronizedList(TaskExecutor.<Object> newList(LOAD_MULTIPLIER));
+  }
+
+  /**
+   * Creates a <code>TaskExecutor</code> that runs each task on a thread of its
+   * own, suited to large numbers of blocking tasks, e.g. downloads.
+   * <p>
+   * Tasks run on virtual threads where supported by the JRE (Java 21 or
+   * later), with tasks in excess of <code>maxConcurrency</code> waiting on
+   * their virtual threads. Otherwise, tasks run on small-stack platform
+   * threads that are started on demand and time out when idle, with tasks in
+   * excess of <code>maxConcurrency</code> waiting in line without a thread.
+   *
+   * @param maxConcurrency the maximum number of tasks running at any one
+   *          time, 0 for no limit
+   * @return a thread-per-task <code>TaskExecutor</code>
+   * @throws IllegalArgumentException if <code>maxConcurrency</code> is
+   *           negative
+   */
+  public static TaskExecutor newThreadPerTaskExecutor(final int maxConcurrency) {
+    if (maxConcurrency < 0) {
+      throw new IllegalArgumentException("Negative maximum concurrency: " + maxConcurrency);
+    }
+
+    final ExecutorService virtualThreads = newVirtualThreadPerTaskExecutor();
+    if (virtualThreads != null) {
+      logger.info("Virtual threads, maximum concurrency: {}", maxConcurrency);
+      return new TaskExecutor(maxConcurrency > 0 ? new BoundedExecutorService(virtualThreads, maxConcurrency)
+                                                 : virtualThreads);
+    }
+
+    logger.info("Platform threads, maximum concurrency: {}", maxConcurrency);
+    final ThreadPoolExecutor platformThreads =
+      (maxConcurrency > 0) ? new ThreadPoolExecutor(maxConcurrency,
+                                                    maxConcurrency,
+                                                    KEEP_ALIVE,
+                                                    TimeUnit.SECONDS,
+                                                    new LinkedBlockingQueue<Runnable>(),
+                                                    new SmallStackThreadFactory())
+                           : new ThreadPoolExecutor(0,
+                                                    Integer.MAX_VALUE,
+                                                    KEEP_ALIVE,
+                                                    TimeUnit.SECONDS,
+                                                    new SynchronousQueue<Runnable>(),
+                                                    new SmallStackThreadFactory());
+    platformThreads.allowCoreThreadTimeOut(true);
+    return new TaskExecutor(platformThreads);
+  }
+
+  private static final ExecutorService newVirtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREADS).invoke(null);
+    }
+    catch (final NoSuchMethodException nsmE) {
+      logger.debug("Virtual threads unsupported");
+    }
+    catch (final IllegalAccessException |
+                 InvocationTargetException |
+                 SecurityException e) {
+      logger.warn("Virtual threads unavailable", e);
+    }
+    return null;
+  }
+
+  /**
+   * Creates a <code>TaskExecutor</code> on which tasks of
+   * <code>PriorityTaskHelper</code>s wait in line by priority rather than in
+   * order of submission. A task's place in line is the time it is submitted
+   * plus its priority in aging quanta, so that tasks waiting for long enough
+   * go ahead of tasks of higher priority submitted since. Other tasks are of
+   * priority 0, as are tasks submitted through the deprecated
+   * <code>submitAll</code>, whose <code>ExecutorCompletionService</code> hides
+   * their priorities.
+   *
+   * @param threads the number of threads
+   * @param agingQuantum the time it takes a waiting task to make up a priority
+   *          level
+   * @param unit the time unit of the agingQuantum argument
+   * @return a priority <code>TaskExecutor</code>
+   * @throws IllegalArgumentException if <code>threads</code> or
+   *           <code>agingQuantum</code> are not positive
+   * @throws NullPointerException if <code>unit</code> is null
+   * @see PriorityTaskHelper
+   */
+  public static TaskExecutor newPriorityExecutor(final int threads,
+                                                 final long agingQuantum,
+                                                 final TimeUnit unit) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Non-positive threads: " + threads);
+    }
+    if (agingQuantum < 1) {
+      throw new IllegalArgumentException("Non-positive aging quantum: " + agingQuantum);
+    }
+    final long quantum = Math.max(1, unit.toNanos(agingQuantum));
 
-    failures = newList(LOAD_MULTIPLIER);
-    cancellations = newList(LOAD_MULTIPLIER);
+    logger.info("Priority threads: {}, aging quantum: {} {}", threads, agingQuantum, unit);
+    return new TaskExecutor(new PriorityThreadPoolExecutor(threads, quantum));
   }
 
   /**
@@ -121,7 +283,8 @@ public class TaskExecutor {
    * Executes tasks created from the given <code>operands</code> with the aid of
    * <code>taskHelper</code>, returning the results mapped to their
    * corresponding operands when all complete or the <code>timeout</code>
-   * expires, whichever happens first.
+   * expires, whichever happens first. If <code>taskHelper</code> is a
+   * <code>TimedTaskHelper</code>, each task also times out on its own.
    *
    * @param <K> operand type
    * @param <V> result type
@@ -149,10 +312,29 @@ public class TaskExecutor {
     // create tasks, one for each operand
     final List<Callable<V>> tasks = newTasks(operands, taskHelper);
 
-    // complete tasks
-    // TODO how to implement and verify throttling?
-    final List<Future<V>> futures = executor.invokeAll(tasks, timeout, unit);
+    // complete tasks, as invokeAll but through a TaskCompletionService, whose
+    // futures count the outcome of each task once
+    newBatch();
     final int numberOfTasks = tasks.size();
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+    final TaskCompletionService<K, V> service = new TaskCompletionService<>(executor, taskHelper);
+    final List<Future<V>> futures = newList(numberOfTasks);
+    try {
+      final Iterator<? extends K> iterator = operands.iterator();
+      for (final Callable<V> task : tasks) {
+        final K operand = iterator.next();
+        futures.add(service.submit(decorate(task, operand, taskHelper), operand));
+      }
+      for (final Future<V> future : futures) {
+        await(future, deadline);
+      }
+    }
+    finally {
+      // cancel tasks yet to complete
+      for (final Future<V> future : futures) {
+        future.cancel(true);
+      }
+    }
     logger.info("All {} tasks executed.", numberOfTasks);
 
     // retrieve results
@@ -162,34 +344,207 @@ public class TaskExecutor {
     clearExceptions();
     for (final Future<V> future : futures) {
       final K operand = iterator.next();
-      V result;
-      try {
-        result = future.get();
-      }
-      catch (final ExecutionException eE) {
-        // do not retry task
-        result = taskHelper.handleExecutionFailure(eE, operand);
-        failures.add(operand);
-        logger.warn("Task failed: {}.  Cause: {}", operand, eE.getCause(), eE);
+      results.put(operand, getResult(future, operand, taskHelper));
+    }
+    logger.info("All {} results retrieved.  Successful: {}, Failed: {}, Cancelled: {}",
+                numberOfTasks,
+                (numberOfTasks - failures.size() - cancellations.size()),
+                failures.size(),
+                cancellations.size());
+
+    return results;
+  }
+
+  /**
+   * Executes tasks created from the given <code>operands</code> with the aid of
+   * <code>taskHelper</code>, handing each result over to <code>handler</code>
+   * as soon as its task completes rather than when all complete.
+   *
+   * @param <K> operand type
+   * @param <V> result type
+   * @param operands the collection of operands
+   * @param taskHelper helper class used in creating tasks and handling
+   *          exceptions
+   * @param handler the <code>ResultHandler</code> to hand results over to
+   * @return the number of results handed over
+   * @throws IllegalArgumentException if <code>operands</code> is empty
+   * @throws InterruptedException if interrupted while waiting, in which case
+   *           unfinished tasks are cancelled
+   * @throws NullPointerException if <code>operands</code>,
+   *           <code>taskHelper</code>, <code>handler</code> or any of the
+   *           tasks created by <code>taskHelper</code> are null
+   * @throws RejectedExecutionException if any task cannot be scheduled for
+   *           execution
+   */
+  public <K, V> int executeAll(final Collection<? extends K> operands,
+                               final TaskHelper<K, V> taskHelper,
+                               final ResultHandler<? super K, ? super V> handler)
+      throws InterruptedException {
+    return executeAll(operands,
+                      taskHelper,
+                      handler,
+                      TIME_OUT,
+                      TIME_OUT_UNIT);
+  }
+
+  /**
+   * Executes tasks created from the given <code>operands</code> with the aid of
+   * <code>taskHelper</code>, handing each result over to <code>handler</code>
+   * on the calling thread as soon as its task completes rather than when all
+   * complete, hence in order of completion. Each task times out on its own
+   * <code>timeout</code>, measured from when it starts running, so that a
+   * hung task does not hold back the others.
+   *
+   * @param <K> operand type
+   * @param <V> result type
+   * @param operands the collection of operands
+   * @param taskHelper helper class used in creating tasks and handling
+   *          exceptions
+   * @param handler the <code>ResultHandler</code> to hand results over to
+   * @param timeout the maximum time each task may run
+   * @param unit the time unit of the timeout argument
+   * @return the number of results handed over
+   * @throws IllegalArgumentException if <code>operands</code> is empty
+   * @throws InterruptedException if interrupted while waiting, in which case
+   *           unfinished tasks are cancelled
+   * @throws NullPointerException if <code>operands</code>, <code>unit</code>,
+   *           <code>taskHelper</code>, <code>handler</code> or any of the
+   *           tasks created by <code>taskHelper</code> are null
+   * @throws RejectedExecutionException if any task cannot be scheduled for
+   *           execution
+   */
+  public <K, V> int executeAll(final Collection<? extends K> operands,
+                               final TaskHelper<K, V> taskHelper,
+                               final ResultHandler<? super K, ? super V> handler,
+                               final long timeout,
+                               final TimeUnit unit)
+      throws InterruptedException {
+    throwExceptionIfEmpty(operands);
+    if (handler == null) {
+      throw new NullPointerException("Null handler");
+    }
+
+    // create tasks, one for each operand, and submit them
+    newBatch();
+    final TaskCompletionService<K, V> service = new TaskCompletionService<>(executor, taskHelper);
+    final long timeoutNanos = Math.max(0, unit.toNanos(timeout));
+    try {
+      for (final K operand : operands) {
+        service.submit(decorate(taskHelper.newTask(operand), operand, taskHelper, timeoutNanos), operand);
       }
-      catch (final CancellationException cE) {
-        result = taskHelper.handleTaskCancellation(cE, operand);
-        cancellations.add(operand);
-        logger.info("Task cancelled: {}.  Cause: {}", operand, cE.getCause(), cE);
+    }
+    catch (final RuntimeException rE) {
+      cancelAll(service);
+      throw rE;
+    }
+    final int numberOfTasks = operands.size();
+    logger.info("All {} tasks submitted.", numberOfTasks);
+
+    // hand results over as tasks complete
+    clearExceptions();
+    int handled = 0;
+    try {
+      for (; handled < numberOfTasks; ++handled) {
+        handle(service.take(), service, handler);
       }
-      finally {
-        future.cancel(true);
+    }
+    finally {
+      if (handled < numberOfTasks) {
+        cancelAll(service);
       }
-
-      results.put(operand, result);
     }
-    logger.info("All {} results retrieved.  Successful: {}, Failed: {}, Cancelled: {}",
+    logger.info("All {} results handled.  Successful: {}, Failed: {}, Cancelled: {}",
                 numberOfTasks,
                 (numberOfTasks - failures.size() - cancellations.size()),
                 failures.size(),
                 cancellations.size());
 
-    return results;
+    return handled;
+  }
+
+  /**
+   * Executes tasks created from the given <code>operands</code> with the aid of
+   * <code>taskHelper</code> for as long as there are operands, handing each
+   * result over to <code>handler</code> on the calling thread as soon as its
+   * task completes. No more than <code>maxOutstanding</code> tasks are
+   * submitted but not handled at any one time, so that neither tasks nor their
+   * results pile up however many operands there are.
+   *
+   * @param <K> operand type
+   * @param <V> result type
+   * @param operands the operands, which may be produced lazily
+   * @param taskHelper helper class used in creating tasks and handling
+   *          exceptions
+   * @param handler the <code>ResultHandler</code> to hand results over to
+   * @param maxOutstanding the maximum number of tasks submitted whose results
+   *          have not been handled
+   * @return the number of results handed over
+   * @throws IllegalArgumentException if <code>maxOutstanding</code> is not
+   *           positive
+   * @throws InterruptedException if interrupted while waiting, in which case
+   *           unfinished tasks are cancelled
+   * @throws NullPointerException if <code>operands</code>,
+   *           <code>taskHelper</code>, <code>handler</code> or any of the
+   *           tasks created by <code>taskHelper</code> are null
+   * @throws RejectedExecutionException if any task cannot be scheduled for
+   *           execution
+   */
+  public <K, V> int executeAll(final Iterator<? extends K> operands,
+                               final TaskHelper<K, V> taskHelper,
+                               final ResultHandler<? super K, ? super V> handler,
+                               final int maxOutstanding)
+      throws InterruptedException {
+    if (operands == null) {
+      throw new NullPointerException("Null operands");
+    }
+    if (handler == null) {
+      throw new NullPointerException("Null handler");
+    }
+    if (maxOutstanding < 1) {
+      throw new IllegalArgumentException("Non-positive maximum outstanding: " + maxOutstanding);
+    }
+
+    newBatch();
+    final TaskCompletionService<K, V> service = new TaskCompletionService<>(executor, taskHelper, maxOutstanding);
+    clearExceptions();
+    int submitted = 0;
+    int handled = 0;
+    try {
+      while (operands.hasNext()) {
+        // make way for the next task
+        if (service.getNumberOfTasks() >= maxOutstanding) {
+          handle(service.take(), service, handler);
+          ++handled;
+        }
+        final K operand = operands.next();
+        service.submit(decorate(taskHelper.newTask(operand), operand, taskHelper), operand);
+        ++submitted;
+      }
+      logger.info("All {} tasks submitted.", submitted);
+
+      for (; handled < submitted; ++handled) {
+        handle(service.take(), service, handler);
+      }
+    }
+    finally {
+      if (handled < submitted) {
+        cancelAll(service);
+      }
+    }
+    logger.info("All {} results handled.  Successful: {}, Failed: {}, Cancelled: {}",
+                handled,
+                (handled - failures.size() - cancellations.size()),
+                failures.size(),
+                cancellations.size());
+
+    return handled;
+  }
+
+  private <K, V> void handle(final Future<V> future,
+                             final TaskCompletionService<K, V> service,
+                             final ResultHandler<? super K, ? super V> handler) {
+    final K operand = service.get(future);
+    handler.handle(operand, getResult(future, operand, service.getTaskHelper()));
   }
 
   /**
@@ -224,6 +579,11 @@ public class TaskExecutor {
    * Executes tasks created from the given <code>operands</code> with the aid of
    * <code>taskHelper</code>, returning the result of one that has completed
    * successfully or the <code>timeout</code> expires, whichever happens first.
+   * If <code>taskHelper</code> is a <code>TimedTaskHelper</code>, each task
+   * also times out on its own. If all tasks fail, <code>taskHelper</code>
+   * handles the last failure with the operand of the task that failed; if the
+   * <code>timeout</code> expires, <code>taskHelper</code> handles the timeout
+   * without an operand.
    *
    * @param <K> operand type
    * @param <V> result type
@@ -248,22 +608,165 @@ public class TaskExecutor {
       throws InterruptedException {
     // create tasks, one for each operand
     final List<Callable<V>> tasks = newTasks(operands, taskHelper);
+    final long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+    // submitted through a TaskCompletionService rather than invokeAny, whose
+    // completion service hides the priorities of tasks from a priority executor
+    newBatch();
+    final TaskCompletionService<K, V> service = new TaskCompletionService<>(executor, taskHelper);
+    V result;
+    try {
+      final Iterator<? extends K> iterator = operands.iterator();
+      for (final Callable<V> task : tasks) {
+        final K operand = iterator.next();
+        service.submit(decorate(task, operand, taskHelper), operand);
+      }
+
+      clearExceptions();
+      // complete tasks and retrieve the result of the first to succeed
+      ExecutionException failure = null;
+      K operand = null;
+      for (int remaining = tasks.size(); remaining > 0; --remaining) {
+        final Future<V> future = service.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        if (future == null) {
+          final TimeoutException tE = new TimeoutException();
+          result = taskHelper.handleTimeout(tE, null);
+          logger.warn("Task timed out: {}", tE.toString(), tE);
+          return result;
+        }
+        try {
+          result = future.get();
+          logger.info("Result retrieved.");
+          return result;
+        }
+        catch (final ExecutionException eE) {
+          failure = eE;
+          operand = service.get(future);
+        }
+      }
+
+      // the last task to fail
+      final Throwable cause = failure.getCause();
+      if (cause instanceof TimeoutException) {
+        result = taskHelper.handleTimeout((TimeoutException) cause, operand);
+        logger.warn("Task timed out: {}", operand);
+      }
+      else {
+        result = taskHelper.handleExecutionFailure(failure, operand);
+        logger.warn("Task failed: {}.  Cause: {}", operand, cause, cause);
+      }
+    }
+    finally {
+      // cancel tasks yet to complete
+      for (final Future<V> future : service.getFutures()) {
+        if (future.cancel(true)) {
+          cancelled(future);
+        }
+      }
+    }
+    logger.info("Result retrieved.");
+
+    return result;
+  }
+
+  /**
+   * Executes a divide-and-conquer task on <code>operand</code> with the aid of
+   * <code>taskHelper</code>, returning its result when complete.
+   *
+   * @param <K> operand type
+   * @param <V> result type
+   * @param operand the operand
+   * @param taskHelper helper class used in splitting operands, creating tasks,
+   *          combining results and handling exceptions
+   * @return the result of <code>operand</code>
+   * @throws InterruptedException if interrupted while waiting, in which case
+   *           the task is cancelled
+   * @throws NullPointerException if <code>taskHelper</code> or any of the
+   *           tasks created by <code>taskHelper</code> are null
+   * @throws RejectedExecutionException if the task cannot be scheduled for
+   *           execution
+   * @see #executeRecursively(Object, RecursiveTaskHelper, long, TimeUnit)
+   */
+  public <K, V> V executeRecursively(final K operand,
+                                     final RecursiveTaskHelper<K, V> taskHelper)
+      throws InterruptedException {
+    return executeRecursively(operand,
+                              taskHelper,
+                              Long.MAX_VALUE,
+                              TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Executes a divide-and-conquer task on <code>operand</code> with the aid of
+   * <code>taskHelper</code>, returning its result when complete or the
+   * <code>timeout</code> expires, whichever happens first.
+   * <p>
+   * <code>operand</code> is split recursively by <code>taskHelper</code>, and
+   * the smaller operands are computed by tasks created by
+   * <code>taskHelper</code> in parallel, then their results combined. Tasks
+   * run on a work-stealing <code>ForkJoinPool</code>, i.e. this executor's
+   * own if it is one, so that uneven splits balance across processors. Tasks
+   * that fail are handled by <code>taskHelper</code> with their own operand,
+   * and their handled results combined with the others.
+   *
+   * @param <K> operand type
+   * @param <V> result type
+   * @param operand the operand
+   * @param taskHelper helper class used in splitting operands, creating tasks,
+   *          combining results and handling exceptions
+   * @param timeout the maximum time to wait
+   * @param unit the time unit of the timeout argument
+   * @return the result of <code>operand</code>
+   * @throws InterruptedException if interrupted while waiting, in which case
+   *           the task is cancelled
+   * @throws NullPointerException if <code>unit</code>, <code>taskHelper</code>
+   *           or any of the tasks created by <code>taskHelper</code> are null
+   * @throws RejectedExecutionException if the task cannot be scheduled for
+   *           execution
+   */
+  public <K, V> V executeRecursively(final K operand,
+                                     final RecursiveTaskHelper<K, V> taskHelper,
+                                     final long timeout,
+                                     final TimeUnit unit)
+      throws InterruptedException {
+    if (taskHelper == null) {
+      throw new NullPointerException();
+    }
 
     clearExceptions();
-    // complete tasks and retrieve result
+    newBatch();
+    // cancelling a ForkJoinTask neither interrupts nor stops forked subtasks
+    final AtomicBoolean isCancelled = new AtomicBoolean();
+    final ForkJoinTask<V> task = forkJoinPool().submit(new RecursiveOperation<>(operand, taskHelper, isCancelled));
     V result;
     try {
-      result = executor.invokeAny(tasks, timeout, unit);
+      result = task.get(timeout, unit);
     }
     catch (final ExecutionException eE) {
-      result = taskHelper.handleExecutionFailure(eE, null);
-      logger.warn("Task failed.  Cause: {}", eE.getCause(), eE);
+      result = handleExecutionFailure(eE, operand, taskHelper);
     }
     catch (final TimeoutException tE) {
-      result = taskHelper.handleTimeout(tE, null);
-      logger.warn("Task timed out: {}", tE.toString(), tE);
+      isCancelled.set(true);
+      task.cancel(true);
+      result = taskHelper.handleTimeout(tE, operand);
+      cancellations.add(operand);
+      cancelled();
+      logger.warn("Task timed out: {}", operand);
     }
-    logger.info("Result retrieved.");
+    catch (final CancellationException cE) {
+      result = taskHelper.handleTaskCancellation(cE, operand);
+      cancellations.add(operand);
+      cancelled();
+      logger.info("Task cancelled: {}.  Cause: {}", operand, cE.getCause(), cE);
+    }
+    catch (final InterruptedException iE) {
+      isCancelled.set(true);
+      task.cancel(true);
+      throw iE;
+    }
+    logger.info("Result retrieved.  Failed: {}, Cancelled: {}",
+                failures.size(),
+                cancellations.size());
 
     return result;
   }
@@ -291,9 +794,10 @@ public class TaskExecutor {
     throwExceptionIfEmpty(operands);
 
     // create tasks, one for each operand, and submit them
+    newBatch();
     final TaskCompletionService<K, V> service = new TaskCompletionService<>(executor, taskHelper);
     for (final K operand : operands) {
-      service.submit(taskHelper.newTask(operand), operand);
+      service.submit(decorate(taskHelper.newTask(operand), operand, taskHelper), operand);
     }
     logger.info("All {} tasks submitted.", operands.size());
 
@@ -319,6 +823,9 @@ public class TaskExecutor {
    *           <code>taskHelper</code> are null
    * @throws RejectedExecutionException if any of the tasks cannot be scheduled
    *           for execution
+   * @deprecated tasks of a <code>PriorityTaskHelper</code> run at priority 0
+   *             on a priority executor; use
+   *             {@link #submitAll(Collection, TaskHelper)}
    */
   @Deprecated
   public <K, V> CompletionService<V> submitAll(final Collection<? extends K> operands,
@@ -327,9 +834,10 @@ public class TaskExecutor {
     throwExceptionIfEmpty(operands);
 
     // create tasks, one for each operand, and submit them
+    newBatch();
     final CompletionService<V> service = new ExecutorCompletionService<>(executor);
     for (final K operand : operands) {
-      final Future<V> future = service.submit(taskHelper.newTask(operand));
+      final Future<V> future = service.submit(decorate(taskHelper.newTask(operand), operand, taskHelper));
       futures.put(future, operand);
     }
     logger.info("All {} tasks submitted.", operands.size());
@@ -365,7 +873,8 @@ public class TaskExecutor {
   }
 
   /**
-   * Retrieves the results of completed tasks.
+   * Retrieves the results of completed tasks, removing each task's
+   * <code>Future</code> from <code>futures</code> as it is taken.
    *
    * @param <K> operand type
    * @param <V> result type
@@ -394,17 +903,18 @@ public class TaskExecutor {
 
     for (int t = 0; t < numberOfTasks; ++t) {
       final Future<? extends V> future = service.poll(timeout, unit);
+      // map future with its operand, releasing both once taken
+      final K operand = futures.remove(future);
       V result = null;
       try {
         result = future.get();
       }
       catch (final ExecutionException eE) {
-        // map future with its operand
-        result = taskHelper.handleExecutionFailure(eE, futures.get(future));
+        result = taskHelper.handleExecutionFailure(eE, operand);
         logger.warn("Task failed.  Cause: {}", eE.getCause());
       }
       catch (final CancellationException cE) {
-        result = taskHelper.handleTaskCancellation(cE, futures.get(future));
+        result = taskHelper.handleTaskCancellation(cE, operand);
         logger.info("Task cancelled.  Cause: {}", cE.getCause());
       }
       finally {
@@ -465,15 +975,13 @@ public class TaskExecutor {
       }
       catch (final ExecutionException eE) {
         // map future with its operand
-        final K operand = service.get(future);
-        result = taskHelper.handleExecutionFailure(eE, operand);
-        failures.add(operand);
-        logger.warn("Task failed: {}.  Cause: {}", operand, eE.getCause(), eE);
+        result = handleExecutionFailure(eE, service.get(future), taskHelper);
       }
       catch (final CancellationException cE) {
         final K operand = service.get(future);
         result = taskHelper.handleTaskCancellation(cE, operand);
         cancellations.add(operand);
+        cancelled(future);
         logger.info("Task cancelled: {}.  Cause: {}", operand, cE.getCause(), cE);
       }
       finally {
@@ -512,17 +1020,130 @@ public class TaskExecutor {
   }
 
   /**
-   * Attempts to cancel tasks submitted for execution and whose results have not
-   * been retrieved.
+   * Attempts to cancel tasks submitted for execution that have yet to
+   * complete.
    *
    * @param <V> result type
-   * @throws IllegalArgumentException if <code>futures</code> is empty
-   * @throws NullPointerException if <code>futures</code> or any of the
-   *           <code>Future</code>s contained herein are null
+   * @throws NullPointerException if <code>service</code> is null
    * @see {@link TaskExecutor#submitAll(Collection, TaskHelper)}
    */
   public <K, V> void cancel(final TaskCompletionService<K, V> service) {
-    cancel(service.getFutures());
+    cancelAll(service);
+    logger.info("Cancel request submitted.");
+  }
+
+  /**
+   * Decorates a task with its deadline and priority, if any, and whatever
+   * this executor applies to all tasks, i.e. retries and throttling.
+   */
+  private <K, V> Callable<V> decorate(final Callable<V> task,
+                                      final K operand,
+                                      final TaskHelper<K, V> taskHelper) {
+    return decorate(task, operand, taskHelper, -1);
+  }
+
+  /**
+   * Decorates a task as above, timing it out after <code>timeout</code>
+   * nanoseconds unless negative. Deadlines are applied outside retries, so
+   * that they bound all attempts at a task rather than each.
+   */
+  private <K, V> Callable<V> decorate(final Callable<V> task,
+                                      final K operand,
+                                      final TaskHelper<K, V> taskHelper,
+                                      final long timeout) {
+    Callable<V> decorated = task;
+    if (retryPolicy != null) {
+      decorated = new RetryingTask<>(decorated, retryPolicy);
+    }
+    if (timeout >= 0) {
+      decorated = new TimedTask<>(decorated, timeout, TimeUnit.NANOSECONDS);
+    }
+    if (taskHelper instanceof TimedTaskHelper) {
+      final long taskTimeout = ((TimedTaskHelper<K, V>) taskHelper).getTimeout(operand);
+      if (taskTimeout > 0) {
+        decorated = new TimedTask<>(decorated, taskTimeout, TimeUnit.MILLISECONDS);
+      }
+    }
+    final TaskMetrics batch = batchMetrics;
+    decorated = new MeasuredTask<>(decorated, metrics, batch);
+    metrics.submitted();
+    batch.submitted();
+    if (throttle != null) {
+      decorated = new ThrottledTask<>(decorated, throttle);
+    }
+    if (taskHelper instanceof PriorityTaskHelper) {
+      decorated = new PriorityTask<>(decorated, ((PriorityTaskHelper<K, V>) taskHelper).getPriority(operand));
+    }
+    return decorated;
+  }
+
+  /**
+   * Retrieves the result of a completed task, or has <code>taskHelper</code>
+   * handle its failure, cancellation or timeout.
+   */
+  private <K, V> V getResult(final Future<V> future,
+                             final K operand,
+                             final TaskHelper<K, V> taskHelper) {
+    V result;
+    try {
+      result = future.get();
+    }
+    catch (final ExecutionException eE) {
+      result = handleExecutionFailure(eE, operand, taskHelper);
+    }
+    catch (final CancellationException cE) {
+      result = taskHelper.handleTaskCancellation(cE, operand);
+      cancellations.add(operand);
+      cancelled(future);
+      logger.info("Task cancelled: {}.  Cause: {}", operand, cE.getCause(), cE);
+    }
+    catch (final InterruptedException iE) { // never thrown: task completed
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(iE);
+    }
+    return result;
+  }
+
+  /**
+   * Has <code>taskHelper</code> handle a failed or timed out task. Safe to call
+   * from several threads at once.
+   */
+  private <K, V> V handleExecutionFailure(final ExecutionException eE,
+                                          final K operand,
+                                          final TaskHelper<K, V> taskHelper) {
+    final V result;
+    if (eE.getCause() instanceof TimeoutException) {
+      result = taskHelper.handleTimeout((TimeoutException) eE.getCause(), operand);
+      cancellations.add(operand);
+      logger.info("Task timed out: {}", operand);
+    }
+    else {
+      // already retried as far as the retry policy, if any, allows
+      result = taskHelper.handleExecutionFailure(eE, operand);
+      failures.add(operand);
+      logger.warn("Task failed: {}.  Cause: {}", operand, eE.getCause(), eE);
+    }
+    return result;
+  }
+
+  private synchronized ForkJoinPool forkJoinPool() {
+    if (executor instanceof ForkJoinPool) {
+      return (ForkJoinPool) executor;
+    }
+    if (executor.isShutdown()) {
+      throw new RejectedExecutionException("Executor stopped");
+    }
+    if (forkJoinPool == null) {
+      forkJoinPool = new ForkJoinPool(PROCESSORS);
+      logger.debug("ForkJoinPool started: {}", PROCESSORS);
+    }
+    return forkJoinPool;
+  }
+
+  private static final <K, V> void cancelAll(final TaskCompletionService<K, V> service) {
+    for (final Future<V> future : service.getFutures()) {
+      future.cancel(true);
+    }
   }
 
   private static final void throwExceptionIfEmpty(final Collection<?> collection) {
@@ -548,6 +1169,12 @@ public class TaskExecutor {
     clearExceptions();
     logger.info("Executor shutdown requested.");
     executor.shutdown();
+    synchronized (this) {
+      if (forkJoinPool != null) {
+        forkJoinPool.shutdown();
+      }
+    }
+    unregisterMBean();
     return executor.awaitTermination(TIME_OUT, TIME_OUT_UNIT);
   }
 
@@ -557,6 +1184,141 @@ public class TaskExecutor {
     logger.debug("Exceptions cleared.");
   }
 
+  /**
+   * Starts the metrics of a new batch of tasks.
+   */
+  private void newBatch() {
+    final TaskMetrics previous = batchMetrics;
+    batchMetrics = new TaskMetrics();
+    if (previous.getSubmitted() > 0) {
+      logger.debug("Previous batch: {}", previous);
+    }
+  }
+
+  /**
+   * Waits for a task to complete until <code>deadline</code>, in
+   * <code>System.nanoTime()</code>, its outcome left to be retrieved.
+   */
+  private static final void await(final Future<?> future, final long deadline)
+      throws InterruptedException {
+    try {
+      future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+    catch (final ExecutionException | CancellationException | TimeoutException e) {
+      // retrieved with its result
+    }
+  }
+
+  /**
+   * Counts the cancellation of a task, unless how it finished is counted
+   * already.
+   */
+  private void cancelled(final Future<?> future) {
+    if (TaskCompletionService.claim(future)) {
+      cancelled();
+    }
+  }
+
+  private void cancelled() {
+    metrics.cancelled();
+    batchMetrics.cancelled();
+  }
+
+  /**
+   * @return the metrics of all tasks run by this executor
+   */
+  public TaskMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * @return the metrics of the tasks of the latest call to run or submit tasks
+   */
+  public TaskMetrics getBatchMetrics() {
+    return batchMetrics;
+  }
+
+  /**
+   * @return the number of tasks waiting to run, or -1 if the executor does not
+   *         tell
+   */
+  public int getQueueDepth() {
+    if (executor instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executor).getQueue().size();
+    }
+    if (executor instanceof ForkJoinPool) {
+      final ForkJoinPool pool = (ForkJoinPool) executor;
+      return (int) Math.min(Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+    }
+    return -1;
+  }
+
+  /**
+   * @return the number of threads running tasks, or -1 if the executor does
+   *         not tell
+   */
+  public int getActiveThreads() {
+    if (executor instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executor).getActiveCount();
+    }
+    if (executor instanceof ForkJoinPool) {
+      return ((ForkJoinPool) executor).getActiveThreadCount();
+    }
+    return -1;
+  }
+
+  /**
+   * @return the number of threads, or -1 if the executor does not tell
+   */
+  public int getPoolSize() {
+    if (executor instanceof ThreadPoolExecutor) {
+      return ((ThreadPoolExecutor) executor).getPoolSize();
+    }
+    if (executor instanceof ForkJoinPool) {
+      return ((ForkJoinPool) executor).getPoolSize();
+    }
+    return -1;
+  }
+
+  /**
+   * Exports the metrics of this executor over JMX, through the platform
+   * <code>MBeanServer</code>, until it is stopped.
+   *
+   * @param name the name by which to tell this executor apart from others
+   * @return the name under which the metrics are registered
+   * @throws JMException if the metrics cannot be registered, e.g. if the name
+   *           is already taken
+   * @throws IllegalStateException if the metrics are already registered
+   */
+  public synchronized ObjectName registerMBean(final String name) throws JMException {
+    if (mBeanName != null) {
+      throw new IllegalStateException("Already registered: " + mBeanName);
+    }
+    final ObjectName objectName = new ObjectName(TaskExecutor.class.getPackage().getName() +
+                                                 ":type=" + TaskExecutor.class.getSimpleName() +
+                                                 ",name=" + ObjectName.quote(name));
+    ManagementFactory.getPlatformMBeanServer().registerMBean(new MXBean(), objectName);
+    mBeanName = objectName;
+    logger.info("Metrics registered: {}", mBeanName);
+    return mBeanName;
+  }
+
+  /**
+   * Stops exporting the metrics of this executor over JMX, if they are.
+   */
+  public synchronized void unregisterMBean() {
+    if (mBeanName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(mBeanName);
+        logger.info("Metrics unregistered: {}", mBeanName);
+      }
+      catch (final JMException jmE) {
+        logger.warn("Metrics not unregistered: {}", mBeanName, jmE);
+      }
+      mBeanName = null;
+    }
+  }
+
   public List<Object> getFailures() {
     return failures;
   }
@@ -565,4 +1327,308 @@ public class TaskExecutor {
     return cancellations;
   }
 
+  public Throttle getThrottle() {
+    return throttle;
+  }
+
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  /**
+   * Splits its operand and runs a subtask for each smaller operand in
+   * parallel, or computes its operand directly if it cannot be split. All
+   * operations of a computation share a flag by which it is cancelled, as
+   * cancelling the root does not reach subtasks already forked.
+   */
+  private final class RecursiveOperation<K, V> extends RecursiveTask<V> {
+
+    private static final long               serialVersionUID = -3276041655213849187L;
+
+    private final K                         operand;
+    private final RecursiveTaskHelper<K, V> taskHelper;
+    private final AtomicBoolean             isCancelled;
+
+    RecursiveOperation(final K operand,
+                       final RecursiveTaskHelper<K, V> taskHelper,
+                       final AtomicBoolean isCancelled) {
+      this.operand = operand;
+      this.taskHelper = taskHelper;
+      this.isCancelled = isCancelled;
+    }
+
+    @Override
+    protected V compute() {
+      throwExceptionIfCancelled();
+      final Collection<? extends K> subOperands = taskHelper.split(operand);
+      if (subOperands == null || subOperands.isEmpty()) {
+        return computeDirectly();
+      }
+
+      final List<RecursiveOperation<K, V>> subtasks = newList(subOperands.size());
+      for (final K subOperand : subOperands) {
+        subtasks.add(new RecursiveOperation<>(subOperand, taskHelper, isCancelled));
+      }
+      invokeAll(subtasks);
+
+      final List<V> results = newList(subtasks.size());
+      for (final RecursiveOperation<K, V> subtask : subtasks) {
+        results.add(subtask.join());
+      }
+      return taskHelper.combine(operand, results);
+    }
+
+    private V computeDirectly() {
+      throwExceptionIfCancelled();
+      final Callable<V> task = decorate(taskHelper.newTask(operand), operand, taskHelper);
+      try {
+        return task.call();
+      }
+      catch (final Exception e) {
+        // failures after cancellation belong to no batch
+        throwExceptionIfCancelled();
+        return handleExecutionFailure(new ExecutionException(e), operand, taskHelper);
+      }
+    }
+
+    private void throwExceptionIfCancelled() {
+      if (isCancelled.get()) {
+        throw new CancellationException("Recursive operation cancelled");
+      }
+    }
+
+  }
+
+  /**
+   * Runs no more than a fixed number of tasks at any one time, with tasks in
+   * excess waiting on the threads of the underlying thread-per-task
+   * <code>ExecutorService</code>.
+   */
+  private static final class BoundedExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService executor;
+    private final Semaphore       permits;
+
+    BoundedExecutorService(final ExecutorService executor, final int maxConcurrency) {
+      this.executor = executor;
+      permits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      if (command == null) {
+        throw new NullPointerException();
+      }
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            permits.acquire();
+          }
+          catch (final InterruptedException iE) { // cancelled while waiting
+            Thread.currentThread().interrupt();
+            return;
+          }
+          try {
+            command.run();
+          }
+          finally {
+            permits.release();
+          }
+        }
+      });
+    }
+
+    @Override
+    public void shutdown() {
+      executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return executor.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+      return executor.awaitTermination(timeout, unit);
+    }
+
+  }
+
+  /**
+   * A fixed thread pool on which tasks wait in line by their place, i.e. the
+   * time they are submitted plus their priority in aging quanta, then in order
+   * of submission.
+   */
+  private static final class PriorityThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private final long        agingQuantum; // nanoseconds
+    private final long        origin;
+    private final AtomicLong  submissions;
+
+    // keeps places well clear of overflow
+    private static final long MAX_DELAY = Long.MAX_VALUE >> 2;
+
+    PriorityThreadPoolExecutor(final int threads, final long agingQuantum) {
+      super(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<Runnable>());
+      this.agingQuantum = agingQuantum;
+      origin = System.nanoTime();
+      submissions = new AtomicLong();
+    }
+
+    @Override
+    protected <T> RunnableFuture<T> newTaskFor(final Callable<T> callable) {
+      return new PriorityFutureTask<>(callable);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+      if (command == null) {
+        throw new NullPointerException();
+      }
+      final long priority = (command instanceof Prioritised) ? ((Prioritised) command).getPriority() : 0;
+      super.execute(new PlacedTask(command, place(priority), submissions.getAndIncrement()));
+    }
+
+    private long place(final long priority) {
+      final long delay = (priority > MAX_DELAY / agingQuantum)  ? MAX_DELAY
+                       : (priority < -MAX_DELAY / agingQuantum) ? -MAX_DELAY
+                                                                : priority * agingQuantum;
+      return (System.nanoTime() - origin) + delay;
+    }
+
+  }
+
+  private static final class PriorityFutureTask<V> extends FutureTask<V> implements Prioritised {
+
+    private final long priority;
+
+    PriorityFutureTask(final Callable<V> callable) {
+      super(callable);
+      priority = (callable instanceof Prioritised) ? ((Prioritised) callable).getPriority() : 0;
+    }
+
+    @Override
+    public long getPriority() {
+      return priority;
+    }
+
+  }
+
+  private static final class PlacedTask implements Runnable, Comparable<PlacedTask> {
+
+    private final Runnable task;
+    private final long     place;
+    private final long     submission;
+
+    PlacedTask(final Runnable task, final long place, final long submission) {
+      this.task = task;
+      this.place = place;
+      this.submission = submission;
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+
+    @Override
+    public int compareTo(final PlacedTask that) {
+      return (place != that.place) ? Long.compare(place, that.place)
+                                   : Long.compare(submission, that.submission);
+    }
+
+  }
+
+  private final class MXBean implements TaskExecutorMXBean {
+
+    @Override
+    public int getQueueDepth() {
+      return TaskExecutor.this.getQueueDepth();
+    }
+
+    @Override
+    public int getActiveThreads() {
+      return TaskExecutor.this.getActiveThreads();
+    }
+
+    @Override
+    public int getPoolSize() {
+      return TaskExecutor.this.getPoolSize();
+    }
+
+    @Override
+    public long getSubmitted() {
+      return metrics.getSubmitted();
+    }
+
+    @Override
+    public long getSucceeded() {
+      return metrics.getSucceeded();
+    }
+
+    @Override
+    public long getFailed() {
+      return metrics.getFailed();
+    }
+
+    @Override
+    public long getTimedOut() {
+      return metrics.getTimedOut();
+    }
+
+    @Override
+    public long getCancelled() {
+      return metrics.getCancelled();
+    }
+
+    @Override
+    public double getThroughput() {
+      return metrics.getThroughput();
+    }
+
+    @Override
+    public double getLatencyMean() {
+      return metrics.getLatencies().getMean(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getLatency50thPercentile() {
+      return metrics.getLatencies().getPercentile(50, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getLatency99thPercentile() {
+      return metrics.getLatencies().getPercentile(99, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long getLatencyMax() {
+      return metrics.getLatencies().getMax(TimeUnit.MILLISECONDS);
+    }
+
+  }
+
+  private static final class SmallStackThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      return new Thread(null, runnable, TaskExecutor.class.getSimpleName() + '-' + threads.incrementAndGet(), STACK_SIZE);
+    }
+
+  }
+
 }
@@ -0,0 +1,57 @@
+/**
+ * TaskExecutorMXBean.java  v0.1  18 October 2026 8:36:52 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+/**
+ * Management interface through which a <code>TaskExecutor</code> exports its
+ * metrics over JMX. Counts are since the executor was created; latencies are
+ * in milliseconds.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @see TaskExecutor#registerMBean(String)
+ */
+public interface TaskExecutorMXBean {
+
+  /**
+   * @return the number of tasks waiting to run, or -1 if unknown
+   */
+  public int getQueueDepth();
+
+  /**
+   * @return the number of threads running tasks, or -1 if unknown
+   */
+  public int getActiveThreads();
+
+  /**
+   * @return the number of threads, or -1 if unknown
+   */
+  public int getPoolSize();
+
+  public long getSubmitted();
+
+  public long getSucceeded();
+
+  public long getFailed();
+
+  public long getTimedOut();
+
+  public long getCancelled();
+
+  /**
+   * @return the number of tasks completed per second
+   */
+  public double getThroughput();
+
+  public double getLatencyMean();
+
+  public long getLatency50thPercentile();
+
+  public long getLatency99thPercentile();
+
+  public long getLatencyMax();
+
+}
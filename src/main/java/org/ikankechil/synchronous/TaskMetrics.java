@@ -0,0 +1,126 @@
+/**
+ * TaskMetrics.java  v0.1  18 October 2026 8:21:14 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts of tasks run by a <code>TaskExecutor</code> by outcome, with a
+ * histogram of the latencies of those that ran, i.e. how long they took to
+ * run once permitted to by the executor's <code>Throttle</code>, if any,
+ * including retries.
+ * <p>
+ * Tasks are counted as they are submitted and as they finish, so that counts
+ * may be read while tasks run. Each task counts once: a task cancelled while
+ * running, e.g. when its batch times out, counts as cancelled only, while a
+ * task interrupted otherwise, e.g. on shutdown, counts by how it finished.
+ * Tasks submitted through the deprecated <code>submitAll</code> are the
+ * exception, and may count both as cancelled and by how they finished.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class TaskMetrics {
+
+  private final long             start;
+  private final AtomicLong       submitted;
+  private final AtomicLong       succeeded;
+  private final AtomicLong       failed;
+  private final AtomicLong       timedOut;
+  private final AtomicLong       cancelled;
+  private final LatencyHistogram latencies;
+
+  public TaskMetrics() {
+    start = System.nanoTime();
+    submitted = new AtomicLong();
+    succeeded = new AtomicLong();
+    failed = new AtomicLong();
+    timedOut = new AtomicLong();
+    cancelled = new AtomicLong();
+    latencies = new LatencyHistogram();
+  }
+
+  void submitted() {
+    submitted.incrementAndGet();
+  }
+
+  void succeeded(final long latency) {
+    latencies.record(latency);
+    succeeded.incrementAndGet();
+  }
+
+  void failed(final long latency) {
+    latencies.record(latency);
+    failed.incrementAndGet();
+  }
+
+  void timedOut(final long latency) {
+    latencies.record(latency);
+    timedOut.incrementAndGet();
+  }
+
+  void cancelled() {
+    cancelled.incrementAndGet();
+  }
+
+  public long getSubmitted() {
+    return submitted.get();
+  }
+
+  public long getSucceeded() {
+    return succeeded.get();
+  }
+
+  public long getFailed() {
+    return failed.get();
+  }
+
+  public long getTimedOut() {
+    return timedOut.get();
+  }
+
+  public long getCancelled() {
+    return cancelled.get();
+  }
+
+  /**
+   * @return the number of tasks that have finished running, successfully or
+   *         not
+   */
+  public long getCompleted() {
+    return succeeded.get() + failed.get() + timedOut.get();
+  }
+
+  /**
+   * @return the number of tasks completed per second since these metrics
+   *         began
+   */
+  public double getThroughput() {
+    final long elapsed = System.nanoTime() - start;
+    return (elapsed <= 0) ? 0 : getCompleted() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+  }
+
+  public LatencyHistogram getLatencies() {
+    return latencies;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("Submitted: %d, Successful: %d, Failed: %d, Timed out: %d, Cancelled: %d, " +
+                         "Throughput: %.1f/s, Latency p50/p99/max: %d/%d/%dms",
+                         getSubmitted(),
+                         getSucceeded(),
+                         getFailed(),
+                         getTimedOut(),
+                         getCancelled(),
+                         getThroughput(),
+                         latencies.getPercentile(50, TimeUnit.MILLISECONDS),
+                         latencies.getPercentile(99, TimeUnit.MILLISECONDS),
+                         latencies.getMax(TimeUnit.MILLISECONDS));
+  }
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Throttle.java  v0.1  18 October 2026 4:10:36 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+/**
+ * Limits the rate at which, or the number of, tasks run, e.g. to drive a
+ * remote source as hard as it tolerates but no harder.
+ * <p>
+ * Each task acquires permission before it runs, on the thread it runs on, and
+ * reports back once it has finished.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public interface Throttle {
+
+  /**
+   * Waits for permission to run a task.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void acquire() throws InterruptedException;
+
+  /**
+   * Reports that a task that was permitted to run has finished.
+   *
+   * @param latency how long the task ran in nanoseconds
+   * @param isSuccessful false if the task failed or timed out
+   */
+  public void release(final long latency, final boolean isSuccessful);
+
+}
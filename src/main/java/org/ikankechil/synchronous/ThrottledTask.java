@@ -0,0 +1,46 @@
+/**
+ * ThrottledTask.java  v0.1  18 October 2026 4:31:50 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A task that runs only when permitted by a <code>Throttle</code>, and reports
+ * back to it how it fared.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <V> the result type
+ */
+final class ThrottledTask<V> implements Callable<V> {
+
+  private final Callable<V> task;
+  private final Throttle    throttle;
+
+  ThrottledTask(final Callable<V> task, final Throttle throttle) {
+    if (task == null) {
+      throw new NullPointerException();
+    }
+    this.task = task;
+    this.throttle = throttle;
+  }
+
+  @Override
+  public V call() throws Exception {
+    throttle.acquire();
+    final long start = System.nanoTime();
+    boolean isSuccessful = false;
+    try {
+      final V result = task.call();
+      isSuccessful = true;
+      return result;
+    }
+    finally {
+      throttle.release(System.nanoTime() - start, isSuccessful);
+    }
+  }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * TimedTask.java  v0.1  18 October 2026 3:47:52 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A task that times out if it takes longer than a given time to run, measured
+ * from when it starts running. A task that times out is interrupted and
+ * throws a <code>TimeoutException</code>, whether or not it responds to the
+ * interrupt. Its deadline is visible to it through <code>Deadline</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <V> the result type
+ */
+final class TimedTask<V> implements Callable<V> {
+
+  private final Callable<V>                        task;
+  private final long                               timeout; // nanoseconds
+
+  private static final ScheduledThreadPoolExecutor TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+    @Override
+    public Thread newThread(final Runnable runnable) {
+      final Thread thread = new Thread(runnable, TimedTask.class.getSimpleName());
+      thread.setDaemon(true);
+      return thread;
+    }
+  });
+
+  static {
+    TIMER.setRemoveOnCancelPolicy(true);
+  }
+
+  TimedTask(final Callable<V> task, final long timeout, final TimeUnit unit) {
+    if (task == null) {
+      throw new NullPointerException();
+    }
+    this.task = task;
+    this.timeout = unit.toNanos(timeout);
+  }
+
+  @Override
+  public V call() throws Exception {
+    final Interrupter interrupter = new Interrupter(Thread.currentThread());
+    final Future<?> timer = TIMER.schedule(interrupter, timeout, TimeUnit.NANOSECONDS);
+    final Long previous = Deadline.set(timeout);
+    final V result;
+    try {
+      result = task.call();
+    }
+    catch (final Exception e) {
+      if (interrupter.hasTimedOut()) {
+        throw newTimeoutException();
+      }
+      throw e;
+    }
+    finally {
+      timer.cancel(false);
+      Deadline.restore(previous);
+    }
+    if (interrupter.hasTimedOut()) {
+      throw newTimeoutException();
+    }
+    return result;
+  }
+
+  private TimeoutException newTimeoutException() {
+    return new TimeoutException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(timeout) + "ms");
+  }
+
+  /**
+   * Interrupts a task that has not finished in time.
+   */
+  private static final class Interrupter implements Runnable {
+
+    private final Thread thread;
+    private boolean      isFinished;
+    private boolean      isTimedOut;
+
+    Interrupter(final Thread thread) {
+      this.thread = thread;
+      isFinished = false;
+      isTimedOut = false;
+    }
+
+    @Override
+    public synchronized void run() {
+      if (!isFinished) {
+        isTimedOut = true;
+        thread.interrupt();
+      }
+    }
+
+    /**
+     * Finishes the task. Called on the task's thread.
+     *
+     * @return true if the task timed out, in which case its interrupt is
+     *         cleared
+     */
+    synchronized boolean hasTimedOut() {
+      isFinished = true;
+      if (isTimedOut) {
+        Thread.interrupted();
+      }
+      return isTimedOut;
+    }
+
+  }
+
+}
@@ -0,0 +1,29 @@
+/**
+ * TimedTaskHelper.java  v0.1  18 October 2026 5:02:44 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+/**
+ * A <code>TaskHelper</code> that gives each task a deadline of its own,
+ * measured from when the task starts running. Tasks that miss their deadline
+ * are interrupted and handled by <code>handleTimeout</code>, so that a hung
+ * task neither holds back nor uses up the time of the others.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ * @param <K> the operand type
+ * @param <V> the result type
+ * @see Deadline
+ */
+public interface TimedTaskHelper<K, V> extends TaskHelper<K, V> {
+
+  /**
+   * @param operand the operand associated with the task
+   * @return the maximum time the task may run in milliseconds, or a
+   *         non-positive value for no limit
+   */
+  public long getTimeout(final K operand);
+
+}
@@ -0,0 +1,68 @@
+/**
+ * TokenBucketThrottle.java  v0.1  18 October 2026 4:14:02 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>Throttle</code> that limits the rate at which tasks start, while
+ * allowing bursts of up to a given number of tasks after a lull.
+ * <p>
+ * Tokens are added to a bucket at a steady rate, up to its capacity, and
+ * each task takes one before it starts. Tasks that find the bucket empty
+ * reserve the next token due and wait for it, hence start in turn.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class TokenBucketThrottle implements Throttle {
+
+  private final double        interval; // nanoseconds per token
+  private final double        capacity;
+  private double              tokens;
+  private long                refilled; // nanoseconds
+
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  /**
+   * @param rate the number of tasks started per second in the long run
+   * @param burst the maximum number of tasks started at once
+   */
+  public TokenBucketThrottle(final double rate, final int burst) {
+    if (!(rate > 0) || Double.isInfinite(rate)) {
+      throw new IllegalArgumentException("Non-positive or infinite rate: " + rate);
+    }
+    if (burst < 1) {
+      throw new IllegalArgumentException("Non-positive burst: " + burst);
+    }
+    interval = NANOS_PER_SECOND / rate;
+    capacity = burst;
+    tokens = burst;
+    refilled = System.nanoTime();
+  }
+
+  @Override
+  public void acquire() throws InterruptedException {
+    final long wait;
+    synchronized (this) {
+      final long now = System.nanoTime();
+      tokens = Math.min(capacity, tokens + (now - refilled) / interval);
+      refilled = now;
+      wait = (--tokens < 0) ? (long) Math.ceil(-tokens * interval) : 0;
+    }
+    TimeUnit.NANOSECONDS.sleep(wait);
+  }
+
+  @Override
+  public void release(final long latency, final boolean isSuccessful) {
+    // rate is independent of outcome
+  }
+
+  public double getRate() {
+    return NANOS_PER_SECOND / interval;
+  }
+
+}
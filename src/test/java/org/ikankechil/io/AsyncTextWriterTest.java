@@ -0,0 +1,143 @@
+/**
+ * AsyncTextWriterTest.java  v0.1  17 October 2026 9:44:20 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * JUnit test for <code>AsyncTextWriter</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class AsyncTextWriterTest {
+
+  @Rule
+  public final ExpectedException thrown    = ExpectedException.none();
+
+  private static final int       PRODUCERS = 8;
+  private static final int       LINES     = 10000;
+  // longer than BufferedWriter's buffer, hence written straight through
+  private static final String    LONG_LINE = new String(new char[10000]).replace('\0', 'x');
+
+  @Test
+  public void cannotInstantiateWithOneBuffer() {
+    thrown.expect(IllegalArgumentException.class);
+    @SuppressWarnings("unused")
+    final AsyncTextWriter writer = new AsyncTextWriter(new ByteArrayOutputStream(), 1, 1);
+  }
+
+  @Test
+  public void writeFromManyProducers() throws Exception {
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+    final AsyncTextWriter writer = new AsyncTextWriter(destination, 3, 64);
+
+    final ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+    final List<Future<?>> futures = new ArrayList<>();
+    for (int p = 0; p < PRODUCERS; ++p) {
+      final int producer = p;
+      futures.add(producers.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          for (int i = 0; i < LINES; ++i) {
+            writer.write(producer + "," + i);
+          }
+          return null;
+        }
+      }));
+    }
+    for (final Future<?> future : futures) {
+      future.get();
+    }
+    producers.shutdown();
+
+    assertEquals(PRODUCERS * LINES, writer.finish().get(1, TimeUnit.MINUTES).longValue());
+    final List<String> actuals = new ArrayList<>(Arrays.asList(destination.toString().split(System.getProperty("line.separator"))));
+    assertEquals(PRODUCERS * LINES, actuals.size());
+
+    // lines from each producer are in order
+    final int[] next = new int[PRODUCERS];
+    for (final String actual : actuals) {
+      final String[] fields = actual.split(",");
+      final int producer = Integer.parseInt(fields[0]);
+      assertEquals(next[producer]++, Integer.parseInt(fields[1]));
+    }
+  }
+
+  @Test
+  public void offerReportsBackpressure() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final OutputStream stalled = new ByteArrayOutputStream() {
+      @Override
+      public synchronized void write(final byte[] b, final int off, final int len) {
+        try {
+          release.await();
+        }
+        catch (final InterruptedException iE) {
+          Thread.currentThread().interrupt();
+        }
+        super.write(b, off, len);
+      }
+    };
+    final AsyncTextWriter writer = new AsyncTextWriter(stalled, 2, 1);
+
+    // one buffer being written, one waiting, none free
+    boolean accepted = true;
+    for (int i = 0; i < 4 && accepted; ++i) {
+      accepted = writer.offer(LONG_LINE);
+    }
+    assertFalse(accepted);
+
+    release.countDown();
+    writer.close();
+    assertTrue(writer.finish().isDone());
+  }
+
+  @Test
+  public void writeFailurePropagates() throws Exception {
+    final OutputStream failing = new OutputStream() {
+      @Override
+      public void write(final int b) throws IOException {
+        throw new IOException("Write failure");
+      }
+    };
+    final AsyncTextWriter writer = new AsyncTextWriter(failing, 2, 1);
+
+    thrown.expect(IOException.class);
+    for (int i = 0; i < LINES; ++i) {
+      writer.write(Collections.singletonList(LONG_LINE));
+    }
+  }
+
+  @Test
+  public void cannotWriteAfterFinishing() throws Exception {
+    final AsyncTextWriter writer = new AsyncTextWriter(new ByteArrayOutputStream());
+    writer.write("line");
+    writer.close();
+
+    thrown.expect(IllegalStateException.class);
+    writer.write("line");
+  }
+
+}
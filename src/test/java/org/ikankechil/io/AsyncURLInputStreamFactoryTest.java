@@ -0,0 +1,266 @@
+/**
+ * AsyncURLInputStreamFactoryTest.java  v0.1  18 October 2026 3:05:52 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JUnit test for <code>AsyncURLInputStreamFactory</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class AsyncURLInputStreamFactoryTest {
+
+  @Rule
+  public final ExpectedException    thrown   = ExpectedException.none();
+
+  private HttpServer                server;
+  private ExecutorService           executor;
+  private URL                       base;
+
+  private final AtomicInteger       requests = new AtomicInteger();
+  private final AtomicInteger       active   = new AtomicInteger();
+  private final AtomicInteger       maximum  = new AtomicInteger();
+  // number of requests to fail before succeeding
+  private volatile int              failures = 0;
+
+  private static final List<String> LINES    = Arrays.asList("Date,Open,High,Low,Close",
+                                                             "2013-01-11,42.50,42.84,42.35,42.73",
+                                                             "2013-01-10,42.30,42.62,41.93,42.52");
+
+  @Before
+  public void setUp() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(executor);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        serve(exchange);
+      }
+    });
+    server.start();
+    base = new URL("http", "127.0.0.1", server.getAddress().getPort(), "/");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void cannotInstantiateWithNonPositiveConcurrency() {
+    thrown.expect(IllegalArgumentException.class);
+    new AsyncURLInputStreamFactory(0, 0, 0, 0);
+  }
+
+  @Test
+  public void cannotInstantiateWithMaxBackoffLessThanInitial() {
+    thrown.expect(IllegalArgumentException.class);
+    new AsyncURLInputStreamFactory(1, 1, 100, 10);
+  }
+
+  @Test
+  public void cannotFetchNullURL() {
+    thrown.expect(NullPointerException.class);
+    new AsyncURLInputStreamFactory().fetch(null);
+  }
+
+  @Test
+  public void backoffExponentiallyWithJitter() {
+    final AsyncURLInputStreamFactory factory = new AsyncURLInputStreamFactory(1, 10, 100, 1000);
+    for (int i = 0; i < 100; ++i) {
+      assertBetween(50, 100, factory.backoff(1));
+      assertBetween(100, 200, factory.backoff(2));
+      assertBetween(200, 400, factory.backoff(3));
+      assertBetween(500, 1000, factory.backoff(10));
+      assertBetween(500, 1000, factory.backoff(Integer.MAX_VALUE));
+    }
+  }
+
+  @Test
+  public void fetchWithinConcurrencyLimit() throws Exception {
+    final AsyncURLInputStreamFactory factory = new AsyncURLInputStreamFactory(4, 0, 0, 0);
+    final List<Future<InputStream>> futures = new ArrayList<>();
+    for (int i = 0; i < 32; ++i) {
+      futures.add(factory.fetch(new URL(base, "data" + i + ".csv")));
+    }
+    for (final Future<InputStream> future : futures) {
+      try (final InputStream is = future.get()) {
+        assertEquals(LINES, new TextReader().read(is));
+      }
+    }
+
+    assertEquals(32, requests.get());
+    assertTrue(maximum.get() <= factory.getMaxConcurrency());
+  }
+
+  @Test
+  public void retryWithBackoff() throws Exception {
+    failures = 2;
+    final AsyncURLInputStreamFactory factory = new AsyncURLInputStreamFactory(1, 2, 20, 1000);
+    final long start = System.nanoTime();
+    try (final InputStream is = factory.fetch(new URL(base, "data.csv")).get()) {
+      assertEquals(LINES, new TextReader().read(is));
+    }
+
+    assertEquals(3, requests.get());
+    // at least half of each backoff: 10ms + 20ms
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 30);
+  }
+
+  @Test
+  public void failAfterRetries() throws Exception {
+    failures = Integer.MAX_VALUE;
+    final Future<InputStream> future = new AsyncURLInputStreamFactory(1, 2, 0, 0).fetch(new URL(base, "data.csv"));
+    try {
+      future.get();
+      fail();
+    }
+    catch (final ExecutionException eE) {
+      assertTrue(eE.getCause() instanceof IOException);
+    }
+
+    assertEquals(3, requests.get());
+  }
+
+  @Test
+  public void doNotRetryMissing() throws Exception {
+    final Future<InputStream> future = new AsyncURLInputStreamFactory(1, 2, 0, 0).fetch(new URL(base, "missing.csv"));
+    try {
+      future.get();
+      fail();
+    }
+    catch (final ExecutionException eE) {
+      assertTrue(eE.getCause() instanceof FileNotFoundException);
+    }
+
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  public void handOverToHandler() throws Exception {
+    final AsyncURLInputStreamFactory factory = new AsyncURLInputStreamFactory(2, 0, 0, 0);
+    final Map<URL, Object> handled = new ConcurrentHashMap<>();
+    final URLInputStreamHandler handler = new URLInputStreamHandler() {
+      @Override
+      public void handle(final URL source, final InputStream is) throws IOException {
+        handled.put(source, new TextReader().read(is));
+      }
+
+      @Override
+      public void fail(final URL source, final IOException ioE) {
+        handled.put(source, ioE);
+      }
+    };
+
+    final URL data = new URL(base, "data.csv");
+    final URL missing = new URL(base, "missing.csv");
+    final Future<Void> success = factory.fetch(data, null, handler);
+    final Future<Void> failure = factory.fetch(missing, null, handler);
+
+    assertNull(success.get());
+    try {
+      failure.get();
+      fail();
+    }
+    catch (final ExecutionException eE) {
+      assertTrue(eE.getCause() instanceof FileNotFoundException);
+    }
+    assertEquals(LINES, handled.get(data));
+    assertTrue(handled.get(missing) instanceof FileNotFoundException);
+  }
+
+  @Test
+  public void cancelPendingRetry() throws Exception {
+    failures = Integer.MAX_VALUE;
+    final Future<InputStream> future = new AsyncURLInputStreamFactory(1, 5, 60000, 60000).fetch(new URL(base, "data.csv"));
+    while (requests.get() < 1) {
+      Thread.sleep(5);
+    }
+
+    assertTrue(future.cancel(false));
+    assertTrue(future.isCancelled());
+    assertEquals(1, requests.get());
+  }
+
+  private static final void assertBetween(final long minimum, final long maximum, final long actual) {
+    assertTrue(actual + " < " + minimum, actual >= minimum);
+    assertTrue(actual + " > " + maximum, actual <= maximum);
+  }
+
+  private void serve(final HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    // a fetch is in progress until its response headers are received
+    final int now = active.incrementAndGet();
+    for (int max; (max = maximum.get()) < now && !maximum.compareAndSet(max, now);) { /* retry */ }
+    try {
+      Thread.sleep(10);
+    }
+    catch (final InterruptedException iE) {
+      Thread.currentThread().interrupt();
+    }
+    finally {
+      active.decrementAndGet();
+    }
+
+    if (exchange.getRequestURI().getPath().startsWith("/missing")) {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+      return;
+    }
+    synchronized (this) {
+      if (failures > 0) {
+        --failures;
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+        return;
+      }
+    }
+
+    final StringBuilder body = new StringBuilder();
+    for (final String line : LINES) {
+      body.append(line).append('\n');
+    }
+    final byte[] bytes = body.toString().getBytes();
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (final OutputStream os = exchange.getResponseBody()) {
+      os.write(bytes);
+    }
+  }
+
+}
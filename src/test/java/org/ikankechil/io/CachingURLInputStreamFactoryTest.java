@@ -0,0 +1,232 @@
+/**
+ * CachingURLInputStreamFactoryTest.java  v0.1  18 October 2026 12:58:30 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JUnit test for <code>CachingURLInputStreamFactory</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class CachingURLInputStreamFactoryTest {
+
+  @Rule
+  public final ExpectedException thrown       = ExpectedException.none();
+
+  private HttpServer             server;
+  private ExecutorService        executor;
+  private URL                    base;
+  private File                   directory;
+
+  private volatile String        version      = "1";
+  private volatile boolean       isETagged    = true;
+  private final AtomicInteger    full         = new AtomicInteger();
+  private final AtomicInteger    notModified  = new AtomicInteger();
+
+  private static final String    LAST_MODIFIED= "Thu, 15 Oct 2026 08:00:00 GMT";
+  private static final int       BODY_SIZE    = 1000;
+
+  @Before
+  public void setUp() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(executor);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        serve(exchange);
+      }
+    });
+    server.start();
+    base = new URL("http", "127.0.0.1", server.getAddress().getPort(), "/");
+    directory = Files.createTempDirectory(CachingURLInputStreamFactoryTest.class.getSimpleName()).toFile();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.stop(0);
+    executor.shutdownNow();
+    for (final File file : directory.listFiles()) {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void cannotInstantiateWithNullDirectory() throws Exception {
+    thrown.expect(NullPointerException.class);
+    new CachingURLInputStreamFactory(null, 1);
+  }
+
+  @Test
+  public void cannotInstantiateWithNonPositiveSize() throws Exception {
+    thrown.expect(IllegalArgumentException.class);
+    new CachingURLInputStreamFactory(directory, 0);
+  }
+
+  @Test
+  public void serveUnchangedFromCache() throws Exception {
+    final TextReader reader = newReader(new CachingURLInputStreamFactory(directory, 1 << 20));
+    final URL url = new URL(base, "a.csv");
+
+    final List<String> expected = reader.read(url);
+    assertEquals(expected, reader.read(url));
+    assertEquals(expected, reader.read(url));
+
+    assertEquals(1, full.get());
+    assertEquals(2, notModified.get());
+  }
+
+  @Test
+  public void refetchChanged() throws Exception {
+    final TextReader reader = newReader(new CachingURLInputStreamFactory(directory, 1 << 20));
+    final URL url = new URL(base, "a.csv");
+
+    final List<String> before = reader.read(url);
+    version = "2";
+    final List<String> after = reader.read(url);
+    assertFalse(before.equals(after));
+    assertEquals(after, reader.read(url));
+
+    assertEquals(2, full.get());
+    assertEquals(1, notModified.get());
+  }
+
+  @Test
+  public void revalidateByLastModified() throws Exception {
+    isETagged = false;
+    final TextReader reader = newReader(new CachingURLInputStreamFactory(directory, 1 << 20));
+    final URL url = new URL(base, "a.csv");
+
+    assertEquals(reader.read(url), reader.read(url));
+
+    assertEquals(1, full.get());
+    assertEquals(1, notModified.get());
+  }
+
+  @Test
+  public void evictLeastRecentlyUsed() throws Exception {
+    // room for two responses
+    final CachingURLInputStreamFactory factory = new CachingURLInputStreamFactory(directory, 2 * BODY_SIZE + BODY_SIZE / 2);
+    final TextReader reader = newReader(factory);
+    final URL a = new URL(base, "a.csv");
+    final URL b = new URL(base, "b.csv");
+    final URL c = new URL(base, "c.csv");
+
+    reader.read(a);
+    reader.read(b);
+    reader.read(a); // a is now more recently used than b
+    reader.read(c); // evicts b
+    assertEquals(3, full.get());
+    assertEquals(1, notModified.get());
+    assertTrue(factory.getSize() <= 2 * BODY_SIZE + BODY_SIZE / 2);
+
+    reader.read(a);
+    assertEquals(2, notModified.get());
+    reader.read(b);
+    assertEquals(4, full.get());
+  }
+
+  @Test
+  public void persistAcrossInstances() throws Exception {
+    final URL url = new URL(base, "a.csv");
+    final List<String> expected = newReader(new CachingURLInputStreamFactory(directory, 1 << 20)).read(url);
+
+    final CachingURLInputStreamFactory factory = new CachingURLInputStreamFactory(directory, 1 << 20);
+    assertEquals(BODY_SIZE, factory.getSize());
+    assertEquals(expected, newReader(factory).read(url));
+
+    assertEquals(1, full.get());
+    assertEquals(1, notModified.get());
+  }
+
+  @Test
+  public void doNotCachePartialResponses() throws Exception {
+    final CachingURLInputStreamFactory factory = new CachingURLInputStreamFactory(directory, 1 << 20, 1, 0, 0, 0);
+    try (final InputStream is = factory.newInputStream(new URL(base, "a.csv"))) {
+      assertTrue(is.read() >= 0);
+    }
+
+    assertEquals(0, factory.getSize());
+    assertEquals(0, directory.listFiles().length);
+  }
+
+  @Test
+  public void doNotCacheWithCookies() throws Exception {
+    final CachingURLInputStreamFactory factory = new CachingURLInputStreamFactory(directory, 1 << 20);
+    final URL url = new URL(base, "a.csv");
+    for (int i = 0; i < 2; ++i) {
+      try (final InputStream is = factory.newInputStream(url, "session=1")) {
+        new TextReader().read(is);
+      }
+    }
+
+    assertEquals(2, full.get());
+    assertEquals(0, factory.getSize());
+  }
+
+  private static final TextReader newReader(final CachingURLInputStreamFactory factory) {
+    return new TextReader(Charset.defaultCharset(), factory);
+  }
+
+  private void serve(final HttpExchange exchange) throws IOException {
+    final String etag = "\"" + exchange.getRequestURI().getPath() + version + "\"";
+    final boolean isNotModified = isETagged ? etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))
+                                            : LAST_MODIFIED.equals(exchange.getRequestHeaders().getFirst("If-Modified-Since"));
+    if (isETagged) {
+      exchange.getResponseHeaders().set("ETag", etag);
+    }
+    else {
+      exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+    }
+
+    if (isNotModified) {
+      notModified.incrementAndGet();
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+
+    full.incrementAndGet();
+    final byte[] body = new byte[BODY_SIZE];
+    Arrays.fill(body, (byte) version.charAt(0));
+    for (int i = 99; i < body.length; i += 100) {
+      body[i] = '\n';
+    }
+    exchange.sendResponseHeaders(200, body.length);
+    try (final OutputStream os = exchange.getResponseBody()) {
+      os.write(body);
+    }
+  }
+
+}
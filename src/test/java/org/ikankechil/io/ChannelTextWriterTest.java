@@ -0,0 +1,136 @@
+/**
+ * ChannelTextWriterTest.java  v0.1  17 October 2026 8:51:02 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.ikankechil.io.ChannelTextWriter.Force;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>ChannelTextWriter</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class ChannelTextWriterTest extends TextIOTest {
+
+  private File             destination;
+
+  private static final int SMALL_BUFFER = 7; // lines span several buffers
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    // same source data as TextTransformerTest
+    TextIOTest.setUpBeforeClass(TextTransformerTest.class);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    destination = File.createTempFile(ChannelTextWriterTest.class.getSimpleName(), null);
+  }
+
+  @Override
+  @After
+  public void tearDown() throws Exception {
+    super.tearDown();
+    if (destination != null) {
+      destination.delete();
+      destination = null;
+    }
+  }
+
+  @Test
+  public void cannotInstantiateWithNonPositiveBufferSize() {
+    thrown.expect(IllegalArgumentException.class);
+    @SuppressWarnings("unused")
+    final ChannelTextWriter writer = new ChannelTextWriter(0, Force.NEVER);
+  }
+
+  @Test
+  public void cannotInstantiateWithNullForce() {
+    thrown.expect(NullPointerException.class);
+    @SuppressWarnings("unused")
+    final ChannelTextWriter writer = new ChannelTextWriter(SMALL_BUFFER, null);
+  }
+
+  @Test
+  public void writeFile() throws Exception {
+    new ChannelTextWriter().write(EXPECTEDS, destination);
+
+    actuals = Files.readAllLines(destination.toPath(), Charset.defaultCharset());
+    compare();
+  }
+
+  @Test
+  public void writeFileSmallBuffer() throws Exception {
+    for (final Force force : Force.values()) {
+      new ChannelTextWriter(SMALL_BUFFER, force).write(EXPECTEDS, destination);
+
+      actuals = Files.readAllLines(destination.toPath(), Charset.defaultCharset());
+      compare();
+    }
+  }
+
+  @Test
+  public void overwriteLongerFile() throws Exception {
+    new ChannelTextWriter().write(EXPECTEDS, destination);
+    final List<String> shorter = EXPECTEDS.subList(0, 1);
+    new ChannelTextWriter().write(shorter, destination);
+
+    assertEquals(shorter, Files.readAllLines(destination.toPath(), Charset.defaultCharset()));
+  }
+
+  @Test
+  public void reuseWriter() throws Exception {
+    // nothing is carried over from one write to the next
+    final ChannelTextWriter writer = new ChannelTextWriter(SMALL_BUFFER, Force.NEVER);
+    final List<String> shorter = EXPECTEDS.subList(0, 1);
+    for (int i = 0; i < 3; ++i) {
+      writer.write(EXPECTEDS, destination);
+      actuals = Files.readAllLines(destination.toPath(), Charset.defaultCharset());
+      compare();
+
+      writer.write(shorter, destination);
+      assertEquals(shorter, Files.readAllLines(destination.toPath(), Charset.defaultCharset()));
+    }
+  }
+
+  @Test
+  public void writeOutputStream() throws Exception {
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    new TextWriter().write(EXPECTEDS, expected);
+    final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    new ChannelTextWriter(SMALL_BUFFER, Force.ON_EVERY_BUFFER).write(EXPECTEDS, actual);
+
+    assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+  }
+
+  @Test
+  public void writeSurrogatePairs() throws Exception {
+    // surrogate pairs straddle buffer boundaries
+    final List<String> lines = Arrays.asList("\uD83D\uDE00\uD83D\uDE01\uD83D\uDE02", "a\uD83D\uDE03");
+    final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    new TextWriter().write(lines, expected);
+    for (int bufferSize = 1; bufferSize < 5; ++bufferSize) {
+      final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+      new ChannelTextWriter(bufferSize, Force.NEVER).write(lines, actual);
+
+      assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/**
+ * MappedTextReaderTest.java  v0.1  17 October 2026 5:31:18 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>MappedTextReader</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class MappedTextReaderTest extends TextReaderTest {
+
+  private static final ForkJoinPool POOL       = new ForkJoinPool();
+  private static final int          CHUNK_SIZE = 16; // force many chunks
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    sourceURL = new URL(BASE + "A" + PERIOD);
+
+    // same source data as TextReaderTest
+    TextIOTest.setUpBeforeClass(TextReaderTest.class);
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    sourceURL = null;
+
+    TextIOTest.tearDownAfterClass();
+  }
+
+  @Override
+  @Before
+  public void setUp() throws Exception {
+    reader = new MappedTextReader(POOL, CHUNK_SIZE);
+  }
+
+  @Test
+  public void cannotInstantiateWithNullPool() {
+    thrown.expect(NullPointerException.class);
+    @SuppressWarnings("unused")
+    final MappedTextReader nullPool = new MappedTextReader(null, CHUNK_SIZE);
+  }
+
+  @Test
+  public void cannotInstantiateWithNonPositiveChunkSize() {
+    thrown.expect(IllegalArgumentException.class);
+    @SuppressWarnings("unused")
+    final MappedTextReader zeroChunkSize = new MappedTextReader(POOL, 0);
+  }
+
+  @Test
+  public void cannotReadMissingFile() throws Exception {
+    thrown.expect(FileNotFoundException.class);
+    reader.read(new File(SOURCE_FILE.getParentFile(), "missing.csv"));
+  }
+
+  @Test
+  public void readFileInOneChunk() throws Exception {
+    actuals = new MappedTextReader(POOL, Integer.MAX_VALUE).read(SOURCE_FILE);
+    compare();
+  }
+
+  @Test
+  public void readFileOnDefaultPool() throws Exception {
+    actuals = new MappedTextReader().read(SOURCE_FILE);
+    compare();
+  }
+
+  @Test
+  public void readEmptyFile() throws Exception {
+    final File empty = File.createTempFile(MappedTextReaderTest.class.getSimpleName(), null);
+    try {
+      actuals = reader.read(empty);
+      assertNotNull(actuals);
+      assertTrue(actuals.isEmpty());
+    }
+    finally {
+      assertTrue(empty.delete());
+    }
+  }
+
+  @Test
+  public void readMixedLineTerminators() throws Exception {
+    final List<String> expecteds = Arrays.asList("first line of text",
+                                                 "",
+                                                 "third line of text",
+                                                 "fourth line of text",
+                                                 "fifth line, no terminator");
+    final File mixed = File.createTempFile(MappedTextReaderTest.class.getSimpleName(), null);
+    try {
+      try (final FileOutputStream fos = new FileOutputStream(mixed)) {
+        fos.write(("first line of text\r\n" +
+                   "\n" +
+                   "third line of text\r" +
+                   "fourth line of text\n" +
+                   "fifth line, no terminator").getBytes());
+      }
+      actuals = reader.read(mixed);
+      assertEquals(expecteds, actuals);
+    }
+    finally {
+      assertTrue(mixed.delete());
+    }
+  }
+
+}
@@ -0,0 +1,236 @@
+/**
+ * PooledURLInputStreamFactoryTest.java  v0.1  17 October 2026 10:58:12 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JUnit test for <code>PooledURLInputStreamFactory</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class PooledURLInputStreamFactoryTest {
+
+  @Rule
+  public final ExpectedException    thrown  = ExpectedException.none();
+
+  private HttpServer                server;
+  private ExecutorService           executor;
+  private URL                       base;
+
+  private final Set<Integer>        ports   = new HashSet<>();
+  private final AtomicInteger       active  = new AtomicInteger();
+  private final AtomicInteger       maximum = new AtomicInteger();
+
+  private static final List<String> LINES   = Arrays.asList("Date,Open,High,Low,Close",
+                                                            "2013-01-11,42.50,42.84,42.35,42.73",
+                                                            "2013-01-10,42.30,42.62,41.93,42.52");
+
+  @Before
+  public void setUp() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(executor);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        final int now = active.incrementAndGet();
+        for (int max; (max = maximum.get()) < now && !maximum.compareAndSet(max, now);) { /* retry */ }
+        try {
+          synchronized (ports) {
+            ports.add(exchange.getRemoteAddress().getPort());
+          }
+          Thread.sleep(20);
+
+          final boolean isMissing = exchange.getRequestURI().getPath().startsWith("/missing");
+          byte[] body = isMissing ? "Not Found".getBytes() : toBytes(LINES);
+          if (exchange.getRequestURI().getPath().startsWith("/gzip")) {
+            body = gzip(body);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+          }
+          exchange.sendResponseHeaders(isMissing ? 404 : 200, body.length);
+          try (final OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+          }
+        }
+        catch (final InterruptedException iE) {
+          Thread.currentThread().interrupt();
+        }
+        finally {
+          active.decrementAndGet();
+        }
+      }
+    });
+    server.start();
+    base = new URL("http", "127.0.0.1", server.getAddress().getPort(), "/");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void cannotInstantiateWithNonPositiveConnectionsPerHost() {
+    thrown.expect(IllegalArgumentException.class);
+    new PooledURLInputStreamFactory(0, 0, 0, 0);
+  }
+
+  @Test
+  public void cannotInstantiateWithNegativeTimeouts() {
+    thrown.expect(IllegalArgumentException.class);
+    new PooledURLInputStreamFactory(1, -1, 0, 0);
+  }
+
+  @Test
+  public void cannotInstantiateWithOneReadAheadBuffer() {
+    thrown.expect(IllegalArgumentException.class);
+    new PooledURLInputStreamFactory(1, 0, 0, 0, 1);
+  }
+
+  @Test
+  public void reuseConnections() throws Exception {
+    final TextReader reader = new TextReader(Charset.defaultCharset(), new PooledURLInputStreamFactory());
+    for (int i = 0; i < 10; ++i) {
+      assertEquals(LINES, reader.read(new URL(base, "data" + i + ".csv")));
+    }
+
+    // sequential requests share one persistent connection
+    assertEquals(1, ports.size());
+  }
+
+  @Test
+  public void closeConnectionsWithoutKeepAlive() throws Exception {
+    final PooledURLInputStreamFactory factory = new PooledURLInputStreamFactory(1, 0, 0, 1024, 0, false);
+    assertFalse(factory.isKeepAlive());
+    final TextReader reader = new TextReader(Charset.defaultCharset(), factory);
+    for (int i = 0; i < 3; ++i) {
+      assertEquals(LINES, reader.read(new URL(base, "data" + i + ".csv")));
+    }
+
+    // a new connection for each request
+    assertEquals(3, ports.size());
+  }
+
+  @Test
+  public void limitConnectionsPerHost() throws Exception {
+    final PooledURLInputStreamFactory factory = new PooledURLInputStreamFactory(2, 0, 0, 1024);
+    final TextReader reader = new TextReader(Charset.defaultCharset(), factory);
+    final ExecutorService readers = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<List<String>>> futures = new ArrayList<>();
+      for (int i = 0; i < 16; ++i) {
+        final URL url = new URL(base, "data" + i + ".csv");
+        futures.add(readers.submit(new Callable<List<String>>() {
+          @Override
+          public List<String> call() throws Exception {
+            return reader.read(url);
+          }
+        }));
+      }
+      for (final Future<List<String>> future : futures) {
+        assertEquals(LINES, future.get());
+      }
+    }
+    finally {
+      readers.shutdown();
+    }
+
+    assertTrue(maximum.get() <= factory.getMaxConnectionsPerHost());
+    assertTrue(ports.size() <= factory.getMaxConnectionsPerHost());
+  }
+
+  @Test
+  public void releaseConnectionOnError() throws Exception {
+    final PooledURLInputStreamFactory factory = new PooledURLInputStreamFactory(1, 0, 0, 1024);
+    try {
+      factory.newInputStream(new URL(base, "missing.csv"));
+      fail();
+    }
+    catch (final FileNotFoundException fnfE) {
+      // expected
+    }
+
+    // would block forever if the connection had not been released
+    try (final InputStream is = factory.newInputStream(new URL(base, "data.csv"))) {
+      assertEquals(LINES, new TextReader().read(is));
+    }
+  }
+
+  @Test
+  public void releaseConnectionOnEarlyClose() throws Exception {
+    final PooledURLInputStreamFactory factory = new PooledURLInputStreamFactory(1, 0, 0, 1024);
+    for (int i = 0; i < 3; ++i) {
+      try (final InputStream is = factory.newInputStream(new URL(base, "data.csv"))) {
+        assertEquals(LINES.get(0).charAt(0), is.read());
+      }
+    }
+
+    // unread remainders are drained so that the connection is reused
+    assertEquals(1, ports.size());
+  }
+
+  @Test
+  public void readEncodedContentAhead() throws Exception {
+    final PooledURLInputStreamFactory factory = new PooledURLInputStreamFactory(1, 0, 0, 1024, 2);
+    try (final InputStream is = factory.newInputStream(new URL(base, "gzip.csv"))) {
+      assertEquals(LINES, new TextReader().read(is));
+    }
+    try (final InputStream is = factory.newInputStream(new URL(base, "data.csv"))) {
+      assertEquals(LINES, new TextReader().read(is));
+    }
+  }
+
+  private static final byte[] gzip(final byte[] bytes) throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (final GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+      gzip.write(bytes);
+    }
+    return baos.toByteArray();
+  }
+
+  private static final byte[] toBytes(final List<String> lines) {
+    final StringBuilder builder = new StringBuilder();
+    for (final String line : lines) {
+      builder.append(line).append('\n');
+    }
+    return builder.toString().getBytes();
+  }
+
+}
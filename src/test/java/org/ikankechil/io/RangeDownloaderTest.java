@@ -0,0 +1,265 @@
+/**
+ * RangeDownloaderTest.java  v0.1  17 October 2026 11:52:09 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * JUnit test for <code>RangeDownloader</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class RangeDownloaderTest {
+
+  @Rule
+  public final ExpectedException thrown        = ExpectedException.none();
+
+  private HttpServer             server;
+  private ExecutorService        executor;
+  private URL                    source;
+  private File                   destination;
+
+  private volatile boolean       isRanged      = true;
+  private volatile String        etag          = "\"v1\"";
+  private final AtomicInteger    truncations   = new AtomicInteger();
+  private volatile long          failFrom      = Long.MAX_VALUE;
+  private final AtomicInteger    rangeRequests = new AtomicInteger();
+  // bytes served in ranges
+  private final AtomicLong       served        = new AtomicLong();
+
+  private static final byte[]    DATA          = new byte[1 << 20];
+  private static final int       RANGE_SIZE    = 1 << 16;
+
+  static {
+    new Random(42).nextBytes(DATA);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.setExecutor(executor);
+    server.createContext("/", new HttpHandler() {
+      @Override
+      public void handle(final HttpExchange exchange) throws IOException {
+        serve(exchange);
+      }
+    });
+    server.start();
+    source = new URL("http", "127.0.0.1", server.getAddress().getPort(), "/data.bin");
+    destination = File.createTempFile(RangeDownloaderTest.class.getSimpleName(), null);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    server.stop(0);
+    executor.shutdownNow();
+    destination.delete();
+    new File(destination.getPath() + ".progress").delete();
+  }
+
+  @Test
+  public void cannotInstantiateWithNonPositiveRangeSize() {
+    thrown.expect(IllegalArgumentException.class);
+    new RangeDownloader(1, 0, 0);
+  }
+
+  @Test
+  public void cannotInstantiateWithNegativeRetries() {
+    thrown.expect(IllegalArgumentException.class);
+    new RangeDownloader(1, 1, -1);
+  }
+
+  @Test
+  public void downloadInRanges() throws Exception {
+    assertEquals(DATA.length, new RangeDownloader(4, RANGE_SIZE, 0).download(source, destination));
+
+    assertArrayEquals(DATA, Files.readAllBytes(destination.toPath()));
+    assertEquals(DATA.length / RANGE_SIZE, rangeRequests.get());
+    assertFalse(progressFile().exists());
+  }
+
+  @Test
+  public void downloadOverSingleStreamWithoutRanges() throws Exception {
+    isRanged = false;
+    assertEquals(DATA.length, new RangeDownloader(4, RANGE_SIZE, 0).download(source, destination));
+
+    assertArrayEquals(DATA, Files.readAllBytes(destination.toPath()));
+    assertEquals(0, rangeRequests.get());
+  }
+
+  @Test
+  public void downloadSmallResourceOverSingleStream() throws Exception {
+    assertEquals(DATA.length, new RangeDownloader(4, DATA.length, 0).download(source, destination));
+
+    assertArrayEquals(DATA, Files.readAllBytes(destination.toPath()));
+    assertEquals(0, rangeRequests.get());
+  }
+
+  @Test
+  public void resumeInterruptedRanges() throws Exception {
+    truncations.set(3);
+    // enough retries even if every truncation hits the same range
+    new RangeDownloader(4, RANGE_SIZE, 3).download(source, destination);
+
+    assertArrayEquals(DATA, Files.readAllBytes(destination.toPath()));
+    assertEquals(DATA.length / RANGE_SIZE + 3, rangeRequests.get());
+  }
+
+  @Test
+  public void resumeFailedDownload() throws Exception {
+    failFrom = DATA.length / 2;
+    try { // one range at a time, so that none is in flight on failure
+      new RangeDownloader(1, RANGE_SIZE, 0).download(source, destination);
+      fail();
+    }
+    catch (final IOException ioE) {
+      assertTrue(progressFile().exists());
+    }
+
+    failFrom = Long.MAX_VALUE;
+    served.set(0);
+    new RangeDownloader(2, RANGE_SIZE, 0).download(source, destination);
+
+    assertArrayEquals(DATA, Files.readAllBytes(destination.toPath()));
+    // completed ranges are not downloaded again
+    assertTrue(served.get() <= DATA.length / 2 + RANGE_SIZE);
+    assertFalse(progressFile().exists());
+  }
+
+  @Test
+  public void restartWhenResourceChanged() throws Exception {
+    failFrom = DATA.length / 2;
+    try { // one range at a time, so that none is in flight on failure
+      new RangeDownloader(1, RANGE_SIZE, 0).download(source, destination);
+      fail();
+    }
+    catch (final IOException ioE) {
+      assertTrue(progressFile().exists());
+    }
+
+    failFrom = Long.MAX_VALUE;
+    etag = "\"v2\"";
+    served.set(0);
+    new RangeDownloader(2, RANGE_SIZE, 0).download(source, destination);
+
+    assertArrayEquals(DATA, Files.readAllBytes(destination.toPath()));
+    assertEquals(DATA.length, served.get());
+  }
+
+  @Test
+  public void restartWhenDestinationDeleted() throws Exception {
+    failFrom = DATA.length / 2;
+    try { // one range at a time, so that none is in flight on failure
+      new RangeDownloader(1, RANGE_SIZE, 0).download(source, destination);
+      fail();
+    }
+    catch (final IOException ioE) {
+      assertTrue(progressFile().exists());
+    }
+
+    failFrom = Long.MAX_VALUE;
+    assertTrue(destination.delete());
+    served.set(0);
+    new RangeDownloader(2, RANGE_SIZE, 0).download(source, destination);
+
+    assertArrayEquals(DATA, Files.readAllBytes(destination.toPath()));
+    assertEquals(DATA.length, served.get());
+  }
+
+  @Test
+  public void newInputStream() throws Exception {
+    final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    try (final InputStream is = new RangeDownloader(4, RANGE_SIZE, 0).newInputStream(source)) {
+      final byte[] buffer = new byte[8192];
+      for (int read; (read = is.read(buffer)) >= 0;) {
+        actual.write(buffer, 0, read);
+      }
+    }
+
+    assertArrayEquals(DATA, actual.toByteArray());
+  }
+
+  private File progressFile() {
+    return new File(destination.getPath() + ".progress");
+  }
+
+  private void serve(final HttpExchange exchange) throws IOException {
+    if (isRanged) {
+      exchange.getResponseHeaders().set("Accept-Ranges", "bytes");
+    }
+    exchange.getResponseHeaders().set("ETag", etag);
+
+    if ("HEAD".equals(exchange.getRequestMethod())) {
+      exchange.getResponseHeaders().set("Content-Length", String.valueOf(DATA.length));
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+      return;
+    }
+
+    int from = 0;
+    int to = DATA.length - 1;
+    final String range = exchange.getRequestHeaders().getFirst("Range");
+    final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+    final boolean isPartial = isRanged && range != null && (ifRange == null || ifRange.equals(etag));
+    if (isPartial) {
+      rangeRequests.incrementAndGet();
+      final String[] bounds = range.substring("bytes=".length()).split("-");
+      from = Integer.parseInt(bounds[0]);
+      to = Integer.parseInt(bounds[1]);
+      if (from >= failFrom) {
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+        return;
+      }
+      exchange.getResponseHeaders().set("Content-Range", "bytes " + from + '-' + to + '/' + DATA.length);
+    }
+
+    final int length = to - from + 1;
+    exchange.sendResponseHeaders(isPartial ? 206 : 200, length);
+    final OutputStream os = exchange.getResponseBody();
+    if (isPartial && truncations.getAndDecrement() > 0) {
+      // cut the response short
+      os.write(DATA, from, length / 2);
+      served.addAndGet(length / 2);
+      os.flush();
+      exchange.close(); // drops the connection
+      return;
+    }
+    os.write(DATA, from, length);
+    if (isPartial) { // full responses to stale ranges are discarded
+      served.addAndGet(length);
+    }
+    os.close();
+  }
+
+}
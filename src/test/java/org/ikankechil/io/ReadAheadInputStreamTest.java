@@ -0,0 +1,128 @@
+/**
+ * ReadAheadInputStreamTest.java  v0.1  18 October 2026 2:21:05 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * JUnit test for <code>ReadAheadInputStream</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class ReadAheadInputStreamTest {
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+
+  private static final byte[]    DATA   = new byte[100000];
+
+  static {
+    new Random(42).nextBytes(DATA);
+  }
+
+  @Test
+  public void cannotInstantiateWithNullSource() {
+    thrown.expect(NullPointerException.class);
+    new ReadAheadInputStream(null);
+  }
+
+  @Test
+  public void cannotInstantiateWithOneBuffer() {
+    thrown.expect(IllegalArgumentException.class);
+    new ReadAheadInputStream(new ByteArrayInputStream(DATA), 1, 1024);
+  }
+
+  @Test
+  public void readAhead() throws Exception {
+    try (final InputStream is = new ReadAheadInputStream(new ByteArrayInputStream(DATA), 2, 1000)) {
+      assertArrayEquals(DATA, readAll(is));
+      assertEquals(-1, is.read());
+    }
+  }
+
+  @Test
+  public void readAheadByteByByte() throws Exception {
+    final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    try (final InputStream is = new ReadAheadInputStream(new ByteArrayInputStream(DATA), 3, 777)) {
+      for (int b; (b = is.read()) >= 0;) {
+        actual.write(b);
+      }
+    }
+    assertArrayEquals(DATA, actual.toByteArray());
+  }
+
+  @Test
+  public void readEmptyStream() throws Exception {
+    try (final InputStream is = new ReadAheadInputStream(new ByteArrayInputStream(new byte[0]))) {
+      assertEquals(-1, is.read());
+      assertEquals(-1, is.read(new byte[10]));
+    }
+  }
+
+  @Test
+  public void rethrowReadFailures() throws Exception {
+    final InputStream failing = new ByteArrayInputStream(DATA) {
+      @Override
+      public synchronized int read(final byte[] b, final int off, final int len) {
+        if (pos >= DATA.length / 2) {
+          throw new IllegalStateException("Broken");
+        }
+        return super.read(b, off, Math.min(len, 1000));
+      }
+    };
+    try (final InputStream is = new ReadAheadInputStream(failing, 2, 1000)) {
+      thrown.expect(IOException.class);
+      readAll(is);
+    }
+  }
+
+  @Test
+  public void stopReadingAheadOnClose() throws Exception {
+    final CountDownLatch closed = new CountDownLatch(1);
+    final InputStream endless = new InputStream() {
+      @Override
+      public int read() {
+        return 0;
+      }
+
+      @Override
+      public void close() {
+        closed.countDown();
+      }
+    };
+
+    final InputStream is = new ReadAheadInputStream(endless, 2, 1024);
+    assertEquals(0, is.read());
+    is.close();
+    assertTrue(closed.await(1, TimeUnit.SECONDS));
+
+    thrown.expect(IOException.class);
+    is.read();
+  }
+
+  private static final byte[] readAll(final InputStream is) throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    final byte[] buffer = new byte[4096];
+    for (int read; (read = is.read(buffer)) >= 0;) {
+      baos.write(buffer, 0, read);
+    }
+    return baos.toByteArray();
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * TextLineTest.java  v0.1  17 October 2026 6:20:51 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * JUnit test for <code>TextLine</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class TextLineTest {
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+
+  private static final String    TEXT   = "2013-01-07,42.02,42.42,41.63,42.05,3400300,41.84";
+  private static final byte[]    BYTES  = ("xx" + TEXT + "yy").getBytes();
+
+  private static final TextLine newView() {
+    return new TextLine(0).set(BYTES, 2, TEXT.length());
+  }
+
+  @Test
+  public void viewDoesNotCopy() throws Exception {
+    final TextLine line = newView();
+
+    assertEquals(TEXT.length(), line.length());
+    assertEquals(TEXT, line.toString());
+    for (int i = 0; i < TEXT.length(); ++i) {
+      assertEquals(TEXT.charAt(i), line.charAt(i));
+    }
+
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    line.writeTo(baos);
+    assertEquals(TEXT, baos.toString());
+  }
+
+  @Test
+  public void subSequence() throws Exception {
+    final TextLine line = newView();
+    final int comma = line.indexOf(',', 0);
+
+    assertEquals(TEXT.indexOf(','), comma);
+    assertEquals(TEXT.substring(0, comma), line.subSequence(0, comma).toString());
+    assertEquals(TEXT.indexOf(',', comma + 1), line.indexOf(',', comma + 1));
+    assertEquals(-1, line.indexOf('|', 0));
+  }
+
+  @Test
+  public void appendCopiesOnWrite() throws Exception {
+    final TextLine line = newView();
+    line.append('!');
+
+    assertEquals(TEXT + '!', line.toString());
+    assertEquals("xx" + TEXT + "yy", new String(BYTES)); // source untouched
+  }
+
+  @Test
+  public void appendBeyondCapacity() throws Exception {
+    final TextLine line = new TextLine(1);
+    line.append(newView(), 0, 10).append(',').append("Close");
+
+    assertEquals(TEXT.substring(0, 10) + ",Close", line.toString());
+    assertEquals(0, line.clear().length());
+  }
+
+  @Test
+  public void cannotReadBeyondLength() throws Exception {
+    thrown.expect(IndexOutOfBoundsException.class);
+    newView().charAt(TEXT.length());
+  }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * TextPipelineTest.java  v0.1  17 October 2026 8:05:47 PM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.io;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.ikankechil.io.TextTransformerTest.TestTextTransform;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>TextPipeline</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class TextPipelineTest extends TextIOTest {
+
+  private static final TextReader    READER       = new TextReader();
+  private static final TextTransform TRANSFORM    = new TestTextTransform();
+
+  private static final List<String>  TRANSFORMEDS = new ArrayList<>();
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    // same source data as TextTransformerTest
+    TextIOTest.setUpBeforeClass(TextTransformerTest.class);
+
+    TRANSFORMEDS.clear();
+    for (final String line : EXPECTEDS) {
+      TRANSFORMEDS.add(TRANSFORM.transform(line));
+    }
+  }
+
+  @Test
+  public void cannotInstantiateWithNullReader() {
+    thrown.expect(NullPointerException.class);
+    @SuppressWarnings("unused")
+    final TextPipeline nullReader = new TextPipeline(null, TRANSFORM);
+  }
+
+  @Test
+  public void cannotInstantiateWithNullTransform() {
+    thrown.expect(NullPointerException.class);
+    @SuppressWarnings("unused")
+    final TextPipeline nullTransform = new TextPipeline(READER, null);
+  }
+
+  @Test
+  public void pipe() throws Exception {
+    // one line per batch, one batch per queue
+    final TextPipeline pipeline = new TextPipeline(READER, TRANSFORM, 0, false, 1, 1, 1);
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+
+    assertEquals(TRANSFORMEDS.size(), pipeline.run(newInputStream(), destination));
+    assertEquals(TRANSFORMEDS, toLines(destination));
+  }
+
+  @Test
+  public void pipeSkipRows() throws Exception {
+    final int skippedRows = 3;
+    final TextPipeline pipeline = new TextPipeline(READER, TRANSFORM, skippedRows, false);
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+
+    assertEquals(TRANSFORMEDS.size() - skippedRows, pipeline.run(newInputStream(), destination));
+    assertEquals(TRANSFORMEDS.subList(skippedRows, TRANSFORMEDS.size()), toLines(destination));
+  }
+
+  @Test
+  public void pipeReverseOrderInMemory() throws Exception {
+    final int skippedRows = 2;
+    final List<String> expecteds = new ArrayList<>(TRANSFORMEDS.subList(skippedRows, TRANSFORMEDS.size()));
+    Collections.reverse(expecteds);
+
+    final TextPipeline pipeline = new TextPipeline(READER, TRANSFORM, skippedRows, true);
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+
+    assertEquals(expecteds.size(), pipeline.run(newInputStream(), destination));
+    assertEquals(expecteds, toLines(destination));
+  }
+
+  @Test
+  public void pipeReverseOrderSpilled() throws Exception {
+    final List<String> expecteds = new ArrayList<>(TRANSFORMEDS);
+    Collections.reverse(expecteds);
+
+    // runs of 2 lines, hence several spill files
+    final TextPipeline pipeline = new TextPipeline(READER, TRANSFORM, 0, true, 1, 1, 2);
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+
+    assertEquals(expecteds.size(), pipeline.run(newInputStream(), destination));
+    assertEquals(expecteds, toLines(destination));
+  }
+
+  @Test
+  public void readFailurePropagates() throws Exception {
+    final InputStream failing = new InputStream() {
+      @Override
+      public int read() throws IOException {
+        throw new IOException("Read failure");
+      }
+    };
+
+    thrown.expect(IOException.class);
+    new TextPipeline(READER, TRANSFORM).run(failing, new ByteArrayOutputStream());
+  }
+
+  @Test
+  public void transformFailurePropagates() throws Exception {
+    final TextTransform failing = new TextTransform() {
+      @Override
+      public String transform(final String line) {
+        throw new IllegalStateException("Transform failure");
+      }
+    };
+
+    thrown.expect(IllegalStateException.class);
+    new TextPipeline(READER, failing, 0, false, 1, 1, 1).run(newInputStream(), new ByteArrayOutputStream());
+  }
+
+  private static final InputStream newInputStream() {
+    final StringBuilder builder = new StringBuilder();
+    for (final String line : EXPECTEDS) {
+      builder.append(line).append(System.getProperty("line.separator"));
+    }
+    return new ByteArrayInputStream(builder.toString().getBytes());
+  }
+
+  private static final List<String> toLines(final ByteArrayOutputStream destination) {
+    return Arrays.asList(destination.toString().split(System.getProperty("line.separator")));
+  }
+
+}
@@ -7,9 +7,14 @@ package org.ikankechil.io;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -103,6 +108,89 @@ public class TextReaderTest extends TextIOTest {
     }
   }
 
+  @Test
+  public void readFileByLine() throws Exception {
+    actuals = new ArrayList<>();
+    final long lines = reader.read(SOURCE_FILE, new Collector(actuals));
+
+    assertEquals(EXPECTEDS.size(), lines);
+    compare();
+  }
+
+  @Test
+  public void readInputStreamByLine() throws Exception {
+    try (FileInputStream fis = new FileInputStream(SOURCE_FILE)) {
+      actuals = new ArrayList<>();
+      final long lines = reader.read(fis, new Collector(actuals));
+
+      assertEquals(EXPECTEDS.size(), lines);
+      compare();
+    }
+  }
+
+  @Test
+  public void readFileAsTextLines() throws Exception {
+    actuals = new ArrayList<>();
+    final long lines = reader.readLines(SOURCE_FILE, new LineCollector(actuals));
+
+    assertEquals(EXPECTEDS.size(), lines);
+    compare();
+  }
+
+  @Test
+  public void readLongTextLines() throws Exception {
+    // lines longer than the read buffer, with mixed terminators
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100000; ++i) {
+      builder.append((char) ('a' + i % 26));
+    }
+    final String longLine = builder.toString();
+    final byte[] bytes = (longLine + "\r\n\r" + longLine + '\n' + longLine).getBytes();
+
+    final List<String> lines = new ArrayList<>();
+    assertEquals(4, reader.readLines(new ByteArrayInputStream(bytes), new LineCollector(lines)));
+    assertEquals(longLine, lines.get(0));
+    assertEquals("", lines.get(1));
+    assertEquals(longLine, lines.get(2));
+    assertEquals(longLine, lines.get(3));
+  }
+
+  @Test
+  public void cannotInstantiateWithNullCharset() {
+    thrown.expect(NullPointerException.class);
+    new TextReader(null);
+  }
+
+  @Test
+  public void readSingleByteCharsets() throws Exception {
+    final String text = "caf\u00E9 \u00A3\u00FF\r\nna\u00EFve\rend";
+    for (final Charset charset : new Charset[] { StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII }) {
+      final List<String> expecteds = new TextReader(StandardCharsets.UTF_8).read(new ByteArrayInputStream(new String(text.getBytes(charset), charset).getBytes(StandardCharsets.UTF_8)));
+      final List<String> lines = new TextReader(charset).read(new ByteArrayInputStream(text.getBytes(charset)));
+
+      assertEquals(charset.name(), expecteds, lines);
+      assertEquals(3, lines.size());
+    }
+  }
+
+  @Test
+  public void readUTF8() throws Exception {
+    final String text = "caf\u00E9\n\u65E5\u672C\uD83D\uDE00\n";
+    final TextReader utf8 = new TextReader(StandardCharsets.UTF_8);
+
+    final List<String> lines = utf8.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+    assertEquals(2, lines.size());
+    assertEquals("caf\u00E9", lines.get(0));
+    assertEquals("\u65E5\u672C\uD83D\uDE00", lines.get(1));
+    assertEquals(StandardCharsets.UTF_8, utf8.getCharset());
+  }
+
+  @Test
+  public void cannotReadWithNullHandler() throws Exception {
+    thrown.expect(NullPointerException.class);
+    reader.read(SOURCE_FILE, null);
+  }
+
   @Ignore@Test
   public void readFileSpeed() throws Exception {
     for (int i = 0; i < 1024; ++i) {
@@ -122,4 +210,34 @@ public class TextReaderTest extends TextIOTest {
     }
   }
 
+  static final class Collector implements TextHandler {
+
+    private final List<String> lines;
+
+    Collector(final List<String> lines) {
+      this.lines = lines;
+    }
+
+    @Override
+    public void handle(final String line) {
+      lines.add(line);
+    }
+
+  }
+
+  static final class LineCollector implements TextLineHandler {
+
+    private final List<String> lines;
+
+    LineCollector(final List<String> lines) {
+      this.lines = lines;
+    }
+
+    @Override
+    public void handle(final TextLine line) {
+      lines.add(line.toString());
+    }
+
+  }
+
 }
@@ -7,9 +7,15 @@ package org.ikankechil.io;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -139,7 +145,187 @@ public class TextTransformerTest extends TextIOTest {
     }
   }
 
-  public static class TestTextTransform implements TextTransform {
+  @Test
+  public void transformSkipRowsReverseOrder() throws Exception {
+    final int skippedRows = 2;
+    final List<String> expecteds = new ArrayList<>(EXPECTEDS.subList(skippedRows, EXPECTEDS.size()));
+    Collections.reverse(expecteds);
+
+    final List<String> sourceLines = Source.newLines();
+    actuals = new TextTransformer(TRANSFORM, skippedRows, true).transform(sourceLines);
+    assertSame(sourceLines, actuals);
+    assertEquals(expecteds, actuals);
+  }
+
+  @Test
+  public void skipMoreRowsThanAvailable() throws Exception {
+    final List<String> sourceLines = Source.newLines();
+    actuals = new TextTransformer(TRANSFORM, sourceLines.size() + 1, true).transform(sourceLines);
+    assertTrue(actuals.isEmpty());
+  }
+
+  @Test
+  public void transformToSink() throws Exception {
+    final int skippedRows = 2;
+    final List<String> expecteds = new ArrayList<>(EXPECTEDS.subList(skippedRows, EXPECTEDS.size()));
+    Collections.reverse(expecteds);
+
+    final List<String> sourceLines = Source.newLines();
+    actuals = new ArrayList<>();
+    final long lines = new TextTransformer(TRANSFORM, skippedRows, true).transform(sourceLines,
+                                                                                  new TextReaderTest.Collector(actuals));
+    assertEquals(expecteds.size(), lines);
+    assertEquals(expecteds, actuals);
+    assertEquals(Source.newLines(), sourceLines); // source untouched
+  }
+
+  @Test
+  public void transformToSinkInParallel() throws Exception {
+    final int copies = 1000;
+    final int skippedRows = 3;
+    final List<String> sourceLines = new ArrayList<>();
+    final List<String> expecteds = new ArrayList<>();
+    for (int i = 0; i < copies; ++i) {
+      sourceLines.addAll(Source.newLines());
+      expecteds.addAll(EXPECTEDS);
+    }
+    expecteds.subList(0, skippedRows).clear();
+    Collections.reverse(expecteds);
+    final TextTransformer parallel = new TextTransformer(new StatelessTestTextTransform(), skippedRows, true);
+
+    actuals = new ArrayList<>(expecteds.size());
+    assertEquals(expecteds.size(), parallel.transform(sourceLines, new TextReaderTest.Collector(actuals)));
+    assertEquals(expecteds, actuals);
+  }
+
+  @Test
+  public void cannotTransformToNullSink() throws Exception {
+    thrown.expect(NullPointerException.class);
+    transformer.transform(Source.newLines(), null);
+  }
+
+  @Test
+  public void cannotTransformStatefulTransformInParallel() {
+    thrown.expect(IllegalArgumentException.class);
+    @SuppressWarnings("unused")
+    final TextTransformer parallel = new TextTransformer(TRANSFORM, 0, false, new ForkJoinPool());
+  }
+
+  @Test
+  public void transformInParallel() throws Exception {
+    final int copies = 1000;
+    final List<String> sourceLines = new ArrayList<>();
+    final List<String> expecteds = new ArrayList<>();
+    for (int i = 0; i < copies; ++i) {
+      sourceLines.addAll(Source.newLines());
+      expecteds.addAll(EXPECTEDS);
+    }
+    final TextTransformer parallel = new TextTransformer(new StatelessTestTextTransform());
+
+    actuals = parallel.transform(sourceLines);
+    assertSame(sourceLines, actuals);
+    assertEquals(expecteds, actuals);
+  }
+
+  @Test
+  public void transformInParallelSkipRowsReverseOrder() throws Exception {
+    final int copies = 1000;
+    final int skippedRows = 3;
+    final List<String> sourceLines = new ArrayList<>();
+    final List<String> expecteds = new ArrayList<>();
+    for (int i = 0; i < copies; ++i) {
+      sourceLines.addAll(Source.newLines());
+      expecteds.addAll(EXPECTEDS);
+    }
+    expecteds.subList(0, skippedRows).clear();
+    Collections.reverse(expecteds);
+    final TextTransformer parallel = new TextTransformer(new StatelessTestTextTransform(),
+                                                         skippedRows,
+                                                         true,
+                                                         new ForkJoinPool());
+
+    actuals = parallel.transform(sourceLines);
+    assertEquals(expecteds, actuals);
+  }
+
+  @Test
+  public void transformStream() throws Exception {
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+    final long lines = transformer.transform(newInputStream(), destination);
+
+    assertEquals(EXPECTEDS.size(), lines);
+    actuals = toLines(destination);
+    compare();
+  }
+
+  @Test
+  public void transformStreamDecoded() throws Exception {
+    // plain TextTransform falls back to String
+    final TextTransformer decoded = new TextTransformer(new TextTransform() {
+      @Override
+      public String transform(final String line) {
+        return TRANSFORM.transform(line);
+      }
+    });
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+    final long lines = decoded.transform(newInputStream(), destination);
+
+    assertEquals(EXPECTEDS.size(), lines);
+    actuals = toLines(destination);
+    compare();
+  }
+
+  @Test
+  public void transformStreamInCharset() throws Exception {
+    final Charset iso88591 = Charset.forName("ISO-8859-1");
+    final TextTransformer upper = new TextTransformer(new TextTransform() {
+      @Override
+      public String transform(final String line) {
+        return line.toUpperCase();
+      }
+    }, 0, false, iso88591);
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+    final String separator = System.getProperty("line.separator");
+    final long lines = upper.transform(new ByteArrayInputStream(("caf\u00e9" + separator).getBytes(iso88591)),
+                                       destination);
+
+    assertEquals(1, lines);
+    assertEquals("CAF\u00c9" + separator, new String(destination.toByteArray(), iso88591));
+  }
+
+  @Test
+  public void transformStreamSkipRows() throws Exception {
+    final int skippedRows = 3;
+    final ByteArrayOutputStream destination = new ByteArrayOutputStream();
+    final long lines = new TextTransformer(TRANSFORM, skippedRows, false).transform(newInputStream(), destination);
+
+    assertEquals(EXPECTEDS.size() - skippedRows, lines);
+    assertEquals(EXPECTEDS.subList(skippedRows, EXPECTEDS.size()), toLines(destination));
+  }
+
+  @Test
+  public void cannotTransformStreamInReverseOrder() throws Exception {
+    thrown.expect(UnsupportedOperationException.class);
+    new TextTransformer(TRANSFORM, 0, true).transform(newInputStream(), new ByteArrayOutputStream());
+  }
+
+  private static final InputStream newInputStream() {
+    final StringBuilder builder = new StringBuilder();
+    for (final String line : Source.newLines()) {
+      builder.append(line).append(System.getProperty("line.separator"));
+    }
+    return new ByteArrayInputStream(builder.toString().getBytes());
+  }
+
+  private static final List<String> toLines(final ByteArrayOutputStream destination) {
+    return new ArrayList<>(Arrays.asList(destination.toString().split(System.getProperty("line.separator"))));
+  }
+
+  public static class StatelessTestTextTransform extends TestTextTransform implements StatelessTextTransform {
+    // stateless as is
+  }
+
+  public static class TestTextTransform implements TextLineTransform {
 
     @Override
     public String transform(final String line) {
@@ -164,6 +350,17 @@ public class TextTransformerTest extends TextIOTest {
       return result;
     }
 
+    @Override
+    public void transform(final TextLine line, final TextLine result) {
+      // YYYY-MM-DD -> DD/MM/YYYY without decoding
+      result.append(line, 8, 10)
+            .append(SLASH)
+            .append(line, 5, 7)
+            .append(SLASH)
+            .append(line, 0, 4)
+            .append(line, 10, line.length());
+    }
+
   }
 
 }
@@ -5,9 +5,15 @@
  */
 package org.ikankechil.io;
 
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Before;
@@ -53,4 +59,41 @@ public class TextWriterTest extends TextIOTest {
     compare();
   }
 
+  @Test
+  public void cannotInstantiateWithNullCharset() {
+    thrown.expect(NullPointerException.class);
+    new TextWriter(null);
+  }
+
+  @Test
+  public void writeSingleByteCharsets() throws Exception {
+    // mappable, unmappable and surrogate pairs, some longer than the buffer
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 10000; ++i) {
+      builder.append("a\u00E9\u20AC\uD83D\uDE00");
+    }
+    final List<String> lines = Arrays.asList("caf\u00E9 \u00A3\u00FF", "", "\u65E5\uD83D\uDE00x\uD83D", builder.toString());
+
+    for (final Charset charset : new Charset[] { StandardCharsets.ISO_8859_1, StandardCharsets.US_ASCII }) {
+      final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      for (final String line : lines) {
+        expected.write((line + System.getProperty("line.separator")).getBytes(charset));
+      }
+      final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+      new TextWriter(charset).write(lines, actual);
+
+      assertArrayEquals(charset.name(), expected.toByteArray(), actual.toByteArray());
+    }
+  }
+
+  @Test
+  public void writeUTF8() throws Exception {
+    final List<String> lines = Arrays.asList("caf\u00E9", "\u65E5\u672C\uD83D\uDE00");
+    final TextWriter utf8 = new TextWriter(StandardCharsets.UTF_8);
+    utf8.write(lines, destination);
+
+    assertEquals(lines, Files.readAllLines(destination.toPath(), StandardCharsets.UTF_8));
+    assertEquals(StandardCharsets.UTF_8, utf8.getCharset());
+  }
+
 }
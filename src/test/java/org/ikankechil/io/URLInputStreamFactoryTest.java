@@ -7,11 +7,15 @@ package org.ikankechil.io;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Field;
 import java.net.URL;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 import java.util.zip.InflaterInputStream;
 
 import org.junit.Test;
@@ -37,6 +41,9 @@ public class URLInputStreamFactoryTest {
 
   private static final String    COOKIE          = "Cookie";
 
+  private static final byte[]    CONTENT         = "Date,Open,High,Low,Close\n".getBytes();
+  private static final String    INVERTED        = "x-inverted";
+
   static {
     try {
       final Field field = URLInputStreamFactory.class.getDeclaredField("isTransparentEncoding");
@@ -49,6 +56,29 @@ public class URLInputStreamFactoryTest {
            IllegalAccessException e) {
       isTransparentEncoding = false;
     }
+
+    // inverts every byte
+    URLInputStreamFactory.registerDecoder(INVERTED, new ContentDecoder() {
+      @Override
+      public InputStream decode(final InputStream encoded) {
+        return new FilterInputStream(encoded) {
+          @Override
+          public int read() throws IOException {
+            final int b = super.read();
+            return (b < 0) ? b : ~b & 0xFF;
+          }
+
+          @Override
+          public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            for (int i = off; i < off + read; ++i) {
+              b[i] = (byte) ~b[i];
+            }
+            return read;
+          }
+        };
+      }
+    });
   }
 
   @Test(expected=NullPointerException.class)
@@ -85,6 +115,43 @@ public class URLInputStreamFactoryTest {
     }
   }
 
+  @Test(expected=NullPointerException.class)
+  public void cannotRegisterNullDecoder() {
+    URLInputStreamFactory.registerDecoder("x-null", null);
+  }
+
+  @Test
+  public void decodableEncodings() {
+    assertTrue(URLInputStreamFactory.getDecodableEncodings().contains("gzip"));
+    assertTrue(URLInputStreamFactory.getDecodableEncodings().contains("deflate"));
+    assertTrue(URLInputStreamFactory.getDecodableEncodings().contains(INVERTED));
+  }
+
+  @Test
+  public void decodeGzipEncoded() throws IOException {
+    assertArrayEquals(CONTENT, decode(gzip(CONTENT), "gzip"));
+    assertArrayEquals(CONTENT, decode(gzip(CONTENT), "X-GZIP"));
+  }
+
+  @Test
+  public void decodeWithRegisteredDecoder() throws IOException {
+    assertArrayEquals(CONTENT, decode(invert(CONTENT), INVERTED));
+  }
+
+  @Test
+  public void decodeStackedEncodingsInReverse() throws IOException {
+    assertArrayEquals(CONTENT, decode(invert(gzip(CONTENT)), "gzip, " + INVERTED));
+    assertArrayEquals(CONTENT, decode(gzip(invert(CONTENT)), INVERTED + ",identity,gzip"));
+  }
+
+  @Test
+  public void doNotDecodeUnknownEncodings() throws IOException {
+    assertArrayEquals(CONTENT, decode(CONTENT, null));
+    assertArrayEquals(CONTENT, decode(CONTENT, "identity"));
+    assertArrayEquals(CONTENT, decode(CONTENT, "x-unknown"));
+    assertArrayEquals(invert(CONTENT), decode(invert(CONTENT), "gzip, x-unknown"));
+  }
+
   @Test
   public void transparentEncodingWhenUsingOkHttp() {
     try {
@@ -121,4 +188,31 @@ public class URLInputStreamFactoryTest {
     }
   }
 
+  private static final byte[] decode(final byte[] encoded, final String contentEncoding) throws IOException {
+    final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+    try (final InputStream is = URLInputStreamFactory.decode(new ByteArrayInputStream(encoded), contentEncoding)) {
+      final byte[] buffer = new byte[8192];
+      for (int read; (read = is.read(buffer)) >= 0;) {
+        decoded.write(buffer, 0, read);
+      }
+    }
+    return decoded.toByteArray();
+  }
+
+  private static final byte[] gzip(final byte[] bytes) throws IOException {
+    final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    try (final GZIPOutputStream gzip = new GZIPOutputStream(baos)) {
+      gzip.write(bytes);
+    }
+    return baos.toByteArray();
+  }
+
+  private static final byte[] invert(final byte[] bytes) {
+    final byte[] inverted = new byte[bytes.length];
+    for (int i = 0; i < bytes.length; ++i) {
+      inverted[i] = (byte) ~bytes[i];
+    }
+    return inverted;
+  }
+
 }
@@ -9,9 +9,18 @@ import static org.junit.Assert.*;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.OutputStreamWriter;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -29,6 +38,8 @@ import org.junit.Test;
  */
 public class ZipTextReaderTest extends TextReaderTest {
 
+  private static final int ENTRIES = 8;
+
   @BeforeClass
   public static void setUpBeforeClass() throws Exception {
     sourceURL = new URL("http://www.fxhistoricaldata.com/download/EURUSD_day.zip");
@@ -52,6 +63,155 @@ public class ZipTextReaderTest extends TextReaderTest {
   @Override
   @Test
   public void readFile() throws Exception {
+    final File zippedSourceFile = newZippedSourceFile();
+    try {
+      actuals = reader.read(zippedSourceFile);
+      compare();
+    }
+    finally {
+      assertTrue(zippedSourceFile.delete());
+    }
+  }
+
+  @Override
+  @Test
+  public void readFileByLine() throws Exception {
+    final File zippedSourceFile = newZippedSourceFile();
+    try {
+      actuals = new ArrayList<>();
+      final long lines = reader.read(zippedSourceFile, new Collector(actuals));
+
+      assertEquals(EXPECTEDS.size(), lines);
+      compare();
+    }
+    finally {
+      assertTrue(zippedSourceFile.delete());
+    }
+  }
+
+  @Override
+  @Test
+  public void readInputStreamByLine() throws Exception {
+    final File zippedSourceFile = newZippedSourceFile();
+    try (FileInputStream fis = new FileInputStream(zippedSourceFile)) {
+      actuals = new ArrayList<>();
+      final long lines = reader.read(fis, new Collector(actuals));
+
+      assertEquals(EXPECTEDS.size(), lines);
+      compare();
+    }
+    finally {
+      assertTrue(zippedSourceFile.delete());
+    }
+  }
+
+  @Override
+  @Test
+  public void readFileAsTextLines() throws Exception {
+    final File zippedSourceFile = newZippedSourceFile();
+    try {
+      actuals = new ArrayList<>();
+      final long lines = reader.readLines(zippedSourceFile, new LineCollector(actuals));
+
+      assertEquals(EXPECTEDS.size(), lines);
+      compare();
+    }
+    finally {
+      assertTrue(zippedSourceFile.delete());
+    }
+  }
+
+  @Override
+  @Test
+  public void readLongTextLines() throws Exception {
+    // not applicable to zipped sources
+  }
+
+  @Test
+  public void cannotInstantiateWithNullExecutor() {
+    thrown.expect(NullPointerException.class);
+    new ZipTextReader(Charset.defaultCharset(), null);
+  }
+
+  @Test
+  public void readEntries() throws Exception {
+    final File zippedSourceFile = newZippedSourceFile(ENTRIES);
+    try {
+      final Map<String, List<String>> entries = ((ZipTextReader) reader).readEntries(zippedSourceFile);
+
+      // in archive order, without directories
+      assertEquals(ENTRIES, entries.size());
+      int e = 0;
+      for (final Map.Entry<String, List<String>> entry : entries.entrySet()) {
+        assertEquals(entryName(e++), entry.getKey());
+        actuals = entry.getValue();
+        compare();
+      }
+    }
+    finally {
+      assertTrue(zippedSourceFile.delete());
+    }
+  }
+
+  @Test
+  public void readEntriesByEntry() throws Exception {
+    final File zippedSourceFile = newZippedSourceFile(ENTRIES);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Map<String, List<String>> entries = Collections.synchronizedMap(new HashMap<String, List<String>>());
+      final int read = new ZipTextReader(Charset.defaultCharset(), executor).readEntries(zippedSourceFile, new ZipEntryHandler() {
+        @Override
+        public void handle(final String entry, final List<String> lines) {
+          assertNull(entries.put(entry, lines));
+        }
+      });
+
+      assertEquals(ENTRIES, read);
+      assertEquals(ENTRIES, entries.size());
+      for (int e = 0; e < ENTRIES; ++e) {
+        actuals = entries.get(entryName(e));
+        compare();
+      }
+      // caller's executor is left running
+      assertFalse(executor.isShutdown());
+    }
+    finally {
+      executor.shutdown();
+      assertTrue(zippedSourceFile.delete());
+    }
+  }
+
+  @Test
+  public void cannotReadEntriesWithNullHandler() throws Exception {
+    thrown.expect(NullPointerException.class);
+    ((ZipTextReader) reader).readEntries(SOURCE_FILE, null);
+  }
+
+  private static final String entryName(final int e) {
+    return "entry" + e + ".csv";
+  }
+
+  private static final File newZippedSourceFile(final int entries) throws Exception {
+    // prepare zipped input with several entries and a directory
+    final File zippedSourceFile = new File(ZipTextReaderTest.class.getSimpleName());
+    final ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zippedSourceFile));
+    try (final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(zos))) {
+      zos.putNextEntry(new ZipEntry("directory/"));
+      for (int e = 0; e < entries; ++e) {
+        writer.flush();
+        zos.putNextEntry(new ZipEntry(entryName(e)));
+        for (final String line : EXPECTEDS) {
+          writer.write(line);
+          writer.newLine();
+        }
+        writer.flush();
+        zos.closeEntry();
+      }
+    }
+    return zippedSourceFile;
+  }
+
+  private static final File newZippedSourceFile() throws Exception {
     // prepare zipped input
     final File zippedSourceFile = new File(ZipTextReaderTest.class.getSimpleName());
     final ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zippedSourceFile));
@@ -62,14 +222,7 @@ public class ZipTextReaderTest extends TextReaderTest {
         writer.newLine();
       }
     }
-
-    try {
-      actuals = reader.read(zippedSourceFile);
-      compare();
-    }
-    finally {
-      assertTrue(zippedSourceFile.delete());
-    }
+    return zippedSourceFile;
   }
 
   @Override
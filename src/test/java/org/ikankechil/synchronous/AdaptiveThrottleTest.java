@@ -0,0 +1,104 @@
+/**
+ * AdaptiveThrottleTest.java  v0.1  18 October 2026 4:49:05 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>AdaptiveThrottle</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class AdaptiveThrottleTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithLimitsOutOfOrder() {
+    new AdaptiveThrottle(1, 2, 10, 10, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithBackoffRatioOfOne() {
+    new AdaptiveThrottle(2, 1, 10, 10, TimeUnit.MILLISECONDS, 1);
+  }
+
+  @Test
+  public void increaseAdditivelyOnSuccess() throws Exception {
+    final AdaptiveThrottle throttle = new AdaptiveThrottle(2, 1, 4, 10, TimeUnit.MILLISECONDS);
+
+    // about a limit's worth of successes raises the limit by one
+    run(throttle, 3, FAST, true);
+    assertEquals(3, throttle.getLimit());
+    run(throttle, 3, FAST, true);
+    assertEquals(4, throttle.getLimit());
+
+    // but no higher than the maximum
+    run(throttle, 100, FAST, true);
+    assertEquals(4, throttle.getLimit());
+    assertEquals(0, throttle.getInFlight());
+  }
+
+  @Test
+  public void decreaseMultiplicativelyOnStrain() throws Exception {
+    final AdaptiveThrottle throttle = new AdaptiveThrottle(10, 2, 10, 10, TimeUnit.MILLISECONDS, 0.5);
+
+    run(throttle, 1, FAST, false);
+    assertEquals(5, throttle.getLimit());
+    run(throttle, 1, SLOW, true);
+    assertEquals(2, throttle.getLimit());
+
+    // but no lower than the minimum
+    run(throttle, 10, SLOW, false);
+    assertEquals(2, throttle.getLimit());
+  }
+
+  @Test
+  public void limitInFlight() throws Exception {
+    final AdaptiveThrottle throttle = new AdaptiveThrottle(2, 1, 10, 10, TimeUnit.MILLISECONDS);
+    throttle.acquire();
+    throttle.acquire();
+
+    final Thread waiter = new Thread() {
+      @Override
+      public void run() {
+        try {
+          throttle.acquire();
+        }
+        catch (final InterruptedException iE) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    waiter.start();
+    waiter.join(50);
+    assertTrue(waiter.isAlive());
+    assertEquals(2, throttle.getInFlight());
+
+    throttle.release(FAST, true);
+    waiter.join(1000);
+    assertFalse(waiter.isAlive());
+    assertEquals(2, throttle.getInFlight());
+  }
+
+  private static final void run(final Throttle throttle,
+                                final int tasks,
+                                final long latency,
+                                final boolean isSuccessful)
+      throws InterruptedException {
+    for (int t = 0; t < tasks; ++t) {
+      throttle.acquire();
+      throttle.release(latency, isSuccessful);
+    }
+  }
+
+}
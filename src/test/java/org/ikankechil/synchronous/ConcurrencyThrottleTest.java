@@ -0,0 +1,56 @@
+/**
+ * ConcurrencyThrottleTest.java  v0.1  18 October 2026 4:44:37 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>ConcurrencyThrottle</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class ConcurrencyThrottleTest {
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithNonPositiveMaximum() {
+    new ConcurrencyThrottle(0);
+  }
+
+  @Test
+  public void limitInFlight() throws Exception {
+    final ConcurrencyThrottle throttle = new ConcurrencyThrottle(2);
+    throttle.acquire();
+    throttle.acquire();
+    assertEquals(2, throttle.getInFlight());
+
+    final CountDownLatch acquired = new CountDownLatch(1);
+    final Thread waiter = new Thread() {
+      @Override
+      public void run() {
+        try {
+          throttle.acquire();
+          acquired.countDown();
+        }
+        catch (final InterruptedException iE) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    waiter.start();
+    assertFalse(acquired.await(50, TimeUnit.MILLISECONDS));
+
+    throttle.release(0, true);
+    assertTrue(acquired.await(1, TimeUnit.SECONDS));
+    assertEquals(2, throttle.getInFlight());
+  }
+
+}
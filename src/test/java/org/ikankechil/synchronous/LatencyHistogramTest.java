@@ -0,0 +1,75 @@
+/**
+ * LatencyHistogramTest.java  v0.1  18 October 2026 8:58:19 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>LatencyHistogram</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class LatencyHistogramTest {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void emptyHistogram() {
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(99, TimeUnit.NANOSECONDS));
+    assertEquals(0, histogram.getMean(TimeUnit.NANOSECONDS), 0);
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotGetPercentileOutOfRange() {
+    histogram.getPercentile(101, TimeUnit.NANOSECONDS);
+  }
+
+  @Test
+  public void bucketsCoverAllValues() {
+    long previous = -1;
+    for (int i = 0; i < 488; ++i) {
+      final long upperBound = LatencyHistogram.upperBound(i);
+      assertTrue(upperBound > previous);
+      assertEquals(i, LatencyHistogram.index(upperBound));
+      assertEquals(i, LatencyHistogram.index(previous + 1));
+      previous = upperBound;
+    }
+    assertEquals(Long.MAX_VALUE, previous);
+  }
+
+  @Test
+  public void percentilesWithinRelativeError() {
+    for (long latency = 1; latency <= 10000; ++latency) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(latency));
+    }
+
+    assertEquals(10000, histogram.getCount());
+    assertEquals(5000.5, histogram.getMean(TimeUnit.MICROSECONDS), 0.01);
+    assertEquals(10000, histogram.getMax(TimeUnit.MICROSECONDS));
+    for (final double percentile : new double[] { 50, 90, 99, 99.9 }) {
+      final double expected = percentile * 100;
+      final long actual = histogram.getPercentile(percentile, TimeUnit.MICROSECONDS);
+      assertTrue(percentile + ": " + actual, actual >= expected - 1 && actual <= expected * 1.125);
+    }
+    assertEquals(10000, histogram.getPercentile(100, TimeUnit.MICROSECONDS));
+  }
+
+  @Test
+  public void reset() {
+    histogram.record(42);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax(TimeUnit.NANOSECONDS));
+  }
+
+}
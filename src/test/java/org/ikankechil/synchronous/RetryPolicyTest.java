@@ -0,0 +1,68 @@
+/**
+ * RetryPolicyTest.java  v0.1  18 October 2026 7:48:55 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>RetryPolicy</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class RetryPolicyTest {
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithNonPositiveAttempts() {
+    new RetryPolicy(0, 1, 1, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithMaximumBelowInitialBackoff() {
+    new RetryPolicy(1, 2, 1, TimeUnit.MILLISECONDS);
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithHedgingPercentileWithoutPool() {
+    new RetryPolicy(1, 1, 1, TimeUnit.MILLISECONDS, 95, null);
+  }
+
+  @Test
+  public void backoffExponentiallyWithJitter() {
+    final RetryPolicy policy = new RetryPolicy(10, 1, 8, TimeUnit.NANOSECONDS);
+    for (int i = 0; i < 100; ++i) {
+      final long first = policy.backoff(1);
+      assertTrue(first >= 0 && first <= 1);
+      final long third = policy.backoff(3);
+      assertTrue(third >= 2 && third <= 4);
+      final long capped = policy.backoff(64);
+      assertTrue(capped >= 4 && capped <= 8);
+    }
+    assertEquals(300, policy.getRetries());
+  }
+
+  @Test
+  public void hedgeAtPercentile() {
+    final ExecutorService hedgingPool = Executors.newSingleThreadExecutor();
+    final RetryPolicy policy = new RetryPolicy(1, 1, 1, TimeUnit.MILLISECONDS, 90, hedgingPool);
+    assertTrue(policy.isHedged());
+    // too few latencies to go by
+    assertEquals(Long.MAX_VALUE, policy.getHedgingDelay());
+
+    for (long latency = 100; latency >= 1; --latency) {
+      policy.record(latency);
+    }
+    assertEquals(90, policy.getHedgingDelay());
+    hedgingPool.shutdown();
+  }
+
+}
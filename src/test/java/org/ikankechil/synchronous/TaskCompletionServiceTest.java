@@ -0,0 +1,191 @@
+/**
+ * TaskCompletionServiceTest.java  v0.1  18 October 2026 6:02:15 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import static org.junit.Assert.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>TaskCompletionService</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class TaskCompletionServiceTest {
+
+  private ExecutorService                          executor;
+  private TaskCompletionService<Integer, Integer> service;
+
+  private static final int                         PRODUCERS = 4;
+  private static final int                         TASKS     = 10000;
+
+  @Before
+  public void setUp() throws Exception {
+    executor = Executors.newFixedThreadPool(PRODUCERS);
+    service = new TaskCompletionService<>(executor, null);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void pollWithoutCompletedTasks() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Future<Integer> future = service.submit(new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        latch.await();
+        return 1;
+      }
+    }, 1);
+
+    assertNull(service.poll());
+    assertNull(service.poll(10, TimeUnit.MILLISECONDS));
+    // nothing taken
+    assertEquals(1, service.getNumberOfTasks());
+
+    latch.countDown();
+    assertSame(future, service.take());
+    assertEquals(0, service.getNumberOfTasks());
+    assertEquals(Integer.valueOf(1), service.get(future));
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithNonPositiveMaximumOutstanding() {
+    new TaskCompletionService<>(executor, null, 0);
+  }
+
+  @Test
+  public void releaseCompletedFutures() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Future<Integer> future = service.submit(new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        latch.await();
+        return 1;
+      }
+    }, 1);
+    assertTrue(service.getFutures().contains(future));
+
+    latch.countDown();
+    assertSame(future, service.take());
+    assertTrue(service.getFutures().isEmpty());
+    // operand still known
+    assertEquals(Integer.valueOf(1), service.get(future));
+  }
+
+  @Test
+  public void releasePutFutures() throws Exception {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final Future<Integer> future = service.submit(new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        latch.await();
+        return 1;
+      }
+    }, null);
+    assertTrue(service.getFutures().isEmpty());
+    assertNull(service.put(future, 2));
+    assertTrue(service.getFutures().contains(future));
+    assertEquals(Integer.valueOf(2), service.get(future));
+
+    latch.countDown();
+    assertSame(future, service.take());
+    assertTrue(service.getFutures().isEmpty());
+    assertEquals(Integer.valueOf(2), service.get(future));
+
+    // completed futures are not kept
+    assertEquals(Integer.valueOf(2), service.put(future, 3));
+    assertTrue(service.getFutures().isEmpty());
+    assertEquals(Integer.valueOf(3), service.get(future));
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotPutForeignFutures() {
+    service.put(new FutureTask<Integer>(newTask(1)), 1);
+  }
+
+  @Test
+  public void boundOutstandingTasks() throws Exception {
+    final TaskCompletionService<Integer, Integer> bounded = new TaskCompletionService<>(executor, null, 2);
+    bounded.submit(newTask(1), 1);
+    bounded.submit(newTask(2), 2);
+
+    final CountDownLatch submitted = new CountDownLatch(1);
+    final Thread producer = new Thread() {
+      @Override
+      public void run() {
+        bounded.submit(newTask(3), 3);
+        submitted.countDown();
+      }
+    };
+    producer.start();
+    assertFalse(submitted.await(50, TimeUnit.MILLISECONDS));
+    assertEquals(2, bounded.getNumberOfTasks());
+
+    assertNotNull(bounded.take());
+    assertTrue(submitted.await(1, TimeUnit.SECONDS));
+    assertEquals(2, bounded.getNumberOfTasks());
+  }
+
+  @Test
+  public void submitFromSeveralThreads() throws Exception {
+    final Thread[] producers = new Thread[PRODUCERS];
+    for (int p = 0; p < PRODUCERS; ++p) {
+      final int first = p * TASKS;
+      producers[p] = new Thread() {
+        @Override
+        public void run() {
+          for (int operand = first; operand < first + TASKS; ++operand) {
+            service.submit(newTask(operand), operand);
+          }
+        }
+      };
+      producers[p].start();
+    }
+
+    // drain concurrently with submission
+    final Set<Integer> operands = new HashSet<>();
+    while (operands.size() < PRODUCERS * TASKS) {
+      final Future<Integer> future = service.poll(1, TimeUnit.SECONDS);
+      assertNotNull(future);
+      assertEquals(service.get(future), future.get());
+      assertTrue(operands.add(future.get()));
+    }
+    for (final Thread producer : producers) {
+      producer.join();
+    }
+
+    assertEquals(0, service.getNumberOfTasks());
+    assertNull(service.poll());
+    assertEquals(0, service.getNumberOfTasks());
+  }
+
+  private static final Callable<Integer> newTask(final int operand) {
+    return new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return operand;
+      }
+    };
+  }
+
+}
@@ -8,24 +8,36 @@ package org.ikankechil.synchronous;
 import static org.ikankechil.synchronous.TaskExecutorTest.Behaviours.*;
 import static org.junit.Assert.*;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.junit.After;
 import org.junit.Before;
@@ -46,6 +58,7 @@ public class TaskExecutorTest {
   private final NaturalLogarithmTaskHelper           taskHelper           = new NaturalLogarithmTaskHelper(NORMAL);
   protected final Map<Number, CancellationException> cancellations        = new HashMap<>();
   protected final Map<Number, ExecutionException>    failures             = new HashMap<>();
+  protected final Map<Number, TimeoutException>      timeouts             = Collections.synchronizedMap(new HashMap<Number, TimeoutException>());
   protected final List<Double>                       expecteds            = new ArrayList<>(NUMBER_OF_OPERANDS);
   private final TaskHelperTest<Number, Double>       taskHelperTest       = new NaturalLogarithmTaskHelperTest();
 
@@ -54,6 +67,11 @@ public class TaskExecutorTest {
   private static final TimeUnit                      TIME_OUT_UNIT        = TimeUnit.NANOSECONDS;
   private static final double                        ZERO                 = 0.0;
   private static final double                        CANCELLED_PROPORTION = 1.0;
+  private static final int                           MAX_CONCURRENCY      = 8;
+
+  // concurrency of blocking tasks
+  static final AtomicInteger                         running              = new AtomicInteger();
+  static final AtomicInteger                         maxRunning           = new AtomicInteger();
 
   @Before
   public void setUp() {
@@ -62,6 +80,8 @@ public class TaskExecutorTest {
       operands.add(operand);
       expecteds.add(Math.log(operand));
     }
+    running.set(0);
+    maxRunning.set(0);
   }
 
   @After
@@ -70,6 +90,7 @@ public class TaskExecutorTest {
     futures.clear();
     cancellations.clear();
     failures.clear();
+    timeouts.clear();
   }
 
   @Test
@@ -456,6 +477,8 @@ public class TaskExecutorTest {
     assertNotNull(results);
     assertFalse(results.isEmpty());
     assertEquals(NUMBER_OF_OPERANDS, results.size());
+    // futures released once taken
+    assertTrue(futures.isEmpty());
 
     // test accuracy
     Collections.sort(expecteds);
@@ -575,6 +598,661 @@ public class TaskExecutorTest {
     assertTrue(taskExecutor.stop());
   }
 
+  @Test
+  public void testStreamingExecution() throws Exception {
+    final Map<Number, Double> results = new LinkedHashMap<>();
+    final int handled = taskExecutor.executeAll(operands, taskHelper, new ResultHandler<Number, Double>() {
+      @Override
+      public void handle(final Number operand, final Double result) {
+        results.put(operand, result);
+      }
+    });
+
+    assertEquals(NUMBER_OF_OPERANDS, handled);
+    assertEquals(NUMBER_OF_OPERANDS, results.size());
+    for (final Double operand : operands) {
+      assertEquals(Math.log(operand), results.get(operand), ZERO);
+    }
+  }
+
+  @Test
+  public void testContinuousExecution() throws Exception {
+    final int maxOutstanding = 16;
+    final AtomicInteger created = new AtomicInteger();
+    final AtomicInteger handled = new AtomicInteger();
+    final Map<Number, Double> results = new HashMap<>();
+    final int total = taskExecutor.executeAll(operands.iterator(), new NaturalLogarithmTaskHelper(NORMAL) {
+      @Override
+      public Callable<Double> newTask(final Number operand) {
+        assertTrue(created.incrementAndGet() - handled.get() <= maxOutstanding);
+        return super.newTask(operand);
+      }
+    }, new ResultHandler<Number, Double>() {
+      @Override
+      public void handle(final Number operand, final Double result) {
+        handled.incrementAndGet();
+        results.put(operand, result);
+      }
+    }, maxOutstanding);
+
+    assertEquals(NUMBER_OF_OPERANDS, total);
+    assertEquals(NUMBER_OF_OPERANDS, results.size());
+    for (final Double operand : operands) {
+      assertEquals(Math.log(operand), results.get(operand), ZERO);
+    }
+  }
+
+  @Test
+  public void testStreamingExecutionHandsOverEarlyResults() throws Exception {
+    final Double slowOperand = operands.get(0);
+    final List<Number> order = new ArrayList<>();
+    taskExecutor.executeAll(operands.subList(0, 16), new NaturalLogarithmTaskHelper(NORMAL) {
+      @Override
+      public Callable<Double> newTask(final Number operand) {
+        return operand.equals(slowOperand) ? BLOCKING.newTask(operand.doubleValue())
+                                           : super.newTask(operand);
+      }
+    }, new ResultHandler<Number, Double>() {
+      @Override
+      public void handle(final Number operand, final Double result) {
+        order.add(operand);
+      }
+    });
+
+    // results of fast tasks are not held back by the slow one
+    assertEquals(16, order.size());
+    assertEquals(slowOperand, order.get(order.size() - 1));
+  }
+
+  @Test
+  public void testStreamingExecutionTimeout() throws Exception {
+    final List<Double> someOperands = operands.subList(0, 16);
+    final List<Double> results = new ArrayList<>();
+    final long start = System.nanoTime();
+    taskExecutor.executeAll(someOperands, new NaturalLogarithmTaskHelper(SLOW), new ResultHandler<Number, Double>() {
+      @Override
+      public void handle(final Number operand, final Double result) {
+        results.add(result);
+      }
+    }, 10, TimeUnit.MILLISECONDS);
+
+    // each task times out on its own
+    assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < TIME_OUT);
+    assertEquals(someOperands.size(), results.size());
+    for (final Double result : results) {
+      assertTrue(result.isNaN());
+    }
+    assertEquals(someOperands.size(), timeouts.size());
+    assertEquals(someOperands.size(), taskExecutor.getCancellations().size());
+  }
+
+  @Test
+  public void testPerTaskTimeout() throws Exception {
+    final List<Double> someOperands = operands.subList(0, 16);
+    final long start = System.nanoTime();
+    final Map<Number, Double> results = taskExecutor.executeAll(someOperands,
+                                                                new TimedNaturalLogarithmTaskHelper(SLOW, 20));
+
+    // each task times out on its own
+    assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < TIME_OUT);
+    assertEquals(someOperands.size(), results.size());
+    for (final Double result : results.values()) {
+      assertTrue(result.isNaN());
+    }
+    assertEquals(new HashSet<Number>(someOperands), timeouts.keySet());
+    assertTrue(cancellations.isEmpty());
+
+    // tasks that finish in time are unaffected
+    assertEquals(expecteds.subList(0, 16),
+                 new ArrayList<>(taskExecutor.executeAll(someOperands,
+                                                         new TimedNaturalLogarithmTaskHelper(NORMAL, 1000)).values()));
+  }
+
+  @Test
+  public void testPerTaskTimeoutSubmitted() throws Exception {
+    final List<Double> someOperands = operands.subList(0, 16);
+    final TaskCompletionService<Number, Double> service = taskExecutor.submitAll(someOperands,
+                                                                                 new TimedNaturalLogarithmTaskHelper(SLOW, 20));
+    final List<Double> results = taskExecutor.takeAll(service, TIME_OUT, TimeUnit.SECONDS);
+
+    // timeouts handled as such, not as failures
+    assertEquals(someOperands.size(), results.size());
+    for (final Double result : results) {
+      assertTrue(result.isNaN());
+    }
+    assertEquals(new HashSet<Number>(someOperands), timeouts.keySet());
+    assertTrue(taskExecutor.getFailures().isEmpty());
+    assertEquals(someOperands.size(), taskExecutor.getCancellations().size());
+  }
+
+  @Test
+  public void testPerTaskTimeoutAny() throws Exception {
+    final Double result = taskExecutor.executeAny(operands.subList(0, 16), new TimedNaturalLogarithmTaskHelper(SLOW, 20));
+
+    assertTrue(result.isNaN());
+    // the last task to time out is handled with its operand
+    assertEquals(1, timeouts.size());
+    assertTrue(operands.containsAll(timeouts.keySet()));
+  }
+
+  @Test
+  public void testFailureOperandAny() throws Exception {
+    final Double result = taskExecutor.executeAny(operands, new NaturalLogarithmTaskHelper(THROW_EXCEPTION));
+
+    assertTrue(result.isNaN());
+    assertEquals(1, failures.size());
+    final Entry<Number, ExecutionException> failure = failures.entrySet().iterator().next();
+    assertTrue(operands.contains(failure.getKey()));
+    assertEquals(failure.getKey().toString(), failure.getValue().getCause().getMessage());
+  }
+
+  @Test
+  public void testDeadlineVisibleInTask() throws Exception {
+    final List<Long> remainingTimes = Collections.synchronizedList(new ArrayList<Long>());
+    taskExecutor.executeAll(operands.subList(0, 16), new TimedNaturalLogarithmTaskHelper(NORMAL, 1000) {
+      @Override
+      public Callable<Double> newTask(final Number operand) {
+        return new Callable<Double>() {
+          @Override
+          public Double call() {
+            assertFalse(Deadline.hasExpired());
+            remainingTimes.add(Deadline.getRemainingTime(TimeUnit.MILLISECONDS));
+            return Math.log(operand.doubleValue());
+          }
+        };
+      }
+    });
+
+    assertEquals(16, remainingTimes.size());
+    for (final long remainingTime : remainingTimes) {
+      assertTrue(String.valueOf(remainingTime), remainingTime > 0 && remainingTime <= 1000);
+    }
+    // no deadline outside tasks
+    assertEquals(Long.MAX_VALUE, Deadline.getRemainingTime(TimeUnit.MILLISECONDS));
+    assertFalse(Deadline.hasExpired());
+  }
+
+  @Test
+  public void testDeadlineSaturates() throws Exception {
+    final Long previous = Deadline.set(Long.MAX_VALUE);
+    try {
+      assertNull(previous);
+      assertFalse(Deadline.hasExpired());
+      assertTrue(Deadline.getRemainingTime(TimeUnit.DAYS) > 365);
+
+      // an earlier nested deadline still applies
+      final Long outer = Deadline.set(TimeUnit.SECONDS.toNanos(1));
+      assertNotNull(outer);
+      final long remainingTime = Deadline.getRemainingTime(TimeUnit.MILLISECONDS);
+      assertTrue(String.valueOf(remainingTime), remainingTime > 0 && remainingTime <= 1000);
+      Deadline.restore(outer);
+      assertTrue(Deadline.getRemainingTime(TimeUnit.DAYS) > 365);
+    }
+    finally {
+      Deadline.restore(previous);
+    }
+  }
+
+  @Test
+  public void testRecursiveExecution() throws Exception {
+    final int n = 1 << 20;
+    assertEquals(Long.valueOf((long) n * (n - 1) / 2),
+                 taskExecutor.executeRecursively(new int[] { 0, n }, new SumTaskHelper(-1)));
+    assertTrue(taskExecutor.getFailures().isEmpty());
+  }
+
+  @Test
+  public void testRecursiveExecutionOnForkJoinPool() throws Exception {
+    final TaskExecutor forkJoinExecutor = new TaskExecutor(new ForkJoinPool(2));
+    final int n = 1 << 20;
+    assertEquals(Long.valueOf((long) n * (n - 1) / 2),
+                 forkJoinExecutor.executeRecursively(new int[] { 0, n }, new SumTaskHelper(-1)));
+    assertTrue(forkJoinExecutor.stop());
+  }
+
+  @Test
+  public void testRecursiveExecutionTimeout() throws Exception {
+    final int parallelism = 2;
+    final TaskExecutor forkJoinExecutor = new TaskExecutor(new ForkJoinPool(parallelism));
+    final AtomicInteger started = new AtomicInteger();
+    final int n = 1 << 20; // 256 leaves
+    final Long actual = forkJoinExecutor.executeRecursively(new int[] { 0, n }, new SumTaskHelper(-1) {
+      @Override
+      public Callable<Long> newTask(final int[] range) {
+        started.incrementAndGet();
+        final Callable<Long> task = super.newTask(range);
+        return new Callable<Long>() {
+          @Override
+          public Long call() throws Exception {
+            Thread.sleep(20);
+            return task.call();
+          }
+        };
+      }
+    }, 50, TimeUnit.MILLISECONDS);
+
+    assertEquals(Long.valueOf(0), actual);
+    // leaves in flight finish, but no more start nor are handled
+    final int startedOnTimeout = started.get();
+    Thread.sleep(200);
+    assertTrue(started.get() <= startedOnTimeout + parallelism);
+    assertTrue(started.get() < n >> 12);
+    assertEquals(1, forkJoinExecutor.getCancellations().size());
+    assertTrue(forkJoinExecutor.getFailures().isEmpty());
+    assertTrue(forkJoinExecutor.stop());
+  }
+
+  @Test
+  public void testRecursiveExecutionFailure() throws Exception {
+    final int n = 1 << 20;
+    final int failing = n / 3;
+    final Long actual = taskExecutor.executeRecursively(new int[] { 0, n }, new SumTaskHelper(failing));
+
+    // failed leaf handled with its own operand and contributes nothing
+    assertEquals(1, taskExecutor.getFailures().size());
+    final int[] range = (int[]) taskExecutor.getFailures().get(0);
+    assertTrue(Arrays.toString(range), range[0] <= failing && failing < range[1]);
+    long leaf = 0;
+    for (int i = range[0]; i < range[1]; ++i) {
+      leaf += i;
+    }
+    assertEquals(Long.valueOf((long) n * (n - 1) / 2 - leaf), actual);
+  }
+
+  @Test
+  public void testPriorityExecution() throws Exception {
+    final TaskExecutor priorityExecutor = TaskExecutor.newPriorityExecutor(1, 1, TimeUnit.HOURS);
+    final OrderTaskHelper orderTaskHelper = new OrderTaskHelper();
+
+    // hold the only thread while tasks line up
+    priorityExecutor.submitAll(Arrays.asList(OrderTaskHelper.GATE), orderTaskHelper);
+    final TaskCompletionService<Integer, Integer> service =
+      priorityExecutor.submitAll(Arrays.asList(5, 3, 9, 1, 3, 7), orderTaskHelper);
+    orderTaskHelper.gate.countDown();
+    priorityExecutor.takeAll(service);
+
+    assertEquals(Arrays.asList(OrderTaskHelper.GATE, 1, 3, 3, 5, 7, 9), orderTaskHelper.order);
+    assertTrue(priorityExecutor.stop());
+  }
+
+  @Test
+  public void testPriorityExecutionAny() throws Exception {
+    final TaskExecutor priorityExecutor = TaskExecutor.newPriorityExecutor(1, 1, TimeUnit.HOURS);
+    final OrderTaskHelper orderTaskHelper = new OrderTaskHelper();
+    final List<Integer> someOperands = Arrays.asList(5, 3, 9, 1, 7);
+
+    priorityExecutor.submitAll(Arrays.asList(OrderTaskHelper.GATE), orderTaskHelper);
+    final Integer[] actual = new Integer[1];
+    final Thread caller = new Thread() {
+      @Override
+      public void run() {
+        try {
+          actual[0] = priorityExecutor.executeAny(someOperands, orderTaskHelper, 1, TimeUnit.MINUTES);
+        }
+        catch (final InterruptedException iE) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    caller.start();
+    while (priorityExecutor.getQueueDepth() < someOperands.size()) {
+      Thread.sleep(1);
+    }
+    orderTaskHelper.gate.countDown();
+    caller.join();
+
+    // the first task to run is of the highest priority
+    assertEquals(Integer.valueOf(1), actual[0]);
+    assertEquals(Integer.valueOf(1), orderTaskHelper.order.get(1));
+    assertTrue(priorityExecutor.stop());
+  }
+
+  @Test
+  public void testPriorityExecutionAging() throws Exception {
+    final TaskExecutor priorityExecutor = TaskExecutor.newPriorityExecutor(1, 10, TimeUnit.MILLISECONDS);
+    final OrderTaskHelper orderTaskHelper = new OrderTaskHelper();
+
+    priorityExecutor.submitAll(Arrays.asList(OrderTaskHelper.GATE), orderTaskHelper);
+    final TaskCompletionService<Integer, Integer> aged =
+      priorityExecutor.submitAll(Arrays.asList(5), orderTaskHelper);
+    // waits for longer than 5 quanta
+    Thread.sleep(100);
+    final TaskCompletionService<Integer, Integer> urgent =
+      priorityExecutor.submitAll(Arrays.asList(0), orderTaskHelper);
+    orderTaskHelper.gate.countDown();
+    priorityExecutor.takeAll(aged);
+    priorityExecutor.takeAll(urgent);
+
+    assertEquals(Arrays.asList(OrderTaskHelper.GATE, 5, 0), orderTaskHelper.order);
+    assertTrue(priorityExecutor.stop());
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void testPriorityExecutorWithNonPositiveAgingQuantumDisallowed() {
+    TaskExecutor.newPriorityExecutor(1, 0, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void testRetryExecution() throws Exception {
+    final RetryPolicy retryPolicy = new RetryPolicy(3, 1, 4, TimeUnit.MILLISECONDS);
+    final TaskExecutor retryingExecutor = new TaskExecutor(null, null, retryPolicy);
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(2, new IllegalStateException());
+    final List<Integer> someOperands = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+
+    final Map<Integer, Integer> results = retryingExecutor.executeAll(someOperands, attemptTaskHelper);
+    assertEquals(someOperands.size(), results.size());
+    for (final Integer attempt : results.values()) {
+      assertEquals(3, attempt.intValue());
+    }
+    assertTrue(retryingExecutor.getFailures().isEmpty());
+    assertEquals(3 * someOperands.size(), attemptTaskHelper.getAttempts());
+    assertEquals(2 * someOperands.size(), retryPolicy.getRetries());
+    assertTrue(retryingExecutor.stop());
+  }
+
+  @Test
+  public void testRetryExhaustion() throws Exception {
+    final TaskExecutor retryingExecutor = new TaskExecutor(null, null, new RetryPolicy(2, 1, 1, TimeUnit.MILLISECONDS));
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(Integer.MAX_VALUE, new IllegalStateException());
+    final List<Integer> someOperands = Arrays.asList(1, 2, 3, 4);
+
+    retryingExecutor.executeAll(someOperands, attemptTaskHelper);
+    assertEquals(someOperands.size(), retryingExecutor.getFailures().size());
+    assertEquals(2 * someOperands.size(), attemptTaskHelper.getAttempts());
+    assertTrue(retryingExecutor.stop());
+  }
+
+  @Test
+  public void testNonRetryableFailure() throws Exception {
+    final RetryPolicy retryPolicy = new RetryPolicy(5, 1, 1, TimeUnit.MILLISECONDS) {
+      @Override
+      protected boolean isRetryable(final Exception e) {
+        return !(e instanceof IllegalArgumentException);
+      }
+    };
+    final TaskExecutor retryingExecutor = new TaskExecutor(null, null, retryPolicy);
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(Integer.MAX_VALUE, new IllegalArgumentException());
+    final List<Integer> someOperands = Arrays.asList(1, 2, 3, 4);
+
+    retryingExecutor.executeAll(someOperands, attemptTaskHelper);
+    assertEquals(someOperands.size(), retryingExecutor.getFailures().size());
+    assertEquals(someOperands.size(), attemptTaskHelper.getAttempts());
+    assertEquals(0, retryPolicy.getRetries());
+    assertTrue(retryingExecutor.stop());
+  }
+
+  @Test
+  public void testRetriesBoundedByTimeout() throws Exception {
+    final RetryPolicy retryPolicy = new RetryPolicy(100, 20, 20, TimeUnit.MILLISECONDS);
+    final TaskExecutor retryingExecutor = new TaskExecutor(null, null, retryPolicy);
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(Integer.MAX_VALUE, new IllegalStateException());
+    final List<Integer> someOperands = Arrays.asList(1, 2, 3, 4);
+    final AtomicInteger handled = new AtomicInteger();
+
+    final long start = System.nanoTime();
+    retryingExecutor.executeAll(someOperands, attemptTaskHelper, new ResultHandler<Integer, Integer>() {
+      @Override
+      public void handle(final Integer operand, final Integer result) {
+        handled.incrementAndGet();
+      }
+    }, 100, TimeUnit.MILLISECONDS);
+    // the timeout bounds all attempts at a task rather than each
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    assertEquals(someOperands.size(), handled.get());
+    assertTrue(String.valueOf(attemptTaskHelper.getAttempts()), attemptTaskHelper.getAttempts() < 10 * someOperands.size());
+    assertTrue(retryingExecutor.stop());
+  }
+
+  @Test
+  public void testDeadlineVisibleInHedgedAttempt() throws Exception {
+    final ExecutorService hedgingPool = Executors.newCachedThreadPool();
+    final RetryPolicy retryPolicy = new RetryPolicy(1, 1, 1, TimeUnit.MILLISECONDS, 90, hedgingPool);
+    final TaskExecutor hedgingExecutor = new TaskExecutor(null, null, retryPolicy);
+    final List<Long> remainingTimes = Collections.synchronizedList(new ArrayList<Long>());
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(0, null) {
+      @Override
+      public Callable<Integer> newTask(final Integer operand) {
+        final Callable<Integer> task = super.newTask(operand);
+        return new Callable<Integer>() {
+          @Override
+          public Integer call() throws Exception {
+            remainingTimes.add(Deadline.getRemainingTime(TimeUnit.MILLISECONDS));
+            return task.call();
+          }
+        };
+      }
+    };
+    final List<Integer> someOperands = Arrays.asList(1, 2, 3, 4);
+
+    hedgingExecutor.executeAll(someOperands, attemptTaskHelper, new ResultHandler<Integer, Integer>() {
+      @Override
+      public void handle(final Integer operand, final Integer result) {
+        assertEquals(1, result.intValue());
+      }
+    }, 1, TimeUnit.MINUTES);
+    assertEquals(someOperands.size(), remainingTimes.size());
+    for (final Long remainingTime : remainingTimes) {
+      assertTrue(String.valueOf(remainingTime), remainingTime <= TimeUnit.MINUTES.toMillis(1));
+    }
+    assertTrue(hedgingExecutor.stop());
+    hedgingPool.shutdown();
+  }
+
+  @Test
+  public void testHedgedExecution() throws Exception {
+    final ExecutorService hedgingPool = Executors.newCachedThreadPool();
+    final RetryPolicy retryPolicy = new RetryPolicy(1, 1, 1, TimeUnit.MILLISECONDS, 90, hedgingPool);
+    final TaskExecutor hedgingExecutor = new TaskExecutor(null, null, retryPolicy);
+    final Integer straggler = 0;
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(0, null) {
+      @Override
+      public Callable<Integer> newTask(final Integer operand) {
+        final Callable<Integer> task = super.newTask(operand);
+        return new Callable<Integer>() {
+          @Override
+          public Integer call() throws Exception {
+            final int attempt = task.call();
+            if (operand.equals(straggler) && attempt == 1) { // first attempt hangs
+              Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            }
+            return operand;
+          }
+        };
+      }
+    };
+
+    // enough fast attempts to go by
+    final List<Integer> fast = new ArrayList<>();
+    for (int i = 1; i <= 32; ++i) {
+      fast.add(i);
+    }
+    assertEquals(fast.size(), hedgingExecutor.executeAll(fast, attemptTaskHelper).size());
+    final long hedges = retryPolicy.getHedges();
+
+    final long start = System.nanoTime();
+    assertEquals(straggler, hedgingExecutor.executeAll(Arrays.asList(straggler), attemptTaskHelper).get(straggler));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+    assertEquals(hedges + 1, retryPolicy.getHedges());
+    assertTrue(hedgingExecutor.getFailures().isEmpty());
+
+    assertTrue(hedgingExecutor.stop());
+    hedgingPool.shutdownNow();
+  }
+
+  @Test
+  public void testMetrics() throws Exception {
+    final TaskExecutor measuredExecutor = new TaskExecutor();
+    final List<Integer> someOperands = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8);
+    measuredExecutor.executeAll(someOperands, new AttemptTaskHelper(0, null));
+
+    TaskMetrics batch = measuredExecutor.getBatchMetrics();
+    assertEquals(8, batch.getSubmitted());
+    assertEquals(8, batch.getSucceeded());
+    assertEquals(0, batch.getFailed());
+
+    measuredExecutor.executeAll(someOperands.subList(0, 4), new AttemptTaskHelper(1, new IllegalStateException()));
+    batch = measuredExecutor.getBatchMetrics();
+    assertEquals(4, batch.getSubmitted());
+    assertEquals(0, batch.getSucceeded());
+    assertEquals(4, batch.getFailed());
+
+    final TaskMetrics metrics = measuredExecutor.getMetrics();
+    assertEquals(12, metrics.getSubmitted());
+    assertEquals(8, metrics.getSucceeded());
+    assertEquals(4, metrics.getFailed());
+    assertEquals(12, metrics.getCompleted());
+    assertEquals(12, metrics.getLatencies().getCount());
+    assertTrue(metrics.getThroughput() > 0);
+    assertEquals(0, measuredExecutor.getQueueDepth());
+
+    assertTrue(measuredExecutor.stop());
+  }
+
+  @Test
+  public void testMetricsOfCancelledTasks() throws Exception {
+    final TaskExecutor measuredExecutor = new TaskExecutor();
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(0, null) {
+      @Override
+      public Callable<Integer> newTask(final Integer operand) {
+        final Callable<Integer> task = super.newTask(operand);
+        return new Callable<Integer>() {
+          @Override
+          public Integer call() throws Exception {
+            TimeUnit.MILLISECONDS.sleep(operand * 20);
+            return task.call();
+          }
+        };
+      }
+    };
+    final List<Integer> someOperands = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 50, 50, 50, 50);
+
+    // the batch times out with tasks running
+    measuredExecutor.executeAll(someOperands, attemptTaskHelper, 90, TimeUnit.MILLISECONDS);
+    final TaskMetrics batch = measuredExecutor.getBatchMetrics();
+    assertTrue(batch.getCancelled() > 0);
+    Thread.sleep(100);
+    assertEquals(someOperands.size(), batch.getSubmitted());
+    assertEquals(batch.getSubmitted(), batch.getCompleted() + batch.getCancelled());
+    assertEquals(0, batch.getFailed());
+
+    assertTrue(measuredExecutor.stop());
+  }
+
+  @Test
+  public void testMetricsOfInterruptedTasks() throws Exception {
+    final ExecutorService pool = Executors.newFixedThreadPool(4);
+    final TaskExecutor measuredExecutor = new TaskExecutor(pool);
+    final CountDownLatch running = new CountDownLatch(4);
+    final AttemptTaskHelper attemptTaskHelper = new AttemptTaskHelper(0, null) {
+      @Override
+      public Callable<Integer> newTask(final Integer operand) {
+        final Callable<Integer> task = super.newTask(operand);
+        return new Callable<Integer>() {
+          @Override
+          public Integer call() throws Exception {
+            running.countDown();
+            TimeUnit.MINUTES.sleep(1);
+            return task.call();
+          }
+        };
+      }
+    };
+
+    final TaskCompletionService<Integer, Integer> service = measuredExecutor.submitAll(Arrays.asList(1, 2, 3, 4),
+                                                                                       attemptTaskHelper);
+    assertTrue(running.await(1, TimeUnit.SECONDS));
+    // interrupted without being cancelled
+    pool.shutdownNow();
+    measuredExecutor.takeAll(service);
+
+    final TaskMetrics batch = measuredExecutor.getBatchMetrics();
+    assertEquals(4, batch.getFailed());
+    assertEquals(0, batch.getCancelled());
+  }
+
+  @Test
+  public void testMetricsOverJMX() throws Exception {
+    final TaskExecutor measuredExecutor = new TaskExecutor();
+    measuredExecutor.executeAll(Arrays.asList(1, 2, 3), new AttemptTaskHelper(0, null));
+
+    final ObjectName name = measuredExecutor.registerMBean(TaskExecutorTest.class.getSimpleName());
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    assertTrue(server.isRegistered(name));
+    assertEquals(3L, server.getAttribute(name, "Submitted"));
+    assertEquals(3L, server.getAttribute(name, "Succeeded"));
+    assertEquals(0, server.getAttribute(name, "QueueDepth"));
+
+    assertTrue(measuredExecutor.stop());
+    assertFalse(server.isRegistered(name));
+  }
+
+  @Test
+  public void testThreadPerTaskExecution() throws Exception {
+    final TaskExecutor threadPerTaskExecutor = TaskExecutor.newThreadPerTaskExecutor(MAX_CONCURRENCY);
+    final List<Double> someOperands = operands.subList(0, MAX_CONCURRENCY * 8);
+    final Map<Number, Double> results = threadPerTaskExecutor.executeAll(someOperands,
+                                                                         new NaturalLogarithmTaskHelper(BLOCKING));
+
+    assertEquals(someOperands.size(), results.size());
+    for (final Entry<Number, Double> result : results.entrySet()) {
+      assertEquals(Math.log(result.getKey().doubleValue()), result.getValue(), ZERO);
+    }
+    assertTrue(String.valueOf(maxRunning.get()), maxRunning.get() <= MAX_CONCURRENCY);
+    assertTrue(threadPerTaskExecutor.stop());
+  }
+
+  @Test
+  public void testUnboundedThreadPerTaskExecution() throws Exception {
+    final TaskExecutor threadPerTaskExecutor = TaskExecutor.newThreadPerTaskExecutor(0);
+    final List<Double> someOperands = operands.subList(0, MAX_CONCURRENCY * 8);
+    final Map<Number, Double> results = threadPerTaskExecutor.executeAll(someOperands,
+                                                                         new NaturalLogarithmTaskHelper(BLOCKING));
+
+    assertEquals(someOperands.size(), results.size());
+    // blocking tasks do not wait for one another
+    assertTrue(String.valueOf(maxRunning.get()), maxRunning.get() > MAX_CONCURRENCY);
+    assertTrue(threadPerTaskExecutor.stop());
+  }
+
+  @Test
+  public void testThrottledExecution() throws Exception {
+    final TaskExecutor throttledExecutor = new TaskExecutor(null, new ConcurrencyThrottle(MAX_CONCURRENCY / 2));
+    final List<Double> someOperands = operands.subList(0, MAX_CONCURRENCY * 4);
+
+    final Map<Number, Double> results = throttledExecutor.executeAll(someOperands,
+                                                                     new NaturalLogarithmTaskHelper(BLOCKING));
+    assertEquals(someOperands.size(), results.size());
+    assertTrue(String.valueOf(maxRunning.get()), maxRunning.get() <= MAX_CONCURRENCY / 2);
+
+    maxRunning.set(0);
+    throttledExecutor.executeAny(someOperands, new NaturalLogarithmTaskHelper(BLOCKING));
+    assertTrue(String.valueOf(maxRunning.get()), maxRunning.get() <= MAX_CONCURRENCY / 2);
+
+    maxRunning.set(0);
+    final List<Double> actuals = throttledExecutor.takeAll(throttledExecutor.submitAll(someOperands,
+                                                                                       new NaturalLogarithmTaskHelper(BLOCKING)));
+    assertEquals(someOperands.size(), actuals.size());
+    assertTrue(String.valueOf(maxRunning.get()), maxRunning.get() <= MAX_CONCURRENCY / 2);
+    assertTrue(throttledExecutor.stop());
+  }
+
+  @Test
+  public void testRateLimitedExecution() throws Exception {
+    final TaskExecutor throttledExecutor = new TaskExecutor(null, new TokenBucketThrottle(200, 1));
+    final List<Double> someOperands = operands.subList(0, 21);
+
+    final long start = System.nanoTime();
+    throttledExecutor.executeAll(someOperands, taskHelper);
+    // 20 tasks after the first at 5ms each
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 95);
+    assertTrue(throttledExecutor.stop());
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void testNegativeConcurrencyDisallowed() {
+    TaskExecutor.newThreadPerTaskExecutor(-1);
+  }
+
   @Test
   public void testExecutionFailureHandling() {
     taskHelperTest.testExecutionFailureHandling();
@@ -630,6 +1308,27 @@ public class TaskExecutorTest {
         };
       }
     },
+    BLOCKING {
+      @Override
+      public Callable<Double> newTask(final double operand) {
+        return new ComputeNaturalLogarithm(operand) {
+          @Override
+          public Double call() {
+            final int now = running.incrementAndGet();
+            for (int max; (max = maxRunning.get()) < now && !maxRunning.compareAndSet(max, now);) { /* retry */ }
+            try {
+              TimeUnit.MILLISECONDS.sleep(50);
+            }
+            catch (InterruptedException iE) { /* do nothing */ }
+            finally {
+              running.decrementAndGet();
+            }
+
+            return super.call();
+          }
+        };
+      }
+    },
     SLOW {
       @Override
       public Callable<Double> newTask(final double operand) {
@@ -681,11 +1380,199 @@ public class TaskExecutorTest {
     @Override
     public Double handleTimeout(final TimeoutException tE,
                                 final Number operand) {
+      timeouts.put(operand, tE);
       return Double.NaN;
     }
 
   }
 
+  public class TimedNaturalLogarithmTaskHelper extends NaturalLogarithmTaskHelper
+                                               implements TimedTaskHelper<Number, Double> {
+
+    private final long timeout;
+
+    public TimedNaturalLogarithmTaskHelper(final Behaviours behaviour, final long timeout) {
+      super(behaviour);
+      this.timeout = timeout;
+    }
+
+    @Override
+    public long getTimeout(final Number operand) {
+      return timeout;
+    }
+
+  }
+
+  /**
+   * Fails a given number of attempts at each operand. Attempts that succeed
+   * return the number of the attempt at their operand.
+   */
+  public static class AttemptTaskHelper implements TaskHelper<Integer, Integer> {
+
+    private final int                         failing;
+    private final Exception                   failure;
+    private final Map<Integer, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+    public AttemptTaskHelper(final int failing, final Exception failure) {
+      this.failing = failing;
+      this.failure = failure;
+    }
+
+    @Override
+    public Callable<Integer> newTask(final Integer operand) {
+      attempts.putIfAbsent(operand, new AtomicInteger());
+      final AtomicInteger attempt = attempts.get(operand);
+      return new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          final int a = attempt.incrementAndGet();
+          if (a <= failing) {
+            throw failure;
+          }
+          return a;
+        }
+      };
+    }
+
+    int getAttempts() {
+      int sum = 0;
+      for (final AtomicInteger attempt : attempts.values()) {
+        sum += attempt.get();
+      }
+      return sum;
+    }
+
+    @Override
+    public Integer handleExecutionFailure(final ExecutionException eE, final Integer operand) {
+      return null;
+    }
+
+    @Override
+    public Integer handleTaskCancellation(final CancellationException cE, final Integer operand) {
+      return null;
+    }
+
+    @Override
+    public Integer handleTimeout(final TimeoutException tE, final Integer operand) {
+      return null;
+    }
+
+  }
+
+  /**
+   * Records the order in which operands run, by priority of their values.
+   */
+  public static class OrderTaskHelper implements PriorityTaskHelper<Integer, Integer> {
+
+    final List<Integer>  order = Collections.synchronizedList(new ArrayList<Integer>());
+    final CountDownLatch gate  = new CountDownLatch(1);
+
+    static final Integer GATE  = -1;
+
+    @Override
+    public long getPriority(final Integer operand) {
+      return operand;
+    }
+
+    @Override
+    public Callable<Integer> newTask(final Integer operand) {
+      return new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          order.add(operand);
+          if (operand.equals(GATE)) {
+            gate.await();
+          }
+          return operand;
+        }
+      };
+    }
+
+    @Override
+    public Integer handleExecutionFailure(final ExecutionException eE, final Integer operand) {
+      return null;
+    }
+
+    @Override
+    public Integer handleTaskCancellation(final CancellationException cE, final Integer operand) {
+      return null;
+    }
+
+    @Override
+    public Integer handleTimeout(final TimeoutException tE, final Integer operand) {
+      return null;
+    }
+
+  }
+
+  /**
+   * Sums the integers in a range, split in halves down to ranges of no more
+   * than <code>THRESHOLD</code> integers.
+   */
+  public static class SumTaskHelper implements RecursiveTaskHelper<int[], Long> {
+
+    private final int        failing;
+
+    private static final int THRESHOLD = 1 << 12;
+
+    public SumTaskHelper(final int failing) {
+      this.failing = failing;
+    }
+
+    @Override
+    public Collection<int[]> split(final int[] range) {
+      final int from = range[0];
+      final int to = range[1];
+      if (to - from <= THRESHOLD) {
+        return Collections.emptyList();
+      }
+      final int middle = (from + to) >>> 1;
+      return Arrays.asList(new int[] { from, middle }, new int[] { middle, to });
+    }
+
+    @Override
+    public Callable<Long> newTask(final int[] range) {
+      return new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          if (range[0] <= failing && failing < range[1]) {
+            throw new Exception(Arrays.toString(range));
+          }
+          long sum = 0;
+          for (int i = range[0]; i < range[1]; ++i) {
+            sum += i;
+          }
+          return sum;
+        }
+      };
+    }
+
+    @Override
+    public Long combine(final int[] range, final List<Long> results) {
+      long sum = 0;
+      for (final Long result : results) {
+        sum += result;
+      }
+      return sum;
+    }
+
+    @Override
+    public Long handleExecutionFailure(final ExecutionException eE, final int[] range) {
+      return 0L;
+    }
+
+    @Override
+    public Long handleTaskCancellation(final CancellationException cE, final int[] range) {
+      return 0L;
+    }
+
+    @Override
+    public Long handleTimeout(final TimeoutException tE, final int[] range) {
+      return 0L;
+    }
+
+  }
+
   public class NaturalLogarithmTaskHelperTest extends TaskHelperTest<Number, Double> {
 
     @Override
@@ -0,0 +1,87 @@
+/**
+ * TokenBucketThrottleTest.java  v0.1  18 October 2026 4:40:12 AM
+ *
+ * Copyright  2026 Daniel Kuan.  All rights reserved.
+ */
+package org.ikankechil.synchronous;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * JUnit test for <code>TokenBucketThrottle</code>.
+ *
+ * @author Daniel Kuan
+ * @version 0.1
+ */
+public class TokenBucketThrottleTest {
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithNonPositiveRate() {
+    new TokenBucketThrottle(0, 1);
+  }
+
+  @Test(expected=IllegalArgumentException.class)
+  public void cannotInstantiateWithNonPositiveBurst() {
+    new TokenBucketThrottle(1, 0);
+  }
+
+  @Test
+  public void burstThenLimitRate() throws Exception {
+    final TokenBucketThrottle throttle = new TokenBucketThrottle(100, 10);
+    assertEquals(100, throttle.getRate(), 1E-9);
+
+    // a full bucket's worth starts at once
+    long start = System.nanoTime();
+    for (int i = 0; i < 10; ++i) {
+      throttle.acquire();
+    }
+    assertTrue(elapsed(start) < 50);
+
+    // the rest start at the steady rate
+    start = System.nanoTime();
+    for (int i = 0; i < 20; ++i) {
+      throttle.acquire();
+    }
+    assertTrue(elapsed(start) >= 190);
+  }
+
+  @Test
+  public void limitRateAcrossThreads() throws Exception {
+    final TokenBucketThrottle throttle = new TokenBucketThrottle(200, 1);
+    throttle.acquire(); // empty the bucket
+
+    final Thread[] threads = new Thread[4];
+    final long start = System.nanoTime();
+    for (int t = 0; t < threads.length; ++t) {
+      threads[t] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < 10; ++i) {
+              throttle.acquire();
+            }
+          }
+          catch (final InterruptedException iE) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      };
+      threads[t].start();
+    }
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    // 40 tokens at 5ms each
+    assertTrue(elapsed(start) >= 195);
+  }
+
+  private static final long elapsed(final long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+
+}